@@ -1,5 +1,6 @@
 package com.upgrad.quora.api;
 
+import com.upgrad.quora.grpc.GrpcConfiguration;
 import com.upgrad.quora.service.ServiceConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -7,10 +8,10 @@ import org.springframework.context.annotation.Import;
 
 /**
  * A Configuration class that can declare one or more @Bean methods and trigger auto-configuration and component scanning.
- * This class launches a Spring Application from Java main method.
+ * This class launches a Spring Application from Java main method, serving the REST API and the gRPC services on separate ports.
  */
 @SpringBootApplication
-@Import(ServiceConfiguration.class)
+@Import({ServiceConfiguration.class, GrpcConfiguration.class})
 public class QuoraApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(QuoraApiApplication.class, args);
@@ -0,0 +1,253 @@
+package com.upgrad.quora.api.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.quora.api.model.BatchOperation;
+import com.upgrad.quora.api.model.BatchOperationResult;
+import com.upgrad.quora.api.model.BatchRequest;
+import com.upgrad.quora.api.model.BatchResponse;
+import com.upgrad.quora.api.model.ErrorResponse;
+import com.upgrad.quora.api.ratelimit.RateLimitFilter;
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.exception.InvalidBatchException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.upgrad.quora.service.constants.ErrorConditions.BATCH_EMPTY;
+import static com.upgrad.quora.service.constants.ErrorConditions.BATCH_INVALID_OPERATION;
+import static com.upgrad.quora.service.constants.ErrorConditions.BATCH_TOO_LARGE;
+
+/**
+ * Runs the operations of a batch through a DispatcherServlet, one after the other on the thread of the batch
+ * request. Every operation is handled by the same controller and RestExceptionHandler as when sent on its own, and its
+ * response is buffered and returned as one result of the batch. Each operation also passes the RateLimitFilter, so it
+ * is counted against the rate limits of its own endpoint group, and one over them fails with 429 like a request
+ * sent on its own.
+ * <p>
+ * The body of an operation is a JSON object whose fields are bound as request parameters, as the query string is;
+ * a field holds a string, number, boolean or an array of them.
+ */
+@Component
+public class BatchExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchExecutor.class);
+
+    @Autowired
+    private WebApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Value("${quora.batch.max-operations:20}")
+    private int maxOperations;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile DispatcherServlet dispatcherServlet;
+
+    @Autowired
+    public BatchExecutor(final PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Method runs the operations of a batch in order. An atomic batch runs them in one transaction, which the
+     * operations' own transactions join, and rolls it back at the first operation that fails without running the rest.
+     *
+     * @param request       the batch request
+     * @param response      the batch response
+     * @param authorization authorization header applied to every operation
+     * @param batch         operations to run
+     * @return results of the operations run, in order
+     * @throws InvalidBatchException if the batch is empty, too large or holds an operation that cannot be batched
+     */
+    public BatchResponse execute(final HttpServletRequest request, final HttpServletResponse response,
+                                 final String authorization, final BatchRequest batch) throws InvalidBatchException {
+        List<BatchOperation> operations = batch.getOperations();
+        validate(operations);
+        BatchResponse batchResponse = new BatchResponse().rolledBack(false);
+        if (Boolean.TRUE.equals(batch.isAtomic())) {
+            transactionTemplate.execute(status -> {
+                for (BatchOperation operation : operations) {
+                    BatchOperationResult result = dispatch(request, response, authorization, operation);
+                    batchResponse.addResultsItem(result);
+                    if (result.getStatus() >= HttpServletResponse.SC_BAD_REQUEST) {
+                        status.setRollbackOnly();
+                        batchResponse.rolledBack(true);
+                        break;
+                    }
+                }
+                return null;
+            });
+        } else {
+            for (BatchOperation operation : operations) {
+                batchResponse.addResultsItem(dispatch(request, response, authorization, operation));
+            }
+        }
+        return batchResponse;
+    }
+
+    private void validate(final List<BatchOperation> operations) throws InvalidBatchException {
+        if (operations == null || operations.isEmpty()) {
+            throw new InvalidBatchException(BATCH_EMPTY.getCode(), BATCH_EMPTY.getMessage());
+        }
+        if (operations.size() > maxOperations) {
+            throw new InvalidBatchException(BATCH_TOO_LARGE.getCode(), BATCH_TOO_LARGE.getMessage());
+        }
+        for (BatchOperation operation : operations) {
+            String path = operation.getPath();
+            if (operation.getMethod() == null || path == null || !path.startsWith("/")
+                    || path.equals("/batch") || path.startsWith("/batch?") || path.startsWith("/batch/")
+                    || bodyParameters(operation.getBody()) == null) {
+                throw new InvalidBatchException(BATCH_INVALID_OPERATION.getCode(), BATCH_INVALID_OPERATION.getMessage());
+            }
+        }
+    }
+
+    private BatchOperationResult dispatch(final HttpServletRequest request, final HttpServletResponse response,
+                                          final String authorization, final BatchOperation operation) {
+        Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+        if (operation.getHeaders() != null) {
+            headers.putAll(operation.getHeaders());
+        }
+        headers.put(HttpHeaders.AUTHORIZATION, authorization);
+        headers.put(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_UTF8_VALUE);
+        headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_UTF8_VALUE);
+        BatchOperationResponse operationResponse = new BatchOperationResponse(response);
+        try {
+            byte[] body = operation.getBody() == null ? new byte[0] : objectMapper.writeValueAsBytes(operation.getBody());
+            DispatcherServlet servlet = dispatcherServlet(request.getServletContext());
+            rateLimitFilter.doFilter(new BatchOperationRequest(request, operation.getMethod().toString(), operation.getPath(),
+                    headers, bodyParameters(operation.getBody()), body), operationResponse, servlet::service);
+        } catch (ServletException | IOException | RuntimeException e) {
+            LOGGER.error("Batch operation {} {} failed", operation.getMethod(), operation.getPath(), e);
+            return new BatchOperationResult()
+                    .status(HttpServletResponse.SC_INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse().code(GenericErrorCode.GEN_001.getCode()).message(GenericErrorCode.GEN_001.getDefaultMessage()));
+        }
+        Map<String, String> resultHeaders = operationResponse.getHeaderValues();
+        resultHeaders.remove(HttpHeaders.CONTENT_TYPE);
+        resultHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+        return new BatchOperationResult()
+                .status(operationResponse.getStatus())
+                .headers(resultHeaders)
+                .body(readBody(operationResponse.getBody()));
+    }
+
+    /**
+     * Method returns the fields of the body of an operation as request parameters
+     *
+     * @param body body of the operation, null if it has none
+     * @return parameters by name, null if the body is not an object of strings, numbers, booleans and arrays of them
+     */
+    private static Map<String, List<String>> bodyParameters(final Object body) {
+        Map<String, List<String>> parameters = new LinkedHashMap<>();
+        if (body == null) {
+            return parameters;
+        }
+        if (!(body instanceof Map)) {
+            return null;
+        }
+        for (Map.Entry<?, ?> field : ((Map<?, ?>) body).entrySet()) {
+            List<String> values = new ArrayList<>();
+            if (field.getValue() instanceof List) {
+                for (Object value : (List<?>) field.getValue()) {
+                    if (!isScalar(value)) {
+                        return null;
+                    }
+                    values.add(String.valueOf(value));
+                }
+            } else if (isScalar(field.getValue())) {
+                values.add(String.valueOf(field.getValue()));
+            } else if (field.getValue() != null) {
+                return null;
+            }
+            parameters.put(String.valueOf(field.getKey()), values);
+        }
+        return parameters;
+    }
+
+    private static boolean isScalar(final Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+
+    /**
+     * Operations go through a DispatcherServlet of their own over the application context, so they are served by the
+     * same handler mappings, adapters and exception resolvers as the batch request whichever servlet handled it
+     */
+    private DispatcherServlet dispatcherServlet(final ServletContext servletContext) throws ServletException {
+        DispatcherServlet servlet = dispatcherServlet;
+        if (servlet == null) {
+            synchronized (this) {
+                if (dispatcherServlet == null) {
+                    DispatcherServlet batchServlet = new DispatcherServlet(applicationContext);
+                    batchServlet.setPublishContext(false);
+                    batchServlet.init(new ServletConfig() {
+                        @Override
+                        public String getServletName() {
+                            return "batchDispatcherServlet";
+                        }
+
+                        @Override
+                        public ServletContext getServletContext() {
+                            return servletContext;
+                        }
+
+                        @Override
+                        public String getInitParameter(final String name) {
+                            return null;
+                        }
+
+                        @Override
+                        public Enumeration<String> getInitParameterNames() {
+                            return Collections.emptyEnumeration();
+                        }
+                    });
+                    dispatcherServlet = batchServlet;
+                }
+                servlet = dispatcherServlet;
+            }
+        }
+        return servlet;
+    }
+
+    /**
+     * The JSON body of an operation is embedded in the batch response as it is, anything else as a string
+     */
+    private Object readBody(final byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.upgrad.quora.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.upgrad.quora.api.trace.ServerTimingResponseAdvice;
+import com.upgrad.quora.service.cache.ContentGeneration;
+import com.upgrad.quora.service.trace.QueryStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This filter serves the hot list pages from memory: the serialized body of each page is held next to its gzip
+ * compression, keyed by path, query string and Accept header, so a hit neither queries the database nor serializes
+ * nor compresses. Pages are built at a {@link ContentGeneration}, and are stale as soon as a question or answer has
+ * been written on this instance, or relayed from the outbox after a write on another; pages built from stale reads,
+ * marked with a Warning, are not kept. A hit is only served to an access token that an endpoint has accepted within
+ * the last token-ttl-seconds; any other request goes through to the controllers.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final ContentGeneration contentGeneration;
+
+    private final String[] prefixes;
+
+    private final int minCompressSize;
+
+    private final Cache<String, CachedResponse> responses;
+
+    private final Cache<String, Boolean> acceptedTokens;
+
+    @Autowired
+    public ResponseBodyCacheFilter(final ResponseCacheProperties properties, final ContentGeneration contentGeneration) {
+        this.contentGeneration = contentGeneration;
+        this.prefixes = properties.isEnabled() ? properties.getPaths().toArray(new String[0]) : new String[0];
+        this.minCompressSize = properties.getMinCompressSize();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfterWrite(properties.getTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+        this.acceptedTokens = Caffeine.newBuilder()
+                .maximumSize(100000)
+                .expireAfterWrite(properties.getTokenTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getHeader(HttpHeaders.AUTHORIZATION) == null) {
+            return true;
+        }
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final String token = request.getHeader(HttpHeaders.AUTHORIZATION);
+        final String key = key(request);
+        final long generation = contentGeneration.current();
+        final CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null && cached.generation == generation && acceptedTokens.getIfPresent(token) != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        final ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            final int status = wrapper.getStatusCode();
+            if (status == HttpServletResponse.SC_OK || status == HttpServletResponse.SC_NO_CONTENT) {
+                acceptedTokens.put(token, Boolean.TRUE);
+                if (wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) == null && wrapper.getHeader(HttpHeaders.WARNING) == null) {
+                    final byte[] body = wrapper.getContentAsByteArray();
+                    responses.put(key, new CachedResponse(generation, status, wrapper.getContentType(), body,
+                            body.length < minCompressSize ? null : gzip(body)));
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static String key(final HttpServletRequest request) {
+        final StringBuilder key = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        final String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return key.append(' ').append(accept == null ? "" : accept).toString();
+    }
+
+    private static void write(final CachedResponse cached, final HttpServletRequest request,
+                              final HttpServletResponse response) throws IOException {
+        response.setStatus(cached.status);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        final QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            response.setHeader(ServerTimingResponseAdvice.SERVER_TIMING,
+                    ServerTimingResponseAdvice.serverTiming(statistics) + ", cache;desc=\"hit\"");
+        }
+        if (cached.status == HttpServletResponse.SC_NO_CONTENT) {
+            return;
+        }
+        if (cached.contentType != null) {
+            response.setContentType(cached.contentType);
+        }
+        byte[] body = cached.identity;
+        if (cached.gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            body = cached.gzip;
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Method tells whether an Accept-Encoding header admits gzip, explicitly or through *, with a non-zero quality
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parameters = coding.split(";");
+            final String name = parameters[0].trim();
+            if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+                for (int i = 1; i < parameters.length; i++) {
+                    final String parameter = parameters[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(parameter.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(final byte[] body) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static final class CachedResponse {
+
+        private final long generation;
+        private final int status;
+        private final String contentType;
+        private final byte[] identity;
+        private final byte[] gzip;
+
+        private CachedResponse(final long generation, final int status, final String contentType,
+                               final byte[] identity, final byte[] gzip) {
+            this.generation = generation;
+            this.status = status;
+            this.contentType = contentType;
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+
+        private int weight() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.upgrad.quora.api.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the response cache under quora.response-cache. Responses of the GET endpoints under the path prefixes
+ * are held serialized and gzip compressed, bounded by their size in bytes.
+ */
+@Component
+@ConfigurationProperties("quora.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private List<String> paths = new ArrayList<>();
+
+    private long maxBytes = 16 * 1024 * 1024;
+
+    private long ttlSeconds = 60;
+
+    private long tokenTtlSeconds = 10;
+
+    private int minCompressSize = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return path prefixes, within the context path, of the endpoints whose responses are cached
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * @return maximum size in bytes of the bodies held, identity and gzip together
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return seconds a response is served for at most, bounding the staleness after writes on other instances
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * @return seconds an access token that was accepted by an endpoint is trusted for by the cache
+     */
+    public long getTokenTtlSeconds() {
+        return tokenTtlSeconds;
+    }
+
+    public void setTokenTtlSeconds(long tokenTtlSeconds) {
+        this.tokenTtlSeconds = tokenTtlSeconds;
+    }
+
+    /**
+     * @return size in bytes under which a body is not worth compressing
+     */
+    public int getMinCompressSize() {
+        return minCompressSize;
+    }
+
+    public void setMinCompressSize(int minCompressSize) {
+        this.minCompressSize = minCompressSize;
+    }
+}
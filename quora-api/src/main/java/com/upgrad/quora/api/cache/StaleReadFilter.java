@@ -0,0 +1,33 @@
+package com.upgrad.quora.api.cache;
+
+import com.upgrad.quora.service.cache.StaleReadCache;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * This filter forgets the staleness of the results the {@link StaleReadCache} returned to a request once its response
+ * has been written, so that a request failing before the {@link StaleResponseAdvice} reported it does not pass it on
+ * to the next request served by the thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 4)
+public class StaleReadFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StaleReadCache.clearStaleness();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.upgrad.quora.api.cache;
+
+import com.upgrad.quora.service.cache.StaleReadCache;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * This advice marks responses built from stale results of the {@link StaleReadCache} with an Age header, the age of
+ * the oldest result in seconds, and a Warning header: 110 when the database was slow to answer, 111 when it failed.
+ * The response cache does not keep responses carrying a Warning.
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String RESPONSE_IS_STALE = "110 - \"Response is Stale\"";
+
+    static final String REVALIDATION_FAILED = "111 - \"Revalidation Failed\"";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StaleReadCache.Staleness staleness = StaleReadCache.takeStaleness();
+        if (staleness != null) {
+            response.getHeaders().set(HttpHeaders.AGE, Long.toString(staleness.getAgeSeconds()));
+            response.getHeaders().set(HttpHeaders.WARNING, staleness.isLoadFailed() ? REVALIDATION_FAILED : RESPONSE_IS_STALE);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,42 @@
+package com.upgrad.quora.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * This Configuration lets clients ask for the responses in Smile or CBOR through the Accept header, instead of JSON
+ * text. Both mappers are configured by the same builder as the JSON one, so the models serialize with the same
+ * property names, inclusion rules and date formats; only the encoding differs. JSON stays the default for clients
+ * that do not ask.
+ */
+@Configuration
+public class BinaryFormatConfiguration {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(configure(builder, new ObjectMapper(new SmileFactory())));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(configure(builder, new ObjectMapper(new CBORFactory())));
+    }
+
+    /**
+     * Method applies the settings of the shared builder without changing it, the builder also creates the JSON mapper
+     */
+    private static ObjectMapper configure(final Jackson2ObjectMapperBuilder builder, final ObjectMapper objectMapper) {
+        builder.configure(objectMapper);
+        return objectMapper;
+    }
+}
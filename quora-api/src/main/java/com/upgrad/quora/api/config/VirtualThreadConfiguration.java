@@ -0,0 +1,88 @@
+package com.upgrad.quora.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling and asynchronous MVC processing on virtual threads when "quora.threads.virtual" is set.
+ * The Tomcat worker pool then no longer caps the number of concurrent requests, the JDBC pools do: they keep the
+ * maximum-pool-size sized for the database, but are held at that size instead of growing from minimum-idle under a
+ * burst, and a request waits at most "quora.threads.pool-connection-timeout-ms" for a connection before failing.
+ * Virtual threads need Java 21 or later at runtime; the executor is looked up reflectively so the sources still
+ * build for Java 8.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "quora.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfiguration implements WebMvcConfigurer {
+
+    private final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Sizes every Hikari pool of the application, the primary and the replica alike, for virtual threads
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadPoolCustomizer(
+            @Value("${quora.threads.pool-connection-timeout-ms:1000}") final long connectionTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+                    dataSource.setConnectionTimeout(Math.min(dataSource.getConnectionTimeout(), connectionTimeoutMillis));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadConnectorCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            ProtocolHandler protocolHandler = connector.getProtocolHandler();
+            if (protocolHandler instanceof AbstractProtocol) {
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(virtualThreadExecutor);
+            }
+        });
+    }
+
+    @Bean
+    public AsyncTaskExecutor virtualThreadTaskExecutor() {
+        return new ConcurrentTaskExecutor(virtualThreadExecutor);
+    }
+
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(virtualThreadTaskExecutor());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        virtualThreadExecutor.shutdown();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("quora.threads.virtual requires Java 21 or later, running on "
+                    + System.getProperty("java.version"), e);
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package com.upgrad.quora.api.controller;
 
 import com.upgrad.quora.api.model.UserDeleteResponse;
+import com.upgrad.quora.api.model.UserPurgeStatusResponse;
 import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.business.UserPurgeProgress;
 import com.upgrad.quora.service.constants.UserStatus;
 import com.upgrad.quora.service.exception.AuthorizationFailedException;
 import com.upgrad.quora.service.exception.UserNotFoundException;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_CBOR_VALUE;
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
+
 @RestController
 @RequestMapping("/")
 public class AdminController {
@@ -21,18 +27,19 @@ public class AdminController {
 
     /**
      * This is used to delete a user by the admin. It takes input uuid of the user to be deleted, admin's authorization,
-     * validates and deletes the user
+     * validates and marks the user as deleted. The data of the user is purged in the background, the progress can be
+     * followed at /admin/user/{userId}/purge
      *
      * @param userId         An UUID of the user to be deleted
      * @param authorization, access token of admin user to execute operation
-     * @return Response Entity with uuid of deleted user, message and Http Status Code
+     * @return Response Entity with uuid of deleted user, message and Http Status Code 202
      * @throws AuthorizationFailedException if the authorization token is invalid, expired or not found
      * @throws UserNotFoundException        if the uuid is not found
      */
 
     @RequestMapping(method = RequestMethod.DELETE,
             path = "/admin/user/{userId}",
-            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+            produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<UserDeleteResponse> deleteUser(@PathVariable("userId") String userId,
                                                          @RequestHeader("authorization") String authorization)
             throws AuthorizationFailedException, UserNotFoundException {
@@ -41,7 +48,36 @@ public class AdminController {
         String deletedUserId = userBusinessService.deleteUser(userId, token);
         UserDeleteResponse userDeleteResponse = new UserDeleteResponse();
         userDeleteResponse.setId(deletedUserId);
-        userDeleteResponse.setStatus(UserStatus.USER_DELETED.getStatus());
-        return new ResponseEntity<>(userDeleteResponse, HttpStatus.OK);
+        userDeleteResponse.setStatus(UserStatus.USER_DELETION_SCHEDULED.getStatus());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/admin/user/" + deletedUserId + "/purge")
+                .body(userDeleteResponse);
+    }
+
+    /**
+     * This is used by the admin to follow the background purge of a deleted user.
+     *
+     * @param userId         An UUID of the deleted user
+     * @param authorization, access token of admin user to execute operation
+     * @return Response Entity with the progress of the purge and Http Status Code
+     * @throws AuthorizationFailedException if the authorization token is invalid, expired or not found
+     * @throws UserNotFoundException        if no deletion of the user is in progress
+     */
+    @RequestMapping(method = RequestMethod.GET,
+            path = "/admin/user/{userId}/purge",
+            produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+    public ResponseEntity<UserPurgeStatusResponse> getUserPurgeStatus(@PathVariable("userId") String userId,
+                                                                      @RequestHeader("authorization") String authorization)
+            throws AuthorizationFailedException, UserNotFoundException {
+        String token = (authorization.contains("Bearer ")) ?
+                StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+        UserPurgeProgress progress = userBusinessService.getUserPurgeProgress(userId, token);
+        UserPurgeStatusResponse userPurgeStatusResponse = new UserPurgeStatusResponse()
+                .id(progress.getUserUuid())
+                .status(progress.getState().name())
+                .answersDeleted(progress.getAnswersDeleted())
+                .questionsDeleted(progress.getQuestionsDeleted())
+                .accessTokensDeleted(progress.getAuthTokensDeleted());
+        return new ResponseEntity<>(userPurgeStatusResponse, HttpStatus.OK);
     }
 }
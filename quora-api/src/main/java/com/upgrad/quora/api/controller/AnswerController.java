@@ -2,6 +2,7 @@ package com.upgrad.quora.api.controller;
 
 import com.upgrad.quora.api.model.*;
 import com.upgrad.quora.service.business.AnswerBusinessService;
+import com.upgrad.quora.service.business.AnswerPage;
 import com.upgrad.quora.service.business.QuestionService;
 import com.upgrad.quora.service.business.UserBusinessService;
 import com.upgrad.quora.service.constants.AnswerStatus;
@@ -11,19 +12,24 @@ import com.upgrad.quora.service.entity.QuestionEntity;
 import com.upgrad.quora.service.entity.UserEntity;
 import com.upgrad.quora.service.exception.AnswerNotFoundException;
 import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.EditConflictException;
+import com.upgrad.quora.service.exception.InvalidCursorException;
 import com.upgrad.quora.service.exception.InvalidQuestionException;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_CBOR_VALUE;
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
 import static com.upgrad.quora.service.constants.ErrorConditions.ANS_CREATE_QUES_NOT_FOUND;
 import static com.upgrad.quora.service.constants.ErrorConditions.ANS_GET_QUES_NOT_FOUND;
 
@@ -51,7 +57,7 @@ public class AnswerController {
      * @throws InvalidQuestionException if question uuid given is invalid.
      */
     @RequestMapping(method = RequestMethod.POST, path = "/question/{questionId}/answer/create",
-        consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+        consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<AnswerResponse>
     createAnswer(@RequestHeader("authorization") final String authorization,
                  AnswerRequest answerRequest,@PathVariable("questionId") final String questionID)
@@ -59,7 +65,7 @@ public class AnswerController {
         String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization,"Bearer ") : authorization;
         AnswerEntity answerEntity = new AnswerEntity();
         answerEntity.setAns(answerRequest.getAnswer());
-        answerEntity.setDate(LocalDate.now());
+        answerEntity.setDate(LocalDateTime.now());
         answerEntity.setUuid(UUID.randomUUID().toString());
         answerEntity.setUser(userBusinessService.getCurrentUser(token, GetCurrentUserAction.CREATE_ANSWER));
         QuestionEntity question;
@@ -71,7 +77,9 @@ public class AnswerController {
         answerEntity.setQuestion(question);
         AnswerEntity createdAnswer = answerBusinessService.createAnswer(answerEntity);
         AnswerResponse answerResponse = new AnswerResponse().id(createdAnswer.getUuid()).status(AnswerStatus.ANSWER_CREATED.getTextStatus());
-        return new ResponseEntity<>(answerResponse, HttpStatus.CREATED);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(EntityTags.of(createdAnswer.getVersion()));
+        return new ResponseEntity<>(answerResponse, headers, HttpStatus.CREATED);
     }
 
 
@@ -79,26 +87,55 @@ public class AnswerController {
      * This is used to edit an answer for a given answer id
      * only the owner of the answer can edit the answer
      * @param authorization Authorization token from request header
+     * @param ifMatch Optional entity tag of the answer version being edited
      * @param answerEditRequest  An input request with edited Answer content
      * @return answerEditResponse with  message and Http Status Code
      * @throws AuthorizationFailedException if the authorization token is invalid,
      *                                      expired or not found
      * @throws AnswerNotFoundException if answer uuid given is invalid.
+     * @throws EditConflictException if the answer has changed since the version in If-Match
      */
     @RequestMapping(method = RequestMethod.PUT, path = "/answer/edit/{answerId}",
-        consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+        consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<AnswerEditResponse>
     editAnswer(@RequestHeader("authorization") final String authorization,
+               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
                AnswerEditRequest answerEditRequest, @PathVariable("answerId") final String answerId)
-        throws AnswerNotFoundException,AuthorizationFailedException {
+        throws AnswerNotFoundException,AuthorizationFailedException,EditConflictException {
         String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization,"Bearer ") : authorization;
         UserEntity user = userBusinessService.getCurrentUser(token,GetCurrentUserAction.EDIT_ANSWER);
-        AnswerEntity answerEntity = answerBusinessService.getAnswer(answerId);
-        answerEntity.setAns(answerEditRequest.getContent());
-        AnswerEntity editedAnswer = answerBusinessService.editAnswer(answerEntity,user);
-        AnswerEditResponse answerEditResponse = new AnswerEditResponse().id(editedAnswer.getUuid())
+        Integer expectedVersion = EntityTags.toVersion(ifMatch);
+        String editedAnswerId = answerBusinessService.editAnswer(answerId, answerEditRequest.getContent(), user, expectedVersion);
+        AnswerEditResponse answerEditResponse = new AnswerEditResponse().id(editedAnswerId)
             .status(AnswerStatus.ANSWER_EDITED.getTextStatus());
-        return new ResponseEntity<>(answerEditResponse, HttpStatus.OK);
+        HttpHeaders headers = new HttpHeaders();
+        if (expectedVersion != null) {
+            headers.setETag(EntityTags.of(expectedVersion + 1));
+        }
+        return new ResponseEntity<>(answerEditResponse, headers, HttpStatus.OK);
+    }
+
+    /**
+     * This is used to fetch a single answer. The entity tag of its current version is returned in the ETag header,
+     * to be sent back in the If-Match header of an edit.
+     * @param authorization Authorization token from request header
+     * @param answerId  Id of the answer to fetch
+     * @return answerDetailsResponse with the entity tag and Http Status Code
+     * @throws AuthorizationFailedException if the authorization token is invalid,
+     *                                      expired or not found
+     * @throws AnswerNotFoundException if answer uuid given is invalid.
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/answer/{answerId}", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+    public ResponseEntity<AnswerDetailsResponse> getAnswer(@RequestHeader("authorization") final String authorization,
+                                                           @PathVariable("answerId") final String answerId)
+        throws AuthorizationFailedException, AnswerNotFoundException {
+        String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization,"Bearer ") : authorization;
+        userBusinessService.getCurrentUser(token,GetCurrentUserAction.GET_ANSWER);
+        AnswerEntity answer = answerBusinessService.getAnswer(answerId);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(EntityTags.of(answer.getVersion()));
+        return new ResponseEntity<>(new AnswerDetailsResponse().id(answer.getUuid()).answerContent(answer.getAns()),
+            headers, HttpStatus.OK);
     }
 
 
@@ -113,14 +150,13 @@ public class AnswerController {
      *                                      expired or not found
      * @throws AnswerNotFoundException if answer uuid given is invalid.
      */
-    @RequestMapping(method = RequestMethod.DELETE, path ="/answer/delete/{answerId}",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    @RequestMapping(method = RequestMethod.DELETE, path ="/answer/delete/{answerId}",produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<AnswerDeleteResponse> deleteAnswer(@RequestHeader("authorization") final String authorization,
                                                               @PathVariable("answerId") String answerId)
         throws AuthorizationFailedException, AnswerNotFoundException {
         String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization,"Bearer ") : authorization;
         UserEntity user = userBusinessService.getCurrentUser(token,GetCurrentUserAction.DELETE_ANSWER);
-        AnswerEntity answerEntity = answerBusinessService.getAnswer(answerId);
-        answerId = answerBusinessService.deleteAnswer(answerEntity,user);
+        answerId = answerBusinessService.deleteAnswer(answerId,user);
         AnswerDeleteResponse answerDeleteResponse = new AnswerDeleteResponse();
         answerDeleteResponse.setId(answerId);
         answerDeleteResponse.setStatus(AnswerStatus.ANSWER_DELETED.getTextStatus());
@@ -128,37 +164,36 @@ public class AnswerController {
     }
 
     /**
-     * This is used to delete an answer for a given answer id
-     * only the owner of the answer can or an admin can delete the answer
+     * This is used to get the answers for a given question id, one page at a time
      * @param authorization Authorization token from request header
-     * @param questionId  An input request to get all the answers for it.
-     * @return list of AnswerDetailsResponse with  message and Http Status Code
+     * @param questionId  An input request to get the answers for it.
+     * @param cursor nextCursor of the previous page, absent for the first page
+     * @param limit maximum number of answers in the page
+     * @return AnswerPageResponse with the question, the answers of the page and the cursor of the next page
      * @throws AuthorizationFailedException if the authorization token is invalid,
      *                                      expired or not found
-     * @throws InvalidQuestionException if answer uuid given is invalid.
+     * @throws InvalidQuestionException if question uuid given is invalid.
+     * @throws InvalidCursorException if the cursor is not a valid position in the answers
      */
-    @RequestMapping(method = RequestMethod.GET, path ="/answer/all/{questionId}",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<List<AnswerDetailsResponse>> getAllAnswersToQuestion(@RequestHeader("authorization") final String authorization,
-                                                                                @PathVariable("questionId") String questionId)
-        throws AuthorizationFailedException, InvalidQuestionException {
+    @RequestMapping(method = RequestMethod.GET, path ="/answer/all/{questionId}",produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+    public ResponseEntity<AnswerPageResponse> getAllAnswersToQuestion(@RequestHeader("authorization") final String authorization,
+                                                                      @PathVariable("questionId") String questionId,
+                                                                      @RequestParam(value = "cursor", required = false) final String cursor,
+                                                                      @RequestParam(value = "limit", defaultValue = "20") final int limit)
+        throws AuthorizationFailedException, InvalidQuestionException, InvalidCursorException {
         String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization,"Bearer ") : authorization;
-        UserEntity user = userBusinessService.getCurrentUser(token,GetCurrentUserAction.GET_ALL_ANSWER);
-        QuestionEntity question;
+        userBusinessService.getCurrentUser(token,GetCurrentUserAction.GET_ALL_ANSWER);
         try{
-             question = questionService.getQuestion(questionId);
-        List<AnswerEntity> answerEntityList = answerBusinessService.getAllAnswersToQuestion(question);
-        List<AnswerDetailsResponse> answerDetailsResponse = new ArrayList<>();
-        answerEntityList.forEach(answer ->
-            answerDetailsResponse.add(
-                new AnswerDetailsResponse()
-                    .id(answer.getUuid())
-                    .questionContent(question.getContent())
-                    .answerContent(answer.getAns())));
-            if (answerDetailsResponse.isEmpty()) {
-                return new ResponseEntity<>(answerDetailsResponse, HttpStatus.NO_CONTENT);
-            } else {
-                return new ResponseEntity<>(answerDetailsResponse, HttpStatus.OK);
-            }
+            AnswerPage answerPage = answerBusinessService.getAnswerPage(questionId, cursor, limit);
+            List<AnswerPageItem> answers = new ArrayList<>();
+            answerPage.getAnswers().forEach(answer ->
+                answers.add(new AnswerPageItem().id(answer.getUuid()).answerContent(answer.getContent())));
+            AnswerPageResponse answerPageResponse = new AnswerPageResponse()
+                .questionId(answerPage.getQuestionUuid())
+                .questionContent(answerPage.getQuestionContent())
+                .answers(answers)
+                .nextCursor(answerPage.getNextCursor());
+            return new ResponseEntity<>(answerPageResponse, HttpStatus.OK);
         }catch(InvalidQuestionException invalidQuestionException ){
             throw new InvalidQuestionException(ANS_GET_QUES_NOT_FOUND.getCode(), ANS_GET_QUES_NOT_FOUND.getMessage());
         }
@@ -0,0 +1,59 @@
+package com.upgrad.quora.api.controller;
+
+import com.upgrad.quora.api.batch.BatchExecutor;
+import com.upgrad.quora.api.model.BatchRequest;
+import com.upgrad.quora.api.model.BatchResponse;
+import com.upgrad.quora.service.business.AccessTokenScope;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.InvalidBatchException;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_CBOR_VALUE;
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
+
+@RestController
+@RequestMapping("/")
+public class BatchController {
+
+    @Autowired
+    private UserBusinessService userBusinessService;
+
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    /**
+     * This is used to run several operations of the API in a single request. It takes input of the operations &
+     * authorization token, authenticates the user once for all the operations, and returns the result of each.
+     *
+     * @param authorization Authorization token from request header, applied to every operation
+     * @param batchRequest  Operations to run, in order, and whether to run them in one transaction
+     * @return Response Entity with the status, headers and body of each operation and Http Status Code 200
+     * @throws AuthorizationFailedException if the authorization token is invalid, expired or not found
+     * @throws InvalidBatchException        if the batch is empty, too large or holds an operation that cannot be batched
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/batch", consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BatchResponse> batch(@RequestHeader("authorization") final String authorization,
+                                               @RequestBody final BatchRequest batchRequest,
+                                               final HttpServletRequest request, final HttpServletResponse response)
+            throws AuthorizationFailedException, InvalidBatchException {
+        String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+        AccessTokenScope.open();
+        try {
+            userBusinessService.getCurrentUser(token, GetCurrentUserAction.BATCH);
+            BatchResponse batchResponse = batchExecutor.execute(request, response, authorization, batchRequest);
+            return new ResponseEntity<>(batchResponse, HttpStatus.OK);
+        } finally {
+            AccessTokenScope.close();
+        }
+    }
+}
@@ -13,6 +13,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_CBOR_VALUE;
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
+
 @RestController
 @RequestMapping("/")
 public class CommonController {
@@ -29,7 +32,7 @@ public class CommonController {
      * @throws AuthorizationFailedException if the authorization token is invalid, expired or not found
      * @throws UserNotFoundException        if the uuid is not found
      */
-    @RequestMapping(method = RequestMethod.GET, path = "/userprofile/{userId}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    @RequestMapping(method = RequestMethod.GET, path = "/userprofile/{userId}", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<UserDetailsResponse> getUserProfile(@RequestHeader("authorization") final String authorization,
                                                               @PathVariable("userId") final String userId)
             throws AuthorizationFailedException, UserNotFoundException {
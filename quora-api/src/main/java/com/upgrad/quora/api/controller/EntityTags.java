@@ -0,0 +1,47 @@
+package com.upgrad.quora.api.controller;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Converts between the version of a question or answer and the entity tag exchanged in the ETag header of its reads
+ * and the If-Match header of its edits.
+ */
+final class EntityTags {
+
+    /**
+     * Version that never matches, used for If-Match values that are not one of our entity tags.
+     */
+    private static final int UNMATCHED_VERSION = -1;
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param version version of the question or answer
+     * @return strong entity tag for the version
+     */
+    static String of(final Integer version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param ifMatch value of the If-Match header, may be null
+     * @return version the client expects, or null if the client did not ask for a version check
+     */
+    static Integer toVersion(final String ifMatch) {
+        if (StringUtils.isBlank(ifMatch) || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = StringUtils.removeStart(ifMatch.trim(), "W/");
+        tag = StringUtils.removeEnd(StringUtils.removeStart(tag, "\""), "\"");
+        if (!StringUtils.isNumeric(tag)) {
+            return UNMATCHED_VERSION;
+        }
+        try {
+            return Integer.valueOf(tag);
+        } catch (NumberFormatException e) {
+            // more digits than any version can have
+            return UNMATCHED_VERSION;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.upgrad.quora.api.controller;
+
+import com.upgrad.quora.api.graphql.QuoraGraphQL;
+import com.upgrad.quora.api.model.GraphQLRequest;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_CBOR_VALUE;
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
+
+@RestController
+@RequestMapping("/")
+public class GraphQLController {
+
+    @Autowired
+    private UserBusinessService userBusinessService;
+
+    @Autowired
+    private QuoraGraphQL quoraGraphQL;
+
+    /**
+     * This is used to run a GraphQL query over the questions, answers and users of the application. It takes input of
+     * the query & authorization token, and returns the data in the shape asked for by the query.
+     *
+     * @param authorization Authorization token from request header
+     * @param request       Query, operation name and variables
+     * @return Response Entity with the data and errors of the query and Http Status Code 200
+     * @throws AuthorizationFailedException if the authorization token is invalid, expired or not found
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/graphql", consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+    public ResponseEntity<Map<String, Object>> query(@RequestHeader("authorization") final String authorization,
+                                                     @RequestBody final GraphQLRequest request)
+            throws AuthorizationFailedException {
+        String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+        userBusinessService.getCurrentUser(token, GetCurrentUserAction.GRAPHQL_QUERY);
+
+        Map<String, Object> result = quoraGraphQL.execute(request.getQuery(), request.getOperationName(), request.getVariables())
+                .toSpecification();
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
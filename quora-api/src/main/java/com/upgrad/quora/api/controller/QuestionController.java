@@ -5,6 +5,8 @@
  * c. /question/edit/{questionId}
  * d. /question/delete/{questionId}
  * e. /question/all/{userId}
+ * f. /question/trending
+ * g. /question/{questionId}
  * @author  Anup Shanbhag (shanbhaganup@gmail.com)
  * @version 1.0
  * @since   2020-04-16
@@ -19,6 +21,7 @@ import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -34,16 +37,21 @@ import com.upgrad.quora.api.model.QuestionEditRequest;
 import com.upgrad.quora.api.model.QuestionEditResponse;
 import com.upgrad.quora.api.model.QuestionRequest;
 import com.upgrad.quora.api.model.QuestionResponse;
+import com.upgrad.quora.api.model.TrendingQuestionResponse;
 import com.upgrad.quora.service.business.QuestionService;
 import com.upgrad.quora.service.business.UserBusinessService;
 import com.upgrad.quora.service.constants.QuestionStatus;
 import com.upgrad.quora.service.entity.QuestionEntity;
 import com.upgrad.quora.service.entity.UserEntity;
 import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.EditConflictException;
 import com.upgrad.quora.service.exception.InvalidQuestionException;
 import com.upgrad.quora.service.exception.UserNotFoundException;
 import com.upgrad.quora.service.constants.GetCurrentUserAction;
 
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_CBOR_VALUE;
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
+
 @RestController
 @RequestMapping("/question")
 public class QuestionController {
@@ -65,7 +73,7 @@ public class QuestionController {
 	 * @throws AuthorizationFailedException if the authorization token is invalid,
 	 *                                      expired or not found
 	 */
-	@RequestMapping(path = "/create", method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@RequestMapping(path = "/create", method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
 	public ResponseEntity<QuestionResponse> createQuestion(@RequestHeader("authorization") String authorization,
 			QuestionRequest request) throws AuthorizationFailedException {
 		String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ")
@@ -80,7 +88,9 @@ public class QuestionController {
 		QuestionResponse response = new QuestionResponse();
 		response.setId(question.getUuid());
 		response.setStatus(QuestionStatus.QUESTION_CREATED.getStatus());
-		return new ResponseEntity<>(response, HttpStatus.CREATED);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(EntityTags.of(question.getVersion()));
+		return new ResponseEntity<>(response, headers, HttpStatus.CREATED);
 	}
 
 	/**
@@ -93,7 +103,7 @@ public class QuestionController {
 	 * @throws AuthorizationFailedException if the authorization token is invalid,
 	 *                                      expired or not found.
 	 */
-	@RequestMapping(path = "/all", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@RequestMapping(path = "/all", method = RequestMethod.GET, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
 	public ResponseEntity<List<QuestionDetailsResponse>> getAllQuestions(
 			@RequestHeader("authorization") String authorization) throws AuthorizationFailedException {
 		String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ")
@@ -107,14 +117,68 @@ public class QuestionController {
 		}
 	}
 
+	/**
+	 * This is used to fetch the questions that received the most answers recently,
+	 * highest score first. The ranking is precomputed periodically, so the request
+	 * does not query the questions or answers.
+	 * 
+	 * @param authorization Authorization token from request header
+	 * @return List of trending questions with their scores
+	 * @throws AuthorizationFailedException if the authorization token is invalid,
+	 *                                      expired or not found.
+	 */
+	@RequestMapping(path = "/trending", method = RequestMethod.GET, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+	public ResponseEntity<List<TrendingQuestionResponse>> getTrendingQuestions(
+			@RequestHeader("authorization") String authorization) throws AuthorizationFailedException {
+		String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ")
+				: authorization;
+		userService.getCurrentUser(token, GetCurrentUserAction.GET_TRENDING_QUESTIONS);
+		List<TrendingQuestionResponse> responseItems = new ArrayList<>();
+		questionService.getTrendingQuestions().forEach(question -> responseItems.add(new TrendingQuestionResponse()
+				.id(question.getQuestionUuid()).content(question.getQuestionContent()).score(question.getScore())));
+		if (responseItems.isEmpty()) {
+			return new ResponseEntity<>(responseItems, HttpStatus.NO_CONTENT);
+		} else {
+			return new ResponseEntity<>(responseItems, HttpStatus.OK);
+		}
+	}
+
+	/**
+	 * This is used to fetch a single question. The entity tag of its current
+	 * version is returned in the ETag header, to be sent back in the If-Match
+	 * header of an edit.
+	 * 
+	 * @param authorization Authorization token from request header
+	 * @param questionId    Id of the question to fetch
+	 * @return The question with its entity tag
+	 * @throws AuthorizationFailedException if the authorization token is invalid,
+	 *                                      expired or not found.
+	 * @throws InvalidQuestionException     if a question with input questionId
+	 *                                      doesn't exist
+	 */
+	@RequestMapping(path = "/{questionId}", method = RequestMethod.GET, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+	public ResponseEntity<QuestionDetailsResponse> getQuestion(@RequestHeader("authorization") String authorization,
+			@PathVariable("questionId") String questionId)
+			throws AuthorizationFailedException, InvalidQuestionException {
+		String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ")
+				: authorization;
+		userService.getCurrentUser(token, GetCurrentUserAction.GET_QUESTION);
+		QuestionEntity question = questionService.getQuestion(questionId);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(EntityTags.of(question.getVersion()));
+		return new ResponseEntity<>(new QuestionDetailsResponse().id(question.getUuid()).content(question.getContent()),
+				headers, HttpStatus.OK);
+	}
+
 	/**
 	 * This is used to edit a question that has been posted by a user. Note, only
-	 * the question owner or an admin can edit a question. It takes questionId,
-	 * question content and authorization token to find and update a question in the
-	 * database.
+	 * the question owner can edit a question. It takes questionId, question
+	 * content, authorization token and an optional If-Match entity tag to update a
+	 * question in the database.
 	 * 
 	 * @param authorization Authorization token from request header
-	 * @param questionId    Id of the question to delete
+	 * @param ifMatch       Entity tag of the question version being edited
+	 * @param questionId    Id of the question to edit
 	 * @param request       An input request with question content
 	 * @return Response Entity with questionId, message and Http Status Code
 	 * @throws AuthorizationFailedException if the authorization token is invalid,
@@ -123,21 +187,27 @@ public class QuestionController {
 	 *                                      question.
 	 * @throws InvalidQuestionException     if a question with input questionId
 	 *                                      doesn't exist
+	 * @throws EditConflictException        if the question has changed since the
+	 *                                      version in If-Match
 	 */
-	@RequestMapping(path = "/edit/{questionId}", method = RequestMethod.PUT, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@RequestMapping(path = "/edit/{questionId}", method = RequestMethod.PUT, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
 	public ResponseEntity<QuestionEditResponse> editQuestion(@RequestHeader("authorization") String authorization,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 			@PathVariable("questionId") String questionId, QuestionEditRequest request)
-			throws AuthorizationFailedException, InvalidQuestionException {
+			throws AuthorizationFailedException, InvalidQuestionException, EditConflictException {
 		String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ")
 				: authorization;
 		UserEntity user = userService.getCurrentUser(token, GetCurrentUserAction.EDIT_QUESTION);
-		QuestionEntity question = questionService.getQuestion(questionId);
-		question.setContent(request.getContent());
-		questionId = questionService.editQuestion(question, user);
+		Integer expectedVersion = EntityTags.toVersion(ifMatch);
+		questionId = questionService.editQuestion(questionId, request.getContent(), user, expectedVersion);
 		QuestionEditResponse response = new QuestionEditResponse();
 		response.setId(questionId);
 		response.setStatus(QuestionStatus.QUESTION_EDITED.getStatus());
-		return new ResponseEntity<>(response, HttpStatus.OK);
+		HttpHeaders headers = new HttpHeaders();
+		if (expectedVersion != null) {
+			headers.setETag(EntityTags.of(expectedVersion + 1));
+		}
+		return new ResponseEntity<>(response, headers, HttpStatus.OK);
 	}
 
 	/**
@@ -155,15 +225,14 @@ public class QuestionController {
 	 * @throws InvalidQuestionException     if a question with input questionId
 	 *                                      doesn't exist
 	 */
-	@RequestMapping(path = "/delete/{questionId}", method = RequestMethod.DELETE, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@RequestMapping(path = "/delete/{questionId}", method = RequestMethod.DELETE, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
 	public ResponseEntity<QuestionDeleteResponse> deleteQuestion(@RequestHeader("authorization") String authorization,
 			@PathVariable("questionId") String questionId)
 			throws AuthorizationFailedException, InvalidQuestionException {
 		String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ")
 				: authorization;
 		UserEntity user = userService.getCurrentUser(token, GetCurrentUserAction.DELETE_QUESTION);
-		QuestionEntity question = questionService.getQuestion(questionId);
-		questionId = questionService.deleteQuestion(question, user);
+		questionId = questionService.deleteQuestion(questionId, user);
 		QuestionDeleteResponse response = new QuestionDeleteResponse();
 		response.setId(questionId);
 		response.setStatus(QuestionStatus.QUESTION_DELETED.getStatus());
@@ -184,7 +253,7 @@ public class QuestionController {
 	 * @throws AuthorizationFailedException if userId is invalid (no such user
 	 *                                      exists)
 	 */
-	@RequestMapping(path = "/all/{userId}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@RequestMapping(path = "/all/{userId}", method = RequestMethod.GET, produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
 	public ResponseEntity<List<QuestionDetailsResponse>> getUserQuestions(
 			@RequestHeader("authorization") String authorization, @PathVariable("userId") String userId)
 			throws AuthorizationFailedException, UserNotFoundException {
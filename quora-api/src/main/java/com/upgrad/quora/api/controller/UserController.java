@@ -4,11 +4,19 @@ import com.upgrad.quora.api.model.SigninResponse;
 import com.upgrad.quora.api.model.SignoutResponse;
 import com.upgrad.quora.api.model.SignupUserRequest;
 import com.upgrad.quora.api.model.SignupUserResponse;
+import com.upgrad.quora.api.model.UserFeedEntry;
+import com.upgrad.quora.api.model.UserFeedResponse;
+import com.upgrad.quora.service.business.FeedPage;
+import com.upgrad.quora.service.business.FeedService;
 import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
 import com.upgrad.quora.service.constants.UserStatus;
+import com.upgrad.quora.service.entity.FeedEntryEntity;
 import com.upgrad.quora.service.entity.UserAuthEntity;
 import com.upgrad.quora.service.entity.UserEntity;
 import com.upgrad.quora.service.exception.AuthenticationFailedException;
+import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.InvalidCursorException;
 import com.upgrad.quora.service.exception.SignOutRestrictedException;
 import com.upgrad.quora.service.exception.SignUpRestrictedException;
 import org.apache.commons.lang3.StringUtils;
@@ -19,12 +27,18 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.UUID;
 
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_CBOR_VALUE;
+import static com.upgrad.quora.api.config.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
+
 
 @RestController
 @RequestMapping("/")
@@ -32,6 +46,9 @@ public class UserController {
     @Autowired
     private UserBusinessService userBusinessService;
 
+    @Autowired
+    private FeedService feedService;
+
     /**
      * This is used to register a user in the application. It takes input for content of the user and register in the database
      *
@@ -42,7 +59,7 @@ public class UserController {
     @RequestMapping(method = RequestMethod.POST,
             path = "/user/signup",
             consumes = MediaType.APPLICATION_JSON_UTF8_VALUE,
-            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+            produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<SignupUserResponse> registerUser(SignupUserRequest user) throws SignUpRestrictedException {
         UserEntity newUserEntiry = new UserEntity();
 
@@ -76,7 +93,7 @@ public class UserController {
     @RequestMapping(method = RequestMethod.POST,
             path = "/user/signin",
             consumes = MediaType.APPLICATION_JSON_UTF8_VALUE,
-            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+            produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<SigninResponse> signinUser(@RequestHeader("authorization") String authorization)
             throws AuthenticationFailedException, IllegalArgumentException {
         try {
@@ -111,7 +128,7 @@ public class UserController {
      */
     @RequestMapping(method = RequestMethod.POST,
             path = "/user/signout",
-            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+            produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
     public ResponseEntity<SignoutResponse> signoutUser(@RequestHeader("authorization") String authorization)
             throws SignOutRestrictedException {
         String token = (authorization.contains("Bearer ")) ?
@@ -125,4 +142,45 @@ public class UserController {
         return new ResponseEntity<>(signoutResponse, HttpStatus.OK);
 
     }
+
+    /**
+     * This is used to get the activity feed of the signed in user: the questions the user posted and the answers
+     * to them, newest first. It takes input access token and optional cursor & page size.
+     *
+     * @param authorization Access token from request header
+     * @param cursor        Cursor returned with the previous page, absent for the first page
+     * @param limit         Maximum number of entries in the page
+     * @return Response Entity with the feed entries, the cursor of the next page and Http Status Code
+     * @throws AuthorizationFailedException if the authorization token is invalid, expired or not found
+     * @throws InvalidCursorException       if the cursor is not a valid position in the feed
+     */
+    @RequestMapping(method = RequestMethod.GET,
+            path = "/user/feed",
+            produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, APPLICATION_SMILE_VALUE, APPLICATION_CBOR_VALUE})
+    public ResponseEntity<UserFeedResponse> getFeed(@RequestHeader("authorization") String authorization,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "limit", defaultValue = "20") int limit)
+            throws AuthorizationFailedException, InvalidCursorException {
+        String token = (authorization.contains("Bearer ")) ?
+                StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+
+        UserEntity userEntity = userBusinessService.getCurrentUser(token, GetCurrentUserAction.GET_FEED);
+        FeedPage feedPage = feedService.getFeed(userEntity, cursor, limit);
+        UserFeedResponse userFeedResponse = new UserFeedResponse()
+                .entries(new ArrayList<>())
+                .nextCursor(feedPage.getNextCursor());
+        for (FeedEntryEntity feedEntry : feedPage.getEntries()) {
+            UserFeedEntry userFeedEntry = new UserFeedEntry()
+                    .type(feedEntry.getType().name())
+                    .questionId(feedEntry.getQuestion().getUuid())
+                    .questionContent(feedEntry.getQuestion().getContent())
+                    .createdAt(feedEntry.getCreatedAt().atZone(ZoneId.systemDefault()).toOffsetDateTime());
+            if (feedEntry.getAnswer() != null) {
+                userFeedEntry.answerId(feedEntry.getAnswer().getUuid()).answerContent(feedEntry.getAnswer().getAns());
+            }
+            userFeedResponse.addEntriesItem(userFeedEntry);
+        }
+
+        return new ResponseEntity<>(userFeedResponse, HttpStatus.OK);
+    }
 }
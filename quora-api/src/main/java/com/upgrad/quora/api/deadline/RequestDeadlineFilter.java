@@ -0,0 +1,56 @@
+package com.upgrad.quora.api.deadline;
+
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import com.upgrad.quora.service.deadline.RequestTimeouts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * This filter gives each request a {@link RequestDeadline}: the timeout of its endpoint group, shortened by the
+ * timeout its client sends in the X-Request-Timeout-Ms header, as worked out by {@link RequestTimeouts}. The DAO layer
+ * bounds its queries by the time left, and fails the request with 503 once none is left. Work shared with other
+ * requests keeps the timeout of the group, see {@link RequestDeadline#shared()}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final RequestTimeouts timeouts;
+
+    @Autowired
+    public RequestDeadlineFilter(final RequestTimeouts timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !timeouts.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        final long groupTimeoutMillis = timeouts.groupTimeoutMillis(path);
+        final long timeoutMillis = timeouts.requestedTimeoutMillis(groupTimeoutMillis, request.getHeader(timeouts.getHeader()));
+        if (timeoutMillis <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestDeadline.begin(timeoutMillis, groupTimeoutMillis);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.end();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.upgrad.quora.api.graphql;
+
+import java.util.Objects;
+
+/**
+ * Key of a list field: the database id of the parent entity and the number of entries requested for it. Parents of
+ * the same level asking for the same number of entries are loaded together.
+ */
+final class PageKey {
+
+    private final Integer parentId;
+
+    private final int first;
+
+    PageKey(final Integer parentId, final int first) {
+        this.parentId = parentId;
+        this.first = first;
+    }
+
+    Integer getParentId() {
+        return parentId;
+    }
+
+    int getFirst() {
+        return first;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PageKey)) {
+            return false;
+        }
+        PageKey other = (PageKey) o;
+        return first == other.first && Objects.equals(parentId, other.parentId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(parentId, first);
+    }
+}
@@ -0,0 +1,95 @@
+package com.upgrad.quora.api.graphql;
+
+import com.upgrad.quora.service.business.BatchLookupService;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The data loaders of one GraphQL request. Fields load their entities through these instead of querying directly; the
+ * keys requested while a level of the query is resolved are then fetched with one query per loader, and an entity is
+ * fetched once per request however many fields refer to it. List fields are keyed by {@link PageKey}, and the lists
+ * of a level are fetched with one query per distinct "first" argument, which cuts each list in SQL.
+ */
+public class QuoraDataLoaders {
+
+    private final DataLoader<Integer, UserEntity> users;
+
+    private final DataLoader<Integer, QuestionEntity> questions;
+
+    private final DataLoader<PageKey, List<AnswerEntity>> answersByQuestion;
+
+    private final DataLoader<PageKey, List<QuestionEntity>> questionsByUser;
+
+    private final DataLoaderRegistry registry = new DataLoaderRegistry();
+
+    public QuoraDataLoaders(final BatchLookupService batchLookupService) {
+        users = new DataLoader<>(batch(batchLookupService::getUsersById, null));
+        questions = new DataLoader<>(batch(batchLookupService::getQuestionsById, null));
+        answersByQuestion = new DataLoader<>(batchPages(batchLookupService::getAnswersByQuestionId));
+        questionsByUser = new DataLoader<>(batchPages(batchLookupService::getQuestionsByUserId));
+        registry.register("users", users)
+                .register("questions", questions)
+                .register("answersByQuestion", answersByQuestion)
+                .register("questionsByUser", questionsByUser);
+    }
+
+    /**
+     * Adapts a lookup by keys to a batch loader, which must return one value per key in the order of the keys
+     */
+    private static <V> BatchLoader<Integer, V> batch(final Function<List<Integer>, Map<Integer, V>> lookup, final V missing) {
+        return keys -> {
+            Map<Integer, V> values = lookup.apply(keys);
+            return CompletableFuture.completedFuture(keys.stream()
+                    .map(key -> values.getOrDefault(key, missing))
+                    .collect(Collectors.toList()));
+        };
+    }
+
+    /**
+     * Adapts a lookup of the first entries of several parents to a batch loader of pages, with one lookup per distinct
+     * number of entries among the keys
+     */
+    private static <V> BatchLoader<PageKey, List<V>> batchPages(final BiFunction<List<Integer>, Integer, Map<Integer, List<V>>> lookup) {
+        return keys -> {
+            Map<PageKey, List<V>> values = new HashMap<>();
+            keys.stream().collect(Collectors.groupingBy(PageKey::getFirst)).forEach((first, page) -> {
+                Map<Integer, List<V>> lists = lookup.apply(page.stream().map(PageKey::getParentId).collect(Collectors.toList()), first);
+                page.forEach(key -> values.put(key, lists.getOrDefault(key.getParentId(), Collections.<V>emptyList())));
+            });
+            return CompletableFuture.completedFuture(keys.stream().map(values::get).collect(Collectors.toList()));
+        };
+    }
+
+    public DataLoader<Integer, UserEntity> users() {
+        return users;
+    }
+
+    public DataLoader<Integer, QuestionEntity> questions() {
+        return questions;
+    }
+
+    public DataLoader<PageKey, List<AnswerEntity>> answersByQuestion() {
+        return answersByQuestion;
+    }
+
+    public DataLoader<PageKey, List<QuestionEntity>> questionsByUser() {
+        return questionsByUser;
+    }
+
+    public DataLoaderRegistry registry() {
+        return registry;
+    }
+}
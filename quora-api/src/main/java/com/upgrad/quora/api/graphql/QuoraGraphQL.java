@@ -0,0 +1,116 @@
+package com.upgrad.quora.api.graphql;
+
+import com.upgrad.quora.service.business.BatchLookupService;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Executes GraphQL queries against the schema in graphql/quora.graphqls. Fields referring to other entities resolve
+ * them through the {@link QuoraDataLoaders} of the request, so a query costs one SQL statement per level and entity
+ * type rather than one per entity: the latest 50 questions with their answers and the authors of both take four. The
+ * "first" argument of a list field is applied per parent by that statement, which reads no more rows than it returns.
+ */
+@Component
+public class QuoraGraphQL {
+
+    @Autowired
+    private BatchLookupService batchLookupService;
+
+    @Value("${quora.graphql.max-depth:8}")
+    private int maxDepth;
+
+    @Value("${quora.graphql.max-page-size:100}")
+    private int maxPageSize;
+
+    private GraphQL graphQL;
+
+    @PostConstruct
+    public void init() throws IOException {
+        GraphQLSchema schema;
+        try (Reader reader = new InputStreamReader(new ClassPathResource("graphql/quora.graphqls").getInputStream(), StandardCharsets.UTF_8)) {
+            schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(reader), wiring());
+        }
+        graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(new ChainedInstrumentation(Arrays.asList(
+                        new MaxQueryDepthInstrumentation(maxDepth),
+                        new DataLoaderDispatcherInstrumentation())))
+                .build();
+    }
+
+    /**
+     * Method executes a query with a fresh set of data loaders, so nothing is cached across requests
+     *
+     * @param query         GraphQL query
+     * @param operationName operation to execute, may be null if the query has a single one
+     * @param variables     values of the query variables, may be null
+     * @return result of the query, with the errors of the fields that could not be resolved
+     */
+    public ExecutionResult execute(final String query, final String operationName, final Map<String, Object> variables) {
+        QuoraDataLoaders dataLoaders = new QuoraDataLoaders(batchLookupService);
+        return graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .operationName(operationName)
+                .variables(variables == null ? Collections.emptyMap() : variables)
+                .context(dataLoaders)
+                .dataLoaderRegistry(dataLoaders.registry())
+                .build());
+    }
+
+    private RuntimeWiring wiring() {
+        return RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type
+                        .dataFetcher("questions", env -> batchLookupService.getLatestQuestions(first(env)))
+                        .dataFetcher("question", env -> {
+                            String questionId = env.getArgument("id");
+                            return batchLookupService.getQuestionsByUuid(Collections.singleton(questionId)).get(questionId);
+                        })
+                        .dataFetcher("user", env -> batchLookupService.getUser(env.getArgument("id"))))
+                .type("Question", type -> type
+                        .dataFetcher("id", env -> env.<QuestionEntity>getSource().getUuid())
+                        .dataFetcher("author", env -> loaders(env).users().load(env.<QuestionEntity>getSource().getUserId()))
+                        .dataFetcher("answers", env -> loaders(env).answersByQuestion().load(new PageKey(env.<QuestionEntity>getSource().getId(), first(env)))))
+                .type("Answer", type -> type
+                        .dataFetcher("id", env -> env.<AnswerEntity>getSource().getUuid())
+                        .dataFetcher("content", env -> env.<AnswerEntity>getSource().getAns())
+                        .dataFetcher("author", env -> loaders(env).users().load(env.<AnswerEntity>getSource().getUserId()))
+                        .dataFetcher("question", env -> loaders(env).questions().load(env.<AnswerEntity>getSource().getQuestionId())))
+                .type("User", type -> type
+                        .dataFetcher("id", env -> env.<UserEntity>getSource().getUuid())
+                        .dataFetcher("questions", env -> loaders(env).questionsByUser().load(new PageKey(env.<UserEntity>getSource().getId(), first(env)))))
+                .build();
+    }
+
+    private int first(final DataFetchingEnvironment env) {
+        Integer first = env.getArgument("first");
+        return Math.max(0, Math.min(first == null ? maxPageSize : first, maxPageSize));
+    }
+
+    private static QuoraDataLoaders loaders(final DataFetchingEnvironment env) {
+        return env.getContext();
+    }
+}
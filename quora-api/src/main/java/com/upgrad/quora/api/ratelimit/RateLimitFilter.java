@@ -0,0 +1,132 @@
+package com.upgrad.quora.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.quora.api.model.ErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.upgrad.quora.service.common.GenericErrorCode.GEN_003;
+
+/**
+ * This filter rejects requests over the rate limits of their endpoint group with 429 Too Many Requests and a
+ * Retry-After header, before they reach the controllers or open a transaction. Requests are counted against their
+ * access token and their client address separately, so one token cannot exceed its limit by spreading over
+ * addresses, and one address cannot do so by signing in repeatedly. Both limits are checked before either is charged,
+ * so a request rejected on one does not use up the other, and Retry-After is the longer of the two waits. Basic
+ * credentials of /user/signin are not counted as a token.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<EndpointGroup> groups = new ArrayList<>();
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RateLimitFilter(final RateLimitProperties properties, final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        if (properties.isEnabled()) {
+            for (RateLimitProperties.Group group : properties.getGroups()) {
+                groups.add(new EndpointGroup(group, properties.getMaxKeys()));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final EndpointGroup group = match(request.getRequestURI().substring(request.getContextPath().length()));
+        if (group != null) {
+            final long now = System.nanoTime();
+            final String token = group.perToken == null ? null : accessToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+            final String address = group.perIp == null ? null : request.getRemoteAddr();
+            long waitNanos = Math.max(token == null ? 0 : group.perToken.waitNanos(token, now),
+                    address == null ? 0 : group.perIp.waitNanos(address, now));
+            if (waitNanos == 0 && token != null) {
+                waitNanos = group.perToken.tryAcquire(token, now);
+            }
+            if (waitNanos == 0 && address != null) {
+                waitNanos = group.perIp.tryAcquire(address, now);
+                if (waitNanos > 0 && token != null) {
+                    // another request from the address took its last token since the check
+                    group.perToken.release(token);
+                }
+            }
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private EndpointGroup match(final String path) {
+        for (EndpointGroup group : groups) {
+            if (group.matches(path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void reject(final HttpServletResponse response, final long waitNanos) throws IOException {
+        final long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse()
+                .code(GEN_003.getCode())
+                .message(MessageFormat.format(GEN_003.getDefaultMessage(), retryAfterSeconds)));
+    }
+
+    private static String accessToken(final String authorization) {
+        if (authorization == null || authorization.isEmpty() || authorization.startsWith("Basic ")) {
+            return null;
+        }
+        return authorization.startsWith("Bearer ") ? authorization.substring("Bearer ".length()) : authorization;
+    }
+
+    private static final class EndpointGroup {
+
+        private final String[] prefixes;
+        private final RateLimiter perToken;
+        private final RateLimiter perIp;
+
+        private EndpointGroup(final RateLimitProperties.Group group, final long maxKeys) {
+            this.prefixes = group.getPaths().toArray(new String[0]);
+            this.perToken = limiter(group.getPerToken(), maxKeys);
+            this.perIp = limiter(group.getPerIp(), maxKeys);
+        }
+
+        private boolean matches(final String path) {
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix) && (path.length() == prefix.length() || prefix.endsWith("/")
+                        || path.charAt(prefix.length()) == '/')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static RateLimiter limiter(final RateLimitProperties.Limit limit, final long maxKeys) {
+            return limit == null ? null : new RateLimiter(limit.getPermitsPerSecond(), limit.getBurst(), maxKeys);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.upgrad.quora.api.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the rate limits under quora.rate-limit. Each request is counted against the first group with a path
+ * prefix matching it; a group limits the access token, the client address, or both.
+ */
+@Component
+@ConfigurationProperties("quora.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private long maxKeys = 100000;
+
+    private List<Group> groups = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return maximum number of access tokens or client addresses tracked per group
+     */
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+
+        private String name;
+
+        private List<String> paths = new ArrayList<>();
+
+        private Limit perToken;
+
+        private Limit perIp;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return path prefixes, within the context path, of the endpoints in the group
+         */
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        /**
+         * @return limit per access token, null to leave tokens unlimited
+         */
+        public Limit getPerToken() {
+            return perToken;
+        }
+
+        public void setPerToken(Limit perToken) {
+            this.perToken = perToken;
+        }
+
+        /**
+         * @return limit per client address, null to leave addresses unlimited
+         */
+        public Limit getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(Limit perIp) {
+            this.perIp = perIp;
+        }
+    }
+
+    public static class Limit {
+
+        private double permitsPerSecond;
+
+        private int burst = 1;
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.upgrad.quora.api.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key, implemented with the generic cell rate algorithm: instead of a token count refilled by a
+ * timer, each key holds the theoretical arrival time of its next request in an {@link AtomicLong}, and a request is
+ * admitted by moving that time forward with a compare-and-set. Admitting a request is therefore one map lookup and
+ * one CAS, without locks.
+ * <p>
+ * The keys live in a Caffeine map bounded by maxKeys. A key idle for long enough to have refilled its whole burst
+ * expires, which loses nothing; a key evicted earlier because the map is full starts again with a full burst.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> arrivals;
+
+    /**
+     * @param permitsPerSecond sustained rate admitted per key
+     * @param burst            number of requests a key may send at once after being idle
+     * @param maxKeys          maximum number of keys tracked
+     */
+    public RateLimiter(final double permitsPerSecond, final int burst, final long maxKeys) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(toleranceNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Method tells whether a request of the key would be admitted now, without taking a token from its bucket
+     *
+     * @param key      access token or client address the request is counted against
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 if the request would be admitted, otherwise the nanoseconds until the key may send its next request
+     */
+    public long waitNanos(final String key, final long nowNanos) {
+        final AtomicLong theoreticalArrival = arrivals.getIfPresent(key);
+        if (theoreticalArrival == null) {
+            return 0;
+        }
+        return Math.max(0, Math.max(theoreticalArrival.get(), nowNanos) + intervalNanos - toleranceNanos - nowNanos);
+    }
+
+    /**
+     * Method admits a request of the key if its bucket has a token left
+     *
+     * @param key       access token or client address the request is counted against
+     * @param nowNanos  current {@link System#nanoTime()}
+     * @return 0 if the request is admitted, otherwise the nanoseconds until the key may send its next request
+     */
+    public long tryAcquire(final String key, final long nowNanos) {
+        final AtomicLong theoreticalArrival = arrivals.get(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            final long current = theoreticalArrival.get();
+            final long next = Math.max(current, nowNanos) + intervalNanos;
+            final long waitNanos = next - toleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Method gives back the token taken by an admitted request of the key that was rejected on another limit after all
+     *
+     * @param key access token or client address the request was counted against
+     */
+    public void release(final String key) {
+        final AtomicLong theoreticalArrival = arrivals.getIfPresent(key);
+        if (theoreticalArrival != null) {
+            theoreticalArrival.addAndGet(-intervalNanos);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.upgrad.quora.api.trace;
+
+import com.upgrad.quora.service.trace.QueryStatistics;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * This advice reports the SQL statistics of the request in a Server-Timing header, just before the response body
+ * is written. It applies to controller responses as well as to the error responses of RestExceptionHandler.
+ */
+@ControllerAdvice
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            response.getHeaders().add(SERVER_TIMING, serverTiming(statistics));
+        }
+        return body;
+    }
+
+    /**
+     * Method formats the statistics as Server-Timing metrics: total DAO time with the statement count, and the
+     * slowest DAO call of the request.
+     *
+     * @param statistics SQL statistics of the current request
+     * @return Server-Timing header value
+     */
+    public static String serverTiming(QueryStatistics statistics) {
+        StringBuilder value = new StringBuilder()
+                .append("db;dur=").append(millis(statistics.getTotalNanos()))
+                .append(";desc=\"").append(statistics.getStatementCount()).append(" statements\"");
+        if (statistics.getSlowestOperation() != null) {
+            value.append(", db-slowest;dur=").append(millis(statistics.getSlowestNanos()))
+                    .append(";desc=\"").append(statistics.getSlowestOperation()).append('"');
+        }
+        return value.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -48,5 +48,13 @@ public class AdminControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("code").value("USR-001"));
     }
 
+    //This test case passes when you try to get the purge status of a user which is not being deleted.
+    @Test
+    public void getPurgeStatusOfUserNotBeingDeleted() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/admin/user/database_uuid4/purge").header("authorization", "database_accesstoken"))
+                .andExpect(status().isNotFound())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("USR-001"));
+    }
+
 
 }
@@ -1,6 +1,13 @@
 package com.upgrad.quora.api.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jayway.jsonpath.JsonPath;
+import com.upgrad.quora.api.model.AnswerPageItem;
+import com.upgrad.quora.api.model.AnswerPageResponse;
+import com.upgrad.quora.api.model.ErrorResponse;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,9 +16,20 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -20,6 +38,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 public class AnswerControllerTest {
 
+    private static final ObjectMapper SMILE = new ObjectMapper(new SmileFactory());
+
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+
     @Autowired
     private MockMvc mvc;
 
@@ -80,6 +102,30 @@ public class AnswerControllerTest {
             .andExpect(MockMvcResultMatchers.jsonPath("code").value("ATHR-003"));
     }
 
+    //This test case passes when you fetch an answer and its current version is returned as entity tag in the ETag header.
+    @Test
+    public void getAnswerWithEntityTag() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/answer/database_answer_uuid").header("authorization", "database_accesstoken1"))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("id").value("database_answer_uuid"))
+            .andExpect(result -> assertTrue(result.getResponse().getHeader("ETag").matches("\"[0-9]+\"")));
+    }
+
+    //This test case passes when you try to edit the answer with an If-Match entity tag too large to be any version, which is treated as not matching.
+    @Test
+    public void editAnswerWithOverflowingVersion() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.put("/answer/edit/database_answer_uuid?content=edited_answer").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken1").header("If-Match", "\"99999999999\""))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(MockMvcResultMatchers.jsonPath("code").value("ANS-002"));
+    }
+
+    //This test case passes when you try to edit the answer with an If-Match entity tag that is not the current version of the answer.
+    @Test
+    public void editAnswerWithStaleVersion() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.put("/answer/edit/database_answer_uuid?content=edited_answer").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken1").header("If-Match", "\"99\""))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(MockMvcResultMatchers.jsonPath("code").value("ANS-002"));
+    }
 
 //This test case passes when you try to delete the answer but the JWT token entered does not exist in the database.
     @Test
@@ -137,5 +183,99 @@ public class AnswerControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("code").value("QUES-001"));
     }
 
+    //This test case passes when the answers of a question are read a page at a time, the nextCursor of the first page leading to the second and last one.
+    @Test
+    public void getAnswersSecondPage() throws Exception {
+        String questionId = JsonPath.read(mvc.perform(MockMvcRequestBuilders.post("/question/create?content=paged_question").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken1"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString(), "$.id");
+        for (String answer : new String[]{"first_answer", "second_answer", "third_answer"}) {
+            mvc.perform(MockMvcRequestBuilders.post("/question/" + questionId + "/answer/create?answer=" + answer).contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken1"))
+                .andExpect(status().isCreated());
+        }
+        String cursor = JsonPath.read(mvc.perform(MockMvcRequestBuilders.get("/answer/all/" + questionId + "?limit=2").header("authorization", "database_accesstoken1"))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("answers.length()").value(2))
+            .andExpect(MockMvcResultMatchers.jsonPath("answers[0].answerContent").value("first_answer"))
+            .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+        mvc.perform(MockMvcRequestBuilders.get("/answer/all/" + questionId + "?limit=2&cursor=" + cursor).header("authorization", "database_accesstoken1"))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("questionId").value(questionId))
+            .andExpect(MockMvcResultMatchers.jsonPath("answers.length()").value(1))
+            .andExpect(MockMvcResultMatchers.jsonPath("answers[0].answerContent").value("third_answer"))
+            .andExpect(MockMvcResultMatchers.jsonPath("nextCursor").doesNotExist());
+    }
 
+    //This test case passes when answers given on the same day are paged in the order of their times, each once, whatever the order of their ids.
+    @Test
+    public void getAnswersGivenOnTheSameDay() throws Exception {
+        List<String> contents = new ArrayList<>();
+        String cursor = "";
+        for (int page = 0; page < 4; page++) {
+            ResultActions result = mvc.perform(MockMvcRequestBuilders.get("/answer/all/database_same_day_question_uuid?limit=1" + cursor).header("authorization", "database_accesstoken1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("answers.length()").value(1));
+            String response = result.andReturn().getResponse().getContentAsString();
+            contents.add(JsonPath.read(response, "$.answers[0].answerContent"));
+            if (page < 3) {
+                cursor = "&cursor=" + JsonPath.<String>read(response, "$.nextCursor");
+            } else {
+                result.andExpect(MockMvcResultMatchers.jsonPath("nextCursor").doesNotExist());
+            }
+        }
+        assertEquals(Arrays.asList("morning_answer", "second_morning_answer", "noon_answer", "evening_answer"), contents);
+    }
+
+    //This test case passes when you try to get the answers of a question after a cursor that was not returned by the application.
+    @Test
+    public void getAnswersWithInvalidCursor() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/answer/all/database_question_uuid?cursor=invalid_cursor!").header("authorization", "database_accesstoken1"))
+            .andExpect(status().isBadRequest())
+            .andExpect(MockMvcResultMatchers.jsonPath("code").value("ANS-003"));
+    }
+
+    //This test case passes when the answers of a question are returned in Smile to a client that accepts it.
+    @Test
+    public void getAnswersInSmile() throws Exception {
+        assertAnswersOfTheSameDay("application/x-jackson-smile", SMILE);
+    }
+
+    //This test case passes when the answers of a question are returned in CBOR to a client that accepts it.
+    @Test
+    public void getAnswersInCbor() throws Exception {
+        assertAnswersOfTheSameDay("application/cbor", CBOR);
+    }
+
+    //This test case passes when the error of a question which does not exist is returned in Smile to a client that accepts it.
+    @Test
+    public void getAnswersOfNonExistingQuestionInSmile() throws Exception {
+        assertNonExistingQuestion("application/x-jackson-smile", SMILE);
+    }
+
+    //This test case passes when the error of a question which does not exist is returned in CBOR to a client that accepts it.
+    @Test
+    public void getAnswersOfNonExistingQuestionInCbor() throws Exception {
+        assertNonExistingQuestion("application/cbor", CBOR);
+    }
+
+    private void assertAnswersOfTheSameDay(final String mediaType, final ObjectMapper mapper) throws Exception {
+        MvcResult result = mvc.perform(MockMvcRequestBuilders.get("/answer/all/database_same_day_question_uuid").header("authorization", "database_accesstoken1").accept(mediaType))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(mediaType))
+            .andReturn();
+        AnswerPageResponse response = mapper.readValue(result.getResponse().getContentAsByteArray(), AnswerPageResponse.class);
+        assertEquals("database_same_day_question_uuid", response.getQuestionId());
+        assertEquals(Arrays.asList("morning_answer", "second_morning_answer", "noon_answer", "evening_answer"),
+            response.getAnswers().stream().map(AnswerPageItem::getAnswerContent).collect(Collectors.toList()));
+        assertNull(response.getNextCursor());
+    }
+
+    private void assertNonExistingQuestion(final String mediaType, final ObjectMapper mapper) throws Exception {
+        MvcResult result = mvc.perform(MockMvcRequestBuilders.get("/answer/all/non_existing_question_uuid").header("authorization", "database_accesstoken1").accept(mediaType))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentTypeCompatibleWith(mediaType))
+            .andReturn();
+        ErrorResponse response = mapper.readValue(result.getResponse().getContentAsByteArray(), ErrorResponse.class);
+        assertEquals("QUES-001", response.getCode());
+    }
 }
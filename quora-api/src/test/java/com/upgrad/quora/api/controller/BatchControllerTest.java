@@ -0,0 +1,85 @@
+package com.upgrad.quora.api.controller;
+
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    //This test case passes when you try to run a batch and the JWT token entered exists in the database and the user corresponding to that JWT token is signed in.
+    @Test
+    public void batch() throws Exception {
+        String batch = "{\"operations\": [{\"method\": \"GET\", \"path\": \"/userprofile/database_uuid1\"}, {\"method\": \"GET\", \"path\": \"/userprofile/non_existing_user\"}]}";
+        mvc.perform(MockMvcRequestBuilders.post("/batch").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken").content(batch))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("results[0].status").value(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("results[0].body.user_name").value("database_username1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("results[1].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("results[1].body.code").value("USR-001"));
+    }
+
+    //This test case passes when you try to run an atomic batch whose second operation fails, the operations after it are not run.
+    @Test
+    public void atomicBatchStopsAtFailure() throws Exception {
+        String batch = "{\"atomic\": true, \"operations\": [{\"method\": \"GET\", \"path\": \"/userprofile/database_uuid1\"}, {\"method\": \"DELETE\", \"path\": \"/question/delete/non_existing_question_uuid\"}, {\"method\": \"GET\", \"path\": \"/userprofile/database_uuid1\"}]}";
+        mvc.perform(MockMvcRequestBuilders.post("/batch").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken").content(batch))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("rolled_back").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("results.length()").value(2));
+    }
+
+    //This test case passes when you try to create a question through a batch with its content in the body of the operation; the batch is rolled back at its second operation.
+    @Test
+    public void createQuestionThroughBatch() throws Exception {
+        String batch = "{\"atomic\": true, \"operations\": [{\"method\": \"POST\", \"path\": \"/question/create\", \"body\": {\"content\": \"my_question\"}}, {\"method\": \"DELETE\", \"path\": \"/question/delete/non_existing_question_uuid\"}]}";
+        mvc.perform(MockMvcRequestBuilders.post("/batch").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken1").content(batch))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("results[0].status").value(201))
+                .andExpect(MockMvcResultMatchers.jsonPath("results[0].body.status").value("QUESTION CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("results[1].status").value(404))
+                .andExpect(MockMvcResultMatchers.jsonPath("rolled_back").value(true));
+    }
+
+    //This test case passes when you try to run a batch holding an operation whose body is not an object of scalar fields.
+    @Test
+    public void batchWithNestedBody() throws Exception {
+        String batch = "{\"operations\": [{\"method\": \"POST\", \"path\": \"/question/create\", \"body\": {\"content\": {\"text\": \"my_question\"}}}]}";
+        mvc.perform(MockMvcRequestBuilders.post("/batch").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken1").content(batch))
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("BAT-003"));
+    }
+
+    //This test case passes when you try to run a batch but the JWT token entered does not exist in the database.
+    @Test
+    public void batchUsingNonExistingAccessToken() throws Exception {
+        String batch = "{\"operations\": [{\"method\": \"GET\", \"path\": \"/userprofile/database_uuid1\"}]}";
+        mvc.perform(MockMvcRequestBuilders.post("/batch").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "non_existing_access_token").content(batch))
+                .andExpect(status().isForbidden())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("ATHR-001"));
+    }
+
+    //This test case passes when you try to run a batch holding a batch.
+    @Test
+    public void batchOfBatch() throws Exception {
+        String batch = "{\"operations\": [{\"method\": \"POST\", \"path\": \"/batch\"}]}";
+        mvc.perform(MockMvcRequestBuilders.post("/batch").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken").content(batch))
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("BAT-003"));
+    }
+}
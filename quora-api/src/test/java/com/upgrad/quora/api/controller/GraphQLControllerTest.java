@@ -0,0 +1,90 @@
+package com.upgrad.quora.api.controller;
+
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class GraphQLControllerTest {
+
+    private static final Pattern STATEMENT_COUNT = Pattern.compile("db;dur=[0-9.]+;desc=\"([0-9]+) statements\"");
+
+    private static final String QUESTION_QUERY = "{\"query\": \"{ question(id: \\\"database_question_uuid\\\") { content author { userName } answers { content author { userName } } } }\"}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    //This test case passes when you try to run a query and the JWT token entered exists in the database and the user corresponding to that JWT token is signed in.
+    @Test
+    public void queryQuestionWithAnswers() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/graphql").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken").content(QUESTION_QUERY))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("data.question.content").value("database_question_content"));
+    }
+
+    //This test case passes when you try to run a query but the JWT token entered does not exist in the database.
+    @Test
+    public void queryUsingNonExistingAccessToken() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/graphql").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "non_existing_access_token").content(QUESTION_QUERY))
+                .andExpect(status().isForbidden())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("ATHR-001"));
+    }
+
+    //This test case passes when you try to run a query but the user corresponding to the JWT token entered is signed out of the application.
+    @Test
+    public void queryWithSignedOutUser() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/graphql").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken3").content(QUESTION_QUERY))
+                .andExpect(status().isForbidden())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("ATHR-002"));
+    }
+
+    //This test case passes when each level of a nested query is fetched with one statement per entity type, and the answers of the question are cut to the "first" argument.
+    @Test
+    public void queryNestedLevelsWithOneStatementEach() throws Exception {
+        String questionId = JsonPath.read(mvc.perform(MockMvcRequestBuilders.post("/question/create?content=nested_question").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken1"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+        for (String token : new String[]{"database_accesstoken1", "database_accesstoken", "database_accesstoken1"}) {
+            mvc.perform(MockMvcRequestBuilders.post("/question/" + questionId + "/answer/create?answer=nested_answer").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", token))
+                    .andExpect(status().isCreated());
+        }
+        int questionOnly = statementCount(query("{ question(id: \\\"" + questionId + "\\\") { content } }"));
+        String nested = query("{ question(id: \\\"" + questionId + "\\\") { author { userName } answers(first: 2) { content author { userName } question { content } } } }");
+        mvc.perform(MockMvcRequestBuilders.post("/graphql").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken").content(nested))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("data.question.answers.length()").value(2));
+        //the answers, then the questions of the answers and one batch with the authors of the question and the answers
+        assertEquals(questionOnly + 3, statementCount(nested));
+    }
+
+    private static String query(final String query) {
+        return "{\"query\": \"" + query + "\"}";
+    }
+
+    private int statementCount(final String query) throws Exception {
+        String serverTiming = mvc.perform(MockMvcRequestBuilders.post("/graphql").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", "database_accesstoken").content(query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+        Matcher matcher = STATEMENT_COUNT.matcher(serverTiming);
+        assertTrue(serverTiming, matcher.find());
+        return Integer.parseInt(matcher.group(1));
+    }
+}
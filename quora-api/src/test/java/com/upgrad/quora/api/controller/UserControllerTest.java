@@ -45,4 +45,21 @@ public class UserControllerTest {
                 .andExpect(status().isUnauthorized())
                 .andExpect(MockMvcResultMatchers.jsonPath("code").value("SGR-001"));
     }
+
+    //This test case passes when you try to get the feed but the JWT token entered does not exist in the database.
+    @Test
+    public void getFeedWithNonExistingAccessToken() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/user/feed").header("authorization", "non_existing_access_token"))
+                .andExpect(status().isForbidden())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("ATHR-001"));
+    }
+
+    //This test case passes when you try to get the feed and the JWT token entered exists in the database but the user corresponding to that JWT token is signed out.
+    @Test
+    public void getFeedWithSignedOutUser() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/user/feed").header("authorization", "database_accesstoken3"))
+                .andExpect(status().isForbidden())
+                .andExpect(MockMvcResultMatchers.jsonPath("code").value("ATHR-002"));
+    }
+
 }
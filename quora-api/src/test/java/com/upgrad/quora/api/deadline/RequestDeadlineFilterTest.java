@@ -0,0 +1,71 @@
+package com.upgrad.quora.api.deadline;
+
+import com.upgrad.quora.service.deadline.DeadlineProperties;
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import com.upgrad.quora.service.deadline.RequestTimeouts;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(new RequestTimeouts(properties()));
+
+    //This test case passes when a request without the header gets the timeout of its endpoint group.
+    @Test
+    public void usesTheTimeoutOfTheGroup() throws Exception {
+        assertEquals(3000, timeoutMillis("/question/all", null));
+        assertEquals(5000, timeoutMillis("/question/create", null));
+    }
+
+    //This test case passes when a client asking for a shorter timeout than its group gets it.
+    @Test
+    public void headerShortensTheTimeout() throws Exception {
+        assertEquals(1, timeoutMillis("/question/all", "1"));
+    }
+
+    //This test case passes when a client asking for a longer timeout than its group keeps the one of the group.
+    @Test
+    public void headerCannotLengthenTheTimeout() throws Exception {
+        assertEquals(3000, timeoutMillis("/question/all", "999999"));
+    }
+
+    //This test case passes when a malformed or non-positive header leaves the timeout of the group.
+    @Test
+    public void malformedHeaderIsIgnored() throws Exception {
+        assertEquals(3000, timeoutMillis("/question/all", "soon"));
+        assertEquals(3000, timeoutMillis("/question/all", "0"));
+    }
+
+    private long timeoutMillis(final String path, final String header) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (header != null) {
+            request.addHeader("X-Request-Timeout-Ms", header);
+        }
+        final AtomicReference<RequestDeadline> deadline = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> deadline.set(RequestDeadline.current()));
+        assertNull(RequestDeadline.current());
+        return deadline.get().getTimeoutMillis();
+    }
+
+    private static DeadlineProperties properties() {
+        final DeadlineProperties.Group listing = new DeadlineProperties.Group();
+        listing.setName("listing");
+        listing.setPaths(Arrays.asList("/question/all", "/answer/all"));
+        listing.setTimeoutMs(3000);
+        final DeadlineProperties.Group fallback = new DeadlineProperties.Group();
+        fallback.setName("default");
+        fallback.setPaths(Collections.singletonList("/"));
+        fallback.setTimeoutMs(5000);
+        final DeadlineProperties properties = new DeadlineProperties();
+        properties.setGroups(Arrays.asList(listing, fallback));
+        return properties;
+    }
+}
@@ -0,0 +1,91 @@
+package com.upgrad.quora.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(properties(), new ObjectMapper());
+
+    //This test case passes when a request over the burst of its address is rejected with 429, a Retry-After header and GEN-003.
+    @Test
+    public void rejectsOverTheLimitWithRetryAfter() throws Exception {
+        assertEquals(200, perform("10.0.0.1", "database_accesstoken").getStatus());
+        assertEquals(200, perform("10.0.0.1", "database_accesstoken1").getStatus());
+        final MockHttpServletResponse response = perform("10.0.0.1", "database_accesstoken3");
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertThat(response.getContentAsString(), containsString("\"code\":\"GEN-003\""));
+    }
+
+    //This test case passes when a request rejected on the limit of its address leaves the limit of its token untouched.
+    @Test
+    public void rejectionOnTheAddressDoesNotChargeTheToken() throws Exception {
+        assertEquals(200, perform("10.0.0.1", "database_accesstoken").getStatus());
+        assertEquals(200, perform("10.0.0.1", "database_accesstoken").getStatus());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(429, perform("10.0.0.1", "database_accesstoken").getStatus());
+        }
+        assertEquals(200, perform("10.0.0.2", "database_accesstoken").getStatus());
+    }
+
+    //This test case passes when a request over the limit of its token is rejected whatever its address.
+    @Test
+    public void tokenIsLimitedAcrossAddresses() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, perform("10.0.1." + i, "database_accesstoken").getStatus());
+        }
+        assertEquals(429, perform("10.0.1.3", "database_accesstoken").getStatus());
+    }
+
+    //This test case passes when requests outside every endpoint group are not limited.
+    @Test
+    public void otherPathsAreNotLimited() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/question/database_question_uuid");
+        request.setRemoteAddr("10.0.0.1");
+        for (int i = 0; i < 5; i++) {
+            final MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(200));
+            assertNull(response.getHeader("Retry-After"));
+        }
+    }
+
+    private MockHttpServletResponse perform(final String address, final String token) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/question/all");
+        request.setRemoteAddr(address);
+        request.addHeader("authorization", token);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(0);
+        filter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(200));
+        return response;
+    }
+
+    private static RateLimitProperties properties() {
+        final RateLimitProperties.Group listing = new RateLimitProperties.Group();
+        listing.setName("listing");
+        listing.setPaths(Collections.singletonList("/question/all"));
+        listing.setPerToken(limit(3));
+        listing.setPerIp(limit(2));
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setMaxKeys(1000);
+        properties.setGroups(Collections.singletonList(listing));
+        return properties;
+    }
+
+    private static RateLimitProperties.Limit limit(final int burst) {
+        final RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setPermitsPerSecond(1);
+        limit.setBurst(burst);
+        return limit;
+    }
+}
@@ -0,0 +1,168 @@
+package com.upgrad.quora.datagen;
+
+import com.upgrad.quora.service.business.PasswordCryptographyProvider;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Generates users, questions and answers into an existing quora schema and loads them with COPY.
+ * Question authors and answer authors follow a Zipf distribution over the users, answers a Zipf distribution
+ * over the questions, so that list endpoints see both hot and cold rows. The same settings and seed always
+ * produce the same data. Every user is named {@link #userName(int)} and signs in with {@link #PASSWORD}.
+ */
+public class DataGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
+
+    public static final String PASSWORD = "password";
+
+    /**
+     * First id of the generated users, above the rows inserted by quora.sql.
+     */
+    public static final int FIRST_USER_ID = 1000000;
+
+    private static final int CHUNK_ROWS = 50000;
+
+    /**
+     * Questions and answers are dated by day, as the application stores them; answers are paged by (date, id).
+     */
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final DataGeneratorSettings settings;
+
+    public DataGenerator(final DataGeneratorSettings settings) {
+        this.settings = settings;
+    }
+
+    public static String userUuid(final int user) {
+        return "user-" + user;
+    }
+
+    public static String userName(final int user) {
+        return "user" + user;
+    }
+
+    public static String questionUuid(final int question) {
+        return "question-" + question;
+    }
+
+    public static String answerUuid(final int answer) {
+        return "answer-" + answer;
+    }
+
+    /**
+     * @return sampler of users by activity, the same one the questions and answers were generated with
+     */
+    public IndexSampler userSampler() {
+        return new IndexSampler(settings.getUsers(), settings.getUserSkew());
+    }
+
+    /**
+     * @return sampler of questions by popularity, the same one the answers were generated with
+     */
+    public IndexSampler questionSampler() {
+        return new IndexSampler(settings.getQuestions(), settings.getQuestionSkew());
+    }
+
+    /**
+     * Generates the data and loads it, one transaction per table.
+     *
+     * @param connection connection to the quora database
+     */
+    public void generate(final Connection connection) throws SQLException, IOException {
+        final Random random = new Random(settings.getSeed());
+        final CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        final LocalDate today = LocalDate.now();
+        final IndexSampler users = userSampler();
+        final IndexSampler questions = questionSampler();
+        final boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            byte[] saltBytes = new byte[32];
+            random.nextBytes(saltBytes);
+            final String salt = Base64.getEncoder().encodeToString(saltBytes);
+            final String password = PasswordCryptographyProvider.encrypt(PASSWORD, salt);
+
+            copy(connection, copyManager, "USERS (id, uuid, firstname, lastname, username, email, password, salt, "
+                    + "country, aboutme, dob, role, contactnumber)", settings.getUsers(), (row, out) -> out
+                    .append(FIRST_USER_ID + row).append(',').append(userUuid(row)).append(",Generated,User,")
+                    .append(userName(row)).append(',').append(userName(row)).append("@datagen.quora.io,")
+                    .append(password).append(',').append(salt).append(",India,generated user,01-01-1990,nonadmin,9999999999\n"));
+
+            copy(connection, copyManager, "QUESTION (id, uuid, content, date, user_id)", settings.getQuestions(), (row, out) -> out
+                    .append(row + 1).append(',').append(questionUuid(row)).append(",Generated question ").append(row)
+                    .append(" about topic ").append(random.nextInt(1000)).append("?,")
+                    .append(DATE.format(today.minusDays(random.nextInt(365)))).append(',')
+                    .append(FIRST_USER_ID + users.sample(random)).append('\n'));
+
+            copy(connection, copyManager, "ANSWER (id, uuid, ans, date, user_id, question_id)", settings.getAnswers(), (row, out) -> out
+                    .append(row + 1).append(',').append(answerUuid(row)).append(",Generated answer ").append(row).append(',')
+                    .append(DATE.format(today.minusDays(random.nextInt(30)))).append(',')
+                    .append(FIRST_USER_ID + users.sample(random)).append(',')
+                    .append(questions.sample(random) + 1).append('\n'));
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval('users_id_seq', (SELECT MAX(id) FROM USERS))");
+                statement.execute("SELECT setval('question_id_seq', GREATEST((SELECT MAX(id) FROM QUESTION), 1))");
+                statement.execute("SELECT setval('answer_id_seq', GREATEST((SELECT MAX(id) FROM ANSWER), 1))");
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE USERS, QUESTION, ANSWER");
+        }
+    }
+
+    private void copy(final Connection connection, final CopyManager copyManager, final String table, final int rows,
+                      final RowWriter writer) throws SQLException, IOException {
+        final String sql = "COPY " + table + " FROM STDIN WITH (FORMAT csv)";
+        final StringBuilder chunk = new StringBuilder();
+        final long start = System.nanoTime();
+        for (int row = 0; row < rows; row++) {
+            writer.write(row, chunk);
+            if ((row + 1) % CHUNK_ROWS == 0 || row == rows - 1) {
+                copyManager.copyIn(sql, new StringReader(chunk.toString()));
+                chunk.setLength(0);
+                LOGGER.info("{}: {} of {} rows", table.substring(0, table.indexOf(' ')), row + 1, rows);
+            }
+        }
+        connection.commit();
+        LOGGER.info("Loaded {} rows in {} ms", rows, (System.nanoTime() - start) / 1000000);
+    }
+
+    private interface RowWriter {
+        void write(int row, StringBuilder out);
+    }
+
+    /**
+     * Picks zero based row indexes with a Zipf distribution, the hot rows scattered over the table.
+     */
+    public static class IndexSampler {
+
+        private final ZipfSampler zipf;
+        private final RankPermutation permutation;
+
+        IndexSampler(final int size, final double skew) {
+            this.zipf = new ZipfSampler(size, skew);
+            this.permutation = new RankPermutation(size);
+        }
+
+        public int sample(final Random random) {
+            return permutation.index(zipf.sample(random) - 1);
+        }
+    }
+}
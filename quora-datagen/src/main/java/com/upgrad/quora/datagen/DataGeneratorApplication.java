@@ -0,0 +1,20 @@
+package com.upgrad.quora.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+/**
+ * Fills a quora database, created with quora-db's quora.sql, with generated data, e.g.
+ * url=jdbc:postgresql://localhost:5432/quora rows=1m. See {@link DataGeneratorSettings} for the settings.
+ */
+public class DataGeneratorApplication {
+
+    public static void main(String[] args) throws Exception {
+        DataGeneratorSettings settings = new DataGeneratorSettings(args);
+        System.out.printf("Generating %d users, %d questions, %d answers%n",
+                settings.getUsers(), settings.getQuestions(), settings.getAnswers());
+        try (Connection connection = DriverManager.getConnection(settings.getUrl(), settings.getUser(), settings.getPassword())) {
+            new DataGenerator(settings).generate(connection);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.upgrad.quora.datagen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Size and shape of the generated data, given as key=value pairs. "rows" scales everything at once: it is the
+ * number of answers, with a question for every 5 answers and a user for every 20. users, questions and answers
+ * override the derived counts, question-skew and user-skew the Zipf exponents of question popularity and user
+ * activity.
+ */
+public class DataGeneratorSettings {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public DataGeneratorSettings(final String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+    }
+
+    public int getRows() {
+        return parseCount(values.getOrDefault("rows", "10000"));
+    }
+
+    public int getUsers() {
+        return values.containsKey("users") ? parseCount(values.get("users")) : Math.max(1, getRows() / 20);
+    }
+
+    public int getQuestions() {
+        return values.containsKey("questions") ? parseCount(values.get("questions")) : Math.max(1, getRows() / 5);
+    }
+
+    public int getAnswers() {
+        return values.containsKey("answers") ? parseCount(values.get("answers")) : getRows();
+    }
+
+    public double getQuestionSkew() {
+        return Double.parseDouble(values.getOrDefault("question-skew", "1.1"));
+    }
+
+    public double getUserSkew() {
+        return Double.parseDouble(values.getOrDefault("user-skew", "1.0"));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    public String getUrl() {
+        return values.getOrDefault("url", "jdbc:postgresql://localhost:5432/quora");
+    }
+
+    public String getUser() {
+        return values.getOrDefault("user", "postgres");
+    }
+
+    public String getPassword() {
+        return values.getOrDefault("password", "password");
+    }
+
+    /**
+     * Parses counts such as 10000, 10k, 1m or 10M.
+     */
+    private static int parseCount(final String value) {
+        String lower = value.trim().toLowerCase();
+        if (lower.endsWith("k")) {
+            return Math.multiplyExact(Integer.parseInt(lower.substring(0, lower.length() - 1)), 1000);
+        }
+        if (lower.endsWith("m")) {
+            return Math.multiplyExact(Integer.parseInt(lower.substring(0, lower.length() - 1)), 1000000);
+        }
+        return Integer.parseInt(lower);
+    }
+}
@@ -0,0 +1,39 @@
+package com.upgrad.quora.datagen;
+
+/**
+ * Bijection from popularity ranks to row indexes, so that the hot rows are scattered over the table instead of
+ * being its first rows.
+ */
+public class RankPermutation {
+
+    private static final long MULTIPLIER_SEED = 2654435761L;
+
+    private final long size;
+    private final long multiplier;
+
+    public RankPermutation(final int size) {
+        this.size = size;
+        long candidate = size > 1 ? MULTIPLIER_SEED % size : 1;
+        while (gcd(candidate, size) != 1) {
+            candidate = candidate % size + 1;
+        }
+        this.multiplier = candidate;
+    }
+
+    /**
+     * @param rank zero based rank
+     * @return zero based row index of the rank
+     */
+    public int index(final int rank) {
+        return (int) ((rank * multiplier) % size);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
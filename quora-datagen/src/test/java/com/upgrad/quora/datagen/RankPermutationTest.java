@@ -0,0 +1,39 @@
+package com.upgrad.quora.datagen;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RankPermutationTest {
+
+    //This test case passes when every rank maps to a distinct row index within the table, for sizes sharing factors with the multiplier or not.
+    @Test
+    public void mapsRanksOneToOneOntoRows() {
+        for (int size : new int[]{1, 2, 3, 6, 10, 97, 1000, 4096, 65_537, 100_003}) {
+            assertBijection(size);
+        }
+    }
+
+    //This test case passes when the hot ranks are scattered instead of being the first rows.
+    @Test
+    public void scattersTheTopRanks() {
+        RankPermutation permutation = new RankPermutation(1000);
+        boolean scattered = false;
+        for (int rank = 1; rank < 10; rank++) {
+            scattered |= permutation.index(rank) != rank;
+        }
+        assertTrue(scattered);
+    }
+
+    private static void assertBijection(final int size) {
+        RankPermutation permutation = new RankPermutation(size);
+        boolean[] seen = new boolean[size];
+        for (int rank = 0; rank < size; rank++) {
+            int index = permutation.index(rank);
+            assertTrue("index " + index + " of rank " + rank + " out of " + size, index >= 0 && index < size);
+            assertFalse("index " + index + " reached twice for size " + size, seen[index]);
+            seen[index] = true;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.upgrad.quora.datagen;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ZipfSamplerTest {
+
+    private static final int SAMPLES = 200_000;
+
+    //This test case passes when the ranks are drawn in proportion to 1 / k^exponent.
+    @Test
+    public void ranksFollowTheZipfDistribution() {
+        assertDistribution(10, 1.0);
+        assertDistribution(50, 1.5);
+        assertDistribution(20, 0.5);
+    }
+
+    //This test case passes when every rank drawn lies between 1 and the number of elements.
+    @Test
+    public void ranksStayInRange() {
+        ZipfSampler sampler = new ZipfSampler(7, 1.2);
+        Random random = new Random(1);
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = sampler.sample(random);
+            assertTrue("rank " + rank, rank >= 1 && rank <= 7);
+        }
+        assertEquals(1, new ZipfSampler(1, 1.0).sample(random));
+    }
+
+    //This test case passes when samplers drawing from equally seeded generators give the same ranks.
+    @Test
+    public void seededSamplingIsDeterministic() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.1);
+        Random first = new Random(42);
+        Random second = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+
+    //This test case passes when a sampler with a non-positive exponent is refused.
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesANonPositiveExponent() {
+        new ZipfSampler(10, 0);
+    }
+
+    private static void assertDistribution(final int numberOfElements, final double exponent) {
+        ZipfSampler sampler = new ZipfSampler(numberOfElements, exponent);
+        Random random = new Random(7);
+        int[] counts = new int[numberOfElements + 1];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        double normalization = 0;
+        for (int k = 1; k <= numberOfElements; k++) {
+            normalization += Math.pow(k, -exponent);
+        }
+        for (int k = 1; k <= numberOfElements; k++) {
+            double expected = Math.pow(k, -exponent) / normalization;
+            assertEquals("rank " + k + " of " + numberOfElements, expected, counts[k] / (double) SAMPLES, 0.005);
+        }
+    }
+}
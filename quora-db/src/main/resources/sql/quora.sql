@@ -1,30 +1,80 @@
 
 --USERS table is created to store the details of all the users
 DROP TABLE IF EXISTS USERS CASCADE;
-CREATE TABLE IF NOT EXISTS USERS(id SERIAL, uuid VARCHAR(200) NOT NULL ,firstName VARCHAR(30) NOT NULL , lastName VARCHAR(30) NOT NULL ,userName VARCHAR(30) UNIQUE NOT NULL,  email VARCHAR(50) UNIQUE NOT NULL ,password VARCHAR(255) NOT NULL, salt VARCHAR(200) NOT NULL ,country VARCHAR(30) ,aboutMe VARCHAR(50),dob VARCHAR(30), role VARCHAR(30),contactNumber VARCHAR(30), PRIMARY KEY (id));
+CREATE TABLE IF NOT EXISTS USERS(id SERIAL, uuid VARCHAR(200) NOT NULL ,firstName VARCHAR(30) NOT NULL , lastName VARCHAR(30) NOT NULL ,userName VARCHAR(30) UNIQUE NOT NULL,  email VARCHAR(50) UNIQUE NOT NULL ,password VARCHAR(255) NOT NULL, salt VARCHAR(200) NOT NULL ,country VARCHAR(30) ,aboutMe VARCHAR(50),dob VARCHAR(30), role VARCHAR(30),contactNumber VARCHAR(30), deleted_at TIMESTAMP NULL, PRIMARY KEY (id));
+--Users deleted by an admin wait in this index until the background purge has removed their data
+CREATE INDEX IF NOT EXISTS IDX_USERS_DELETED_AT ON USERS(deleted_at) WHERE deleted_at IS NOT NULL;
 INSERT INTO users(
 	id, uuid, firstname, lastname, username, email, password, salt, country, aboutme, dob, role, contactnumber)
 	VALUES (1024,'rdtrdtdyt','Abhi','Mahajan','abhi','a@gmail.com','507FF5FED1CAC746','8Xt6jxoCI3MWsVaKY/1ySAp2qzlb2Z7P89+vDrb1o6U=', 'India' ,'I am @ UpGrad' ,'22-10-1995' , 'admin' , '1222333333' );
 
 --USER_AUTH table is created to store the login information of all the users
+--It is partitioned by day on EXPIRES_AT (PostgreSQL 11 or later) so that the sweeper can drop the partitions of
+--long expired sessions. The sweeper creates the daily partitions ahead of time, rows outside of them land in the
+--DEFAULT partition and are deleted in batches, or moved into the partition of their day once it is created.
 DROP TABLE IF EXISTS USER_AUTH CASCADE;
 CREATE TABLE IF NOT EXISTS USER_AUTH(
-	ID BIGSERIAL PRIMARY KEY,
+	ID BIGSERIAL,
 	uuid VARCHAR(200) NOT NULL,
 	USER_ID INTEGER NOT NULL,
 	ACCESS_TOKEN VARCHAR(500) NOT NULL,
 	EXPIRES_AT TIMESTAMP NOT NULL,
 	LOGIN_AT TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-	LOGOUT_AT TIMESTAMP NULL
-);
+	LOGOUT_AT TIMESTAMP NULL,
+	PRIMARY KEY (ID, EXPIRES_AT)
+) PARTITION BY RANGE (EXPIRES_AT);
+CREATE TABLE IF NOT EXISTS USER_AUTH_DEFAULT PARTITION OF USER_AUTH DEFAULT;
 
 ALTER TABLE USER_AUTH ADD CONSTRAINT FK_USER_AUTH_USER_ID FOREIGN KEY(USER_ID) REFERENCES USERS(ID) ON DELETE CASCADE ;
+CREATE INDEX IF NOT EXISTS IDX_USER_AUTH_USER_ID ON USER_AUTH(USER_ID);
+CREATE INDEX IF NOT EXISTS IDX_USER_AUTH_ACCESS_TOKEN ON USER_AUTH(ACCESS_TOKEN);
+CREATE INDEX IF NOT EXISTS IDX_USER_AUTH_LOGOUT_AT ON USER_AUTH(LOGOUT_AT) WHERE LOGOUT_AT IS NOT NULL;
+
+--USER_AUTH_ARCHIVE table keeps the swept sessions when the sweeper is configured to archive instead of delete
+DROP TABLE IF EXISTS USER_AUTH_ARCHIVE CASCADE;
+CREATE TABLE IF NOT EXISTS USER_AUTH_ARCHIVE(
+	ID BIGINT NOT NULL,
+	uuid VARCHAR(200) NOT NULL,
+	USER_ID INTEGER NOT NULL,
+	ACCESS_TOKEN VARCHAR(500) NOT NULL,
+	EXPIRES_AT TIMESTAMP NOT NULL,
+	LOGIN_AT TIMESTAMP NOT NULL,
+	LOGOUT_AT TIMESTAMP NULL,
+	ARCHIVED_AT TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
 
 --QUESTION table is created to store the questions related information posted by any user in the Application
 DROP TABLE IF EXISTS QUESTION CASCADE;
-CREATE TABLE IF NOT EXISTS QUESTION(id SERIAL,uuid VARCHAR(200) NOT NULL, content VARCHAR(500) NOT NULL, date TIMESTAMP NOT NULL , user_id INTEGER NOT NULL, PRIMARY KEY(id), FOREIGN KEY (user_id) REFERENCES USERS(id) ON DELETE CASCADE);
+CREATE TABLE IF NOT EXISTS QUESTION(id SERIAL,uuid VARCHAR(200) NOT NULL, content VARCHAR(500) NOT NULL, date TIMESTAMP NOT NULL , user_id INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(id), FOREIGN KEY (user_id) REFERENCES USERS(id) ON DELETE CASCADE);
+--The questions of a user are listed newest first in (date, id) order
+CREATE INDEX IF NOT EXISTS IDX_QUESTION_USER_ID ON QUESTION(user_id, date DESC, id DESC);
+--The latest questions are listed newest first in (date, id) order
+CREATE INDEX IF NOT EXISTS IDX_QUESTION_DATE_ID ON QUESTION(date DESC, id DESC);
 
 
 --ANSWER table is created to store the answers related information in reply to any question posted in the Application
 DROP TABLE IF EXISTS ANSWER CASCADE;
-CREATE TABLE IF NOT EXISTS ANSWER(id SERIAL,uuid VARCHAR(200) NOT NULL, ans VARCHAR(255) NOT NULL,date TIMESTAMP NOT NULL , user_id INTEGER NOT NULL, question_id INTEGER NOT NULL , PRIMARY KEY(id), FOREIGN KEY (user_id) REFERENCES USERS(id) ON DELETE CASCADE, FOREIGN KEY (question_id) REFERENCES QUESTION(id) ON DELETE CASCADE);
+CREATE TABLE IF NOT EXISTS ANSWER(id SERIAL,uuid VARCHAR(200) NOT NULL, ans VARCHAR(255) NOT NULL,date TIMESTAMP NOT NULL , user_id INTEGER NOT NULL, question_id INTEGER NOT NULL , version INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(id), FOREIGN KEY (user_id) REFERENCES USERS(id) ON DELETE CASCADE, FOREIGN KEY (question_id) REFERENCES QUESTION(id) ON DELETE CASCADE);
+CREATE INDEX IF NOT EXISTS IDX_ANSWER_USER_ID ON ANSWER(user_id);
+--Answers to a question are listed in (date, id) order, a page at a time
+CREATE INDEX IF NOT EXISTS IDX_ANSWER_QUESTION_DATE_ID ON ANSWER(question_id, date, id);
+
+--FEED_ENTRY table is the activity feed of each user, appended to when the user posts a question and when one of their
+--questions is answered, in the same transaction. Feeds are read newest first by keyset on (user_id, id).
+DROP TABLE IF EXISTS FEED_ENTRY CASCADE;
+CREATE TABLE IF NOT EXISTS FEED_ENTRY(id BIGSERIAL, user_id INTEGER NOT NULL, type VARCHAR(30) NOT NULL, question_id INTEGER NOT NULL, answer_id INTEGER NULL, created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY(id), FOREIGN KEY (user_id) REFERENCES USERS(id) ON DELETE CASCADE, FOREIGN KEY (question_id) REFERENCES QUESTION(id) ON DELETE CASCADE, FOREIGN KEY (answer_id) REFERENCES ANSWER(id) ON DELETE CASCADE);
+CREATE INDEX IF NOT EXISTS IDX_FEED_ENTRY_USER_ID ON FEED_ENTRY(user_id, id DESC);
+CREATE INDEX IF NOT EXISTS IDX_FEED_ENTRY_QUESTION_ID ON FEED_ENTRY(question_id);
+CREATE INDEX IF NOT EXISTS IDX_FEED_ENTRY_ANSWER_ID ON FEED_ENTRY(answer_id);
+
+--OUTBOX_EVENT table records every change to users, questions and answers in the transaction making the change. Each
+--instance relays the events to its in-process consumers in id order, keeping its own position; events are deleted
+--once they are older than the retention period.
+DROP TABLE IF EXISTS OUTBOX_EVENT CASCADE;
+CREATE TABLE IF NOT EXISTS OUTBOX_EVENT(id BIGSERIAL, event_type VARCHAR(50) NOT NULL, aggregate_id VARCHAR(200) NOT NULL, payload TEXT NOT NULL, created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY(id));
+CREATE INDEX IF NOT EXISTS IDX_OUTBOX_EVENT_CREATED_AT ON OUTBOX_EVENT(created_at);
+
+--OUTBOX_DEAD_LETTER table keeps a copy of each outbox event the relay gave up on, because it could not be read or a
+--consumer kept failing on it, so that it can be inspected and replayed; the relay moves on past it.
+DROP TABLE IF EXISTS OUTBOX_DEAD_LETTER CASCADE;
+CREATE TABLE IF NOT EXISTS OUTBOX_DEAD_LETTER(event_id BIGINT NOT NULL, event_type VARCHAR(50) NOT NULL, aggregate_id VARCHAR(200) NOT NULL, payload TEXT NOT NULL, created_at TIMESTAMP NOT NULL, attempts INTEGER NOT NULL, error VARCHAR(1000) NOT NULL, parked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY(event_id));
@@ -22,7 +22,13 @@ insert into user_auth (id , uuid , user_id , access_token , expires_at , login_a
 
 --Insert values in QUESTION table
 insert into question (id,uuid,content,date,user_id) values(1024,'database_question_uuid','database_question_content','2018-09-17 19:41:19.593',1026);
+insert into question (id,uuid,content,date,user_id) values(1025,'database_same_day_question_uuid','database_same_day_question_content','2018-09-18 08:00:00',1027);
 
 
 --Insert values in ANSWER table
 insert into answer(id,uuid,ans,date,user_id,question_id) values (1024,'database_answer_uuid','my_answer','2018-09-17 19:41:19.593',1026,1024);
+--Answers given on the same day, their ids out of the order of their times
+insert into answer(id,uuid,ans,date,user_id,question_id) values (1025,'database_same_day_answer_uuid','evening_answer','2018-09-18 18:00:00',1027,1025);
+insert into answer(id,uuid,ans,date,user_id,question_id) values (1026,'database_same_day_answer_uuid1','morning_answer','2018-09-18 09:00:00',1027,1025);
+insert into answer(id,uuid,ans,date,user_id,question_id) values (1027,'database_same_day_answer_uuid2','noon_answer','2018-09-18 12:00:00',1027,1025);
+insert into answer(id,uuid,ans,date,user_id,question_id) values (1028,'database_same_day_answer_uuid3','second_morning_answer','2018-09-18 09:00:00',1027,1025);
@@ -0,0 +1,42 @@
+package com.upgrad.quora.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes the access token of each call from its "authorization" metadata, with or without the "Bearer " prefix like
+ * the REST API, and makes it available to the services through {@link #accessToken()}. The token is checked by the
+ * services with UserBusinessService.getCurrentUser, so that a call fails with the same error code as the matching
+ * REST endpoint.
+ */
+@Component
+public class AccessTokenInterceptor implements ServerInterceptor {
+
+    private static final Metadata.Key<String> AUTHORIZATION = Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Context.Key<String> ACCESS_TOKEN = Context.key("quora-access-token");
+
+    /**
+     * @return access token of the current call, empty if the call carries none
+     */
+    public static String accessToken() {
+        return StringUtils.defaultString(ACCESS_TOKEN.get());
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null) {
+            return next.startCall(call, headers);
+        }
+        String token = authorization.contains("Bearer ") ? StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+        return Contexts.interceptCall(Context.current().withValue(ACCESS_TOKEN, token), call, headers, next);
+    }
+}
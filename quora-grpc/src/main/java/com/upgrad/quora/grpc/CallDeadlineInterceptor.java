@@ -0,0 +1,62 @@
+package com.upgrad.quora.grpc;
+
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import com.upgrad.quora.service.deadline.RequestTimeouts;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives each call the {@link RequestDeadline} a REST request would get: the timeout of the quora.deadline group
+ * matching "/" followed by the full method name, such as "/quora.v1.AnswerService/ListAnswers", shortened by the
+ * deadline of the client if it set one. A client cannot lengthen the timeout of the group, and a call without a
+ * deadline of its own still has one. The services bind it to the thread running the call through
+ * {@link #callDeadline()}.
+ */
+@Component
+public class CallDeadlineInterceptor implements ServerInterceptor {
+
+    private static final Context.Key<RequestDeadline> CALL_DEADLINE = Context.key("quora-call-deadline");
+
+    private final RequestTimeouts timeouts;
+
+    @Autowired
+    public CallDeadlineInterceptor(final RequestTimeouts timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    /**
+     * @return deadline of the current call, null if it has none
+     */
+    public static RequestDeadline callDeadline() {
+        return CALL_DEADLINE.get();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        final long groupTimeoutMillis = timeouts.isEnabled()
+                ? timeouts.groupTimeoutMillis("/" + call.getMethodDescriptor().getFullMethodName()) : 0;
+        long timeoutMillis = groupTimeoutMillis;
+        final Deadline deadline = Context.current().getDeadline();
+        if (deadline != null) {
+            final long clientTimeoutMillis = Math.max(1, deadline.timeRemaining(TimeUnit.MILLISECONDS));
+            if (timeoutMillis <= 0 || clientTimeoutMillis < timeoutMillis) {
+                timeoutMillis = clientTimeoutMillis;
+            }
+        }
+        if (timeoutMillis <= 0) {
+            return next.startCall(call, headers);
+        }
+        final RequestDeadline callDeadline = RequestDeadline.of(timeoutMillis, groupTimeoutMillis);
+        return Contexts.interceptCall(Context.current().withValue(CALL_DEADLINE, callDeadline), call, headers, next);
+    }
+}
@@ -0,0 +1,15 @@
+package com.upgrad.quora.grpc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enabling the component scan of the gRPC server and services in "com.upgrad.quora.grpc". Importing this class runs the
+ * gRPC server on quora.grpc.port next to the web server of the application; quora.grpc.enabled=false leaves it out.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "quora.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ComponentScan("com.upgrad.quora.grpc")
+public class GrpcConfiguration {
+}
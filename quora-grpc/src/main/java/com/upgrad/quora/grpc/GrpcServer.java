@@ -0,0 +1,119 @@
+package com.upgrad.quora.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC services on their own port, started after and stopped before the rest of the application context.
+ * Calls run on a fixed pool of quora.grpc.threads threads: the services block on the database, so the pool bounds the
+ * connections gRPC calls can hold, as the Tomcat worker pool does for the REST API.
+ */
+@Component
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GrpcServer.class);
+
+    @Autowired
+    private List<BindableService> services;
+
+    @Autowired
+    private AccessTokenInterceptor accessTokenInterceptor;
+
+    @Autowired
+    private CallDeadlineInterceptor callDeadlineInterceptor;
+
+    @Value("${quora.grpc.port:9090}")
+    private int port;
+
+    @Value("${quora.grpc.threads:32}")
+    private int threads;
+
+    @Value("${quora.grpc.shutdown-grace-seconds:10}")
+    private long shutdownGraceSeconds;
+
+    private volatile Server server;
+
+    private ExecutorService executor;
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("quora-grpc-"));
+        NettyServerBuilder builder = NettyServerBuilder.forPort(port).executor(executor);
+        for (BindableService service : services) {
+            builder.addService(ServerInterceptors.intercept(service, accessTokenInterceptor, callDeadlineInterceptor));
+        }
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("gRPC server could not listen on port " + port, e);
+        }
+        LOGGER.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    /**
+     * Started last and stopped first, so that no call arrives before the services are ready or after they are gone
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return port the server listens on, the one chosen by the system if quora.grpc.port is 0
+     */
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,123 @@
+package com.upgrad.quora.grpc.service;
+
+import com.google.protobuf.Int32Value;
+import com.upgrad.quora.grpc.proto.Answer;
+import com.upgrad.quora.grpc.proto.AnswerServiceGrpc;
+import com.upgrad.quora.grpc.proto.AnswerStatus;
+import com.upgrad.quora.grpc.proto.CreateAnswerRequest;
+import com.upgrad.quora.grpc.proto.DeleteAnswerRequest;
+import com.upgrad.quora.grpc.proto.EditAnswerRequest;
+import com.upgrad.quora.grpc.proto.ListAnswersRequest;
+import com.upgrad.quora.service.business.AnswerBusinessService;
+import com.upgrad.quora.service.business.AnswerPage;
+import com.upgrad.quora.service.business.QuestionService;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import com.upgrad.quora.service.exception.InvalidQuestionException;
+import io.grpc.stub.StreamObserver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.upgrad.quora.grpc.AccessTokenInterceptor.accessToken;
+import static com.upgrad.quora.service.constants.ErrorConditions.ANS_CREATE_QUES_NOT_FOUND;
+import static com.upgrad.quora.service.constants.ErrorConditions.ANS_GET_QUES_NOT_FOUND;
+
+/**
+ * The answer operations of AnswerController over gRPC.
+ */
+@Component
+public class AnswerGrpcService extends AnswerServiceGrpc.AnswerServiceImplBase {
+
+    @Autowired
+    private AnswerBusinessService answerBusinessService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserBusinessService userBusinessService;
+
+    @Autowired
+    private GrpcCalls grpcCalls;
+
+    @Override
+    public void createAnswer(CreateAnswerRequest request, StreamObserver<AnswerStatus> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            AnswerEntity answerEntity = new AnswerEntity();
+            answerEntity.setAns(request.getAnswer());
+            answerEntity.setDate(LocalDateTime.now());
+            answerEntity.setUuid(UUID.randomUUID().toString());
+            answerEntity.setUser(userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.CREATE_ANSWER));
+            QuestionEntity question;
+            try {
+                question = questionService.getQuestion(request.getQuestionId());
+            } catch (InvalidQuestionException iqe) {
+                throw new InvalidQuestionException(ANS_CREATE_QUES_NOT_FOUND.getCode(), ANS_CREATE_QUES_NOT_FOUND.getMessage());
+            }
+            answerEntity.setQuestion(question);
+            AnswerEntity createdAnswer = answerBusinessService.createAnswer(answerEntity);
+            return AnswerStatus.newBuilder()
+                    .setId(createdAnswer.getUuid())
+                    .setStatus(com.upgrad.quora.service.constants.AnswerStatus.ANSWER_CREATED.getTextStatus())
+                    .setVersion(Int32Value.newBuilder().setValue(createdAnswer.getVersion()).build())
+                    .build();
+        });
+    }
+
+    @Override
+    public void editAnswer(EditAnswerRequest request, StreamObserver<AnswerStatus> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity user = userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.EDIT_ANSWER);
+            Integer expectedVersion = request.hasExpectedVersion() ? request.getExpectedVersion().getValue() : null;
+            String answerId = answerBusinessService.editAnswer(request.getAnswerId(), request.getContent(), user, expectedVersion);
+            AnswerStatus.Builder response = AnswerStatus.newBuilder()
+                    .setId(answerId)
+                    .setStatus(com.upgrad.quora.service.constants.AnswerStatus.ANSWER_EDITED.getTextStatus());
+            if (expectedVersion != null) {
+                response.setVersion(Int32Value.newBuilder().setValue(expectedVersion + 1).build());
+            }
+            return response.build();
+        });
+    }
+
+    @Override
+    public void deleteAnswer(DeleteAnswerRequest request, StreamObserver<AnswerStatus> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity user = userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.DELETE_ANSWER);
+            String answerId = answerBusinessService.deleteAnswer(request.getAnswerId(), user);
+            return AnswerStatus.newBuilder()
+                    .setId(answerId)
+                    .setStatus(com.upgrad.quora.service.constants.AnswerStatus.ANSWER_DELETED.getTextStatus())
+                    .build();
+        });
+    }
+
+    /**
+     * Streams the answers page by page, so the first answers are on their way before the last ones are read and a
+     * cancelled call stops reading at the next answer
+     */
+    @Override
+    public void listAnswers(ListAnswersRequest request, StreamObserver<Answer> responseObserver) {
+        grpcCalls.streaming(responseObserver, next -> {
+            userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.GET_ALL_ANSWER);
+            String cursor = request.getCursor();
+            do {
+                AnswerPage answerPage;
+                try {
+                    answerPage = answerBusinessService.getAnswerPage(request.getQuestionId(), cursor, Integer.MAX_VALUE);
+                } catch (InvalidQuestionException iqe) {
+                    throw new InvalidQuestionException(ANS_GET_QUES_NOT_FOUND.getCode(), ANS_GET_QUES_NOT_FOUND.getMessage());
+                }
+                answerPage.getAnswers().forEach(answer ->
+                        next.accept(Answer.newBuilder().setId(answer.getUuid()).setContent(answer.getContent()).build()));
+                cursor = answerPage.getNextCursor();
+            } while (cursor != null);
+        });
+    }
+}
@@ -0,0 +1,195 @@
+package com.upgrad.quora.grpc.service;
+
+import com.upgrad.quora.grpc.CallDeadlineInterceptor;
+import com.upgrad.quora.service.cache.StaleReadCache;
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.common.ServiceUnavailableException;
+import com.upgrad.quora.service.common.UnexpectedException;
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import com.upgrad.quora.service.exception.AnswerNotFoundException;
+import com.upgrad.quora.service.exception.AuthenticationFailedException;
+import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.EditConflictException;
+import com.upgrad.quora.service.exception.InvalidCursorException;
+import com.upgrad.quora.service.exception.InvalidQuestionException;
+import com.upgrad.quora.service.exception.SignOutRestrictedException;
+import com.upgrad.quora.service.exception.SignUpRestrictedException;
+import com.upgrad.quora.service.exception.UserNotFoundException;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs the body of a call and completes its observer, translating the service exceptions to the gRPC status matching
+ * the HTTP status RestExceptionHandler gives them, with the error code in the "error-code" trailer. The deadline
+ * {@link CallDeadlineInterceptor} gives the call bounds the database queries of the body as a {@link RequestDeadline}.
+ * The staleness the {@link StaleReadCache} records for the body is not reported over gRPC and is cleared once the body
+ * returns.
+ */
+@Component
+final class GrpcCalls {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GrpcCalls.class);
+
+    static final Metadata.Key<String> ERROR_CODE = Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final long READY_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @FunctionalInterface
+    interface UnaryBody<T> {
+        T call() throws Exception;
+    }
+
+    @FunctionalInterface
+    interface StreamingBody<T> {
+        void call(Consumer<T> next) throws Exception;
+    }
+
+    private final long maxNotReadyNanos;
+
+    @Autowired
+    GrpcCalls(@Value("${quora.grpc.max-not-ready-ms:10000}") final long maxNotReadyMillis) {
+        this.maxNotReadyNanos = TimeUnit.MILLISECONDS.toNanos(maxNotReadyMillis);
+    }
+
+    <T> void unary(final StreamObserver<T> observer, final UnaryBody<T> body) {
+        final T response;
+        final boolean bound = beginDeadline();
+        try {
+            response = body.call();
+        } catch (Exception e) {
+            observer.onError(toStatusException(e));
+            return;
+        } finally {
+            endDeadline(bound);
+        }
+        observer.onNext(response);
+        observer.onCompleted();
+    }
+
+    /**
+     * Method sends the messages of a server-streaming call as the body produces them, and stops producing them once
+     * the client has cancelled the call. A message is only sent once the call is ready for it, so a slow client holds
+     * the body back instead of having the messages buffered for it. The body blocks the serialized executor of the
+     * call, which would also run an onReady handler, so readiness is polled every READY_POLL_NANOS instead. A client
+     * that stops reading holds the body, and one of the threads of the server, until the call is cancelled, its
+     * deadline passes or it has not been ready for quora.grpc.max-not-ready-ms, whichever comes first.
+     */
+    <T> void streaming(final StreamObserver<T> observer, final StreamingBody<T> body) {
+        final ServerCallStreamObserver<T> callObserver = (ServerCallStreamObserver<T>) observer;
+        final boolean bound = beginDeadline();
+        try {
+            body.call(message -> {
+                awaitReady(callObserver);
+                callObserver.onNext(message);
+            });
+        } catch (Exception e) {
+            if (!callObserver.isCancelled()) {
+                callObserver.onError(toStatusException(e));
+            }
+            return;
+        } finally {
+            endDeadline(bound);
+        }
+        callObserver.onCompleted();
+    }
+
+    private void awaitReady(final ServerCallStreamObserver<?> callObserver) {
+        final long notReadySince = System.nanoTime();
+        while (true) {
+            if (callObserver.isCancelled()) {
+                throw Status.CANCELLED.withDescription("Call cancelled by the client").asRuntimeException();
+            }
+            if (callObserver.isReady()) {
+                return;
+            }
+            final RequestDeadline deadline = RequestDeadline.current();
+            if (deadline != null && deadline.remainingMillis() <= 0) {
+                throw Status.DEADLINE_EXCEEDED.withDescription("Call deadline of " + deadline.getTimeoutMillis()
+                        + " ms exceeded while the client was not reading").asRuntimeException();
+            }
+            if (System.nanoTime() - notReadySince > maxNotReadyNanos) {
+                throw Status.CANCELLED.withDescription("Client not ready for "
+                        + TimeUnit.NANOSECONDS.toMillis(maxNotReadyNanos) + " ms").asRuntimeException();
+            }
+            LockSupport.parkNanos(READY_POLL_NANOS);
+            if (Thread.currentThread().isInterrupted()) {
+                throw Status.CANCELLED.withDescription("Call interrupted").asRuntimeException();
+            }
+        }
+    }
+
+    private static boolean beginDeadline() {
+        final RequestDeadline deadline = CallDeadlineInterceptor.callDeadline();
+        if (deadline == null) {
+            return false;
+        }
+        RequestDeadline.attach(deadline);
+        return true;
+    }
+
+    private static void endDeadline(final boolean bound) {
+        StaleReadCache.clearStaleness();
+        if (bound) {
+            RequestDeadline.end();
+        }
+    }
+
+    private static StatusRuntimeException toStatusException(final Exception exception) {
+        if (exception instanceof StatusRuntimeException) {
+            return (StatusRuntimeException) exception;
+        } else if (exception instanceof AuthorizationFailedException) {
+            AuthorizationFailedException e = (AuthorizationFailedException) exception;
+            return error(Status.PERMISSION_DENIED, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof AuthenticationFailedException) {
+            AuthenticationFailedException e = (AuthenticationFailedException) exception;
+            return error(Status.UNAUTHENTICATED, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof SignOutRestrictedException) {
+            SignOutRestrictedException e = (SignOutRestrictedException) exception;
+            return error(Status.UNAUTHENTICATED, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof UserNotFoundException) {
+            UserNotFoundException e = (UserNotFoundException) exception;
+            return error(Status.NOT_FOUND, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof InvalidQuestionException) {
+            InvalidQuestionException e = (InvalidQuestionException) exception;
+            return error(Status.NOT_FOUND, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof AnswerNotFoundException) {
+            AnswerNotFoundException e = (AnswerNotFoundException) exception;
+            return error(Status.NOT_FOUND, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof EditConflictException) {
+            EditConflictException e = (EditConflictException) exception;
+            return error(Status.FAILED_PRECONDITION, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof InvalidCursorException) {
+            InvalidCursorException e = (InvalidCursorException) exception;
+            return error(Status.INVALID_ARGUMENT, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof SignUpRestrictedException) {
+            SignUpRestrictedException e = (SignUpRestrictedException) exception;
+            return error(Status.ALREADY_EXISTS, e.getCode(), e.getErrorMessage());
+        } else if (exception instanceof ServiceUnavailableException) {
+            ServiceUnavailableException e = (ServiceUnavailableException) exception;
+            return error(Status.UNAVAILABLE, e.getErrorCode().getCode(), e.getMessage());
+        } else if (exception instanceof UnexpectedException) {
+            UnexpectedException e = (UnexpectedException) exception;
+            return error(Status.INTERNAL, e.getErrorCode().getCode(), e.getMessage());
+        }
+        LOGGER.error("gRPC call failed", exception);
+        return error(Status.INTERNAL, GenericErrorCode.GEN_001.getCode(), GenericErrorCode.GEN_001.getDefaultMessage());
+    }
+
+    private static StatusRuntimeException error(final Status status, final String code, final String message) {
+        Metadata trailers = new Metadata();
+        trailers.put(ERROR_CODE, code);
+        return status.withDescription(message).asRuntimeException(trailers);
+    }
+}
@@ -0,0 +1,120 @@
+package com.upgrad.quora.grpc.service;
+
+import com.google.protobuf.Int32Value;
+import com.upgrad.quora.grpc.proto.CreateQuestionRequest;
+import com.upgrad.quora.grpc.proto.DeleteQuestionRequest;
+import com.upgrad.quora.grpc.proto.EditQuestionRequest;
+import com.upgrad.quora.grpc.proto.ListQuestionsRequest;
+import com.upgrad.quora.grpc.proto.ListTrendingQuestionsRequest;
+import com.upgrad.quora.grpc.proto.ListUserQuestionsRequest;
+import com.upgrad.quora.grpc.proto.Question;
+import com.upgrad.quora.grpc.proto.QuestionServiceGrpc;
+import com.upgrad.quora.grpc.proto.QuestionStatus;
+import com.upgrad.quora.grpc.proto.TrendingQuestion;
+import com.upgrad.quora.service.business.QuestionService;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import io.grpc.stub.StreamObserver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.upgrad.quora.grpc.AccessTokenInterceptor.accessToken;
+
+/**
+ * The question operations of QuestionController over gRPC.
+ */
+@Component
+public class QuestionGrpcService extends QuestionServiceGrpc.QuestionServiceImplBase {
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserBusinessService userBusinessService;
+
+    @Autowired
+    private GrpcCalls grpcCalls;
+
+    @Override
+    public void createQuestion(CreateQuestionRequest request, StreamObserver<QuestionStatus> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity user = userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.CREATE_QUESTION);
+            QuestionEntity question = new QuestionEntity();
+            question.setContent(request.getContent());
+            question.setDate(LocalDate.now());
+            question.setUuid(UUID.randomUUID().toString());
+            question.setUser(user);
+            question = questionService.createQuestion(question);
+            return QuestionStatus.newBuilder()
+                    .setId(question.getUuid())
+                    .setStatus(com.upgrad.quora.service.constants.QuestionStatus.QUESTION_CREATED.getStatus())
+                    .setVersion(Int32Value.newBuilder().setValue(question.getVersion()).build())
+                    .build();
+        });
+    }
+
+    @Override
+    public void editQuestion(EditQuestionRequest request, StreamObserver<QuestionStatus> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity user = userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.EDIT_QUESTION);
+            Integer expectedVersion = request.hasExpectedVersion() ? request.getExpectedVersion().getValue() : null;
+            String questionId = questionService.editQuestion(request.getQuestionId(), request.getContent(), user, expectedVersion);
+            QuestionStatus.Builder response = QuestionStatus.newBuilder()
+                    .setId(questionId)
+                    .setStatus(com.upgrad.quora.service.constants.QuestionStatus.QUESTION_EDITED.getStatus());
+            if (expectedVersion != null) {
+                response.setVersion(Int32Value.newBuilder().setValue(expectedVersion + 1).build());
+            }
+            return response.build();
+        });
+    }
+
+    @Override
+    public void deleteQuestion(DeleteQuestionRequest request, StreamObserver<QuestionStatus> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity user = userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.DELETE_QUESTION);
+            String questionId = questionService.deleteQuestion(request.getQuestionId(), user);
+            return QuestionStatus.newBuilder()
+                    .setId(questionId)
+                    .setStatus(com.upgrad.quora.service.constants.QuestionStatus.QUESTION_DELETED.getStatus())
+                    .build();
+        });
+    }
+
+    @Override
+    public void listQuestions(ListQuestionsRequest request, StreamObserver<Question> responseObserver) {
+        grpcCalls.streaming(responseObserver, next -> {
+            userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.GET_ALL_QUESTIONS);
+            questionService.getAllQuestions().forEach(question -> next.accept(toQuestion(question)));
+        });
+    }
+
+    @Override
+    public void listUserQuestions(ListUserQuestionsRequest request, StreamObserver<Question> responseObserver) {
+        grpcCalls.streaming(responseObserver, next -> {
+            UserEntity user = userBusinessService.getUser(request.getUserId(), accessToken(), GetCurrentUserAction.GET_ALL_QUESTIONS_BY_USER);
+            questionService.getUserQuestions(user).forEach(question -> next.accept(toQuestion(question)));
+        });
+    }
+
+    @Override
+    public void listTrendingQuestions(ListTrendingQuestionsRequest request, StreamObserver<TrendingQuestion> responseObserver) {
+        grpcCalls.streaming(responseObserver, next -> {
+            userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.GET_TRENDING_QUESTIONS);
+            questionService.getTrendingQuestions().forEach(question -> next.accept(TrendingQuestion.newBuilder()
+                    .setId(question.getQuestionUuid())
+                    .setContent(question.getQuestionContent())
+                    .setScore(question.getScore())
+                    .build()));
+        });
+    }
+
+    private static Question toQuestion(final QuestionEntity question) {
+        return Question.newBuilder().setId(question.getUuid()).setContent(question.getContent()).build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.upgrad.quora.grpc.service;
+
+import com.google.protobuf.Timestamp;
+import com.upgrad.quora.grpc.proto.DeleteUserRequest;
+import com.upgrad.quora.grpc.proto.DeleteUserResponse;
+import com.upgrad.quora.grpc.proto.FeedEntry;
+import com.upgrad.quora.grpc.proto.GetUserProfileRequest;
+import com.upgrad.quora.grpc.proto.GetUserPurgeStatusRequest;
+import com.upgrad.quora.grpc.proto.ListFeedRequest;
+import com.upgrad.quora.grpc.proto.SignInRequest;
+import com.upgrad.quora.grpc.proto.SignInResponse;
+import com.upgrad.quora.grpc.proto.SignOutRequest;
+import com.upgrad.quora.grpc.proto.SignOutResponse;
+import com.upgrad.quora.grpc.proto.SignUpRequest;
+import com.upgrad.quora.grpc.proto.SignUpResponse;
+import com.upgrad.quora.grpc.proto.UserProfile;
+import com.upgrad.quora.grpc.proto.UserPurgeStatus;
+import com.upgrad.quora.grpc.proto.UserServiceGrpc;
+import com.upgrad.quora.service.business.FeedPage;
+import com.upgrad.quora.service.business.FeedService;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.business.UserPurgeProgress;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import com.upgrad.quora.service.constants.UserStatus;
+import com.upgrad.quora.service.entity.FeedEntryEntity;
+import com.upgrad.quora.service.entity.UserAuthEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static com.upgrad.quora.grpc.AccessTokenInterceptor.accessToken;
+
+/**
+ * The user operations of UserController, CommonController and AdminController over gRPC.
+ */
+@Component
+public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+
+    @Autowired
+    private UserBusinessService userBusinessService;
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private GrpcCalls grpcCalls;
+
+    @Override
+    public void signUp(SignUpRequest request, StreamObserver<SignUpResponse> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity newUser = new UserEntity();
+            newUser.setFirstName(request.getFirstName());
+            newUser.setLastName(request.getLastName());
+            newUser.setUserName(request.getUserName());
+            newUser.setEmail(request.getEmailAddress());
+            newUser.setPassword(request.getPassword());
+            newUser.setCountry(request.getCountry());
+            newUser.setAboutMe(request.getAboutMe());
+            newUser.setDob(request.getDob());
+            newUser.setContactNumber(request.getContactNumber());
+            newUser.setRole("nonadmin");
+            newUser.setUuid(UUID.randomUUID().toString());
+            newUser.setSalt("quora123");
+            UserEntity createdUser = userBusinessService.registerUser(newUser);
+            return SignUpResponse.newBuilder()
+                    .setId(createdUser.getUuid())
+                    .setStatus(UserStatus.USER_REGISTERED.getStatus())
+                    .build();
+        });
+    }
+
+    @Override
+    public void signIn(SignInRequest request, StreamObserver<SignInResponse> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserAuthEntity userAuthEntity = userBusinessService.authenticateUser(request.getUserName(), request.getPassword());
+            return SignInResponse.newBuilder()
+                    .setId(userAuthEntity.getUuid())
+                    .setAccessToken(userAuthEntity.getAccessToken())
+                    .setMessage(UserStatus.SIGNIN_SUCCESSFUL.getStatus())
+                    .build();
+        });
+    }
+
+    @Override
+    public void signOut(SignOutRequest request, StreamObserver<SignOutResponse> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity userEntity = userBusinessService.signoutUser(accessToken());
+            return SignOutResponse.newBuilder()
+                    .setId(userEntity.getUuid())
+                    .setMessage(UserStatus.SIGNOUT_SUCCESSFUL.getStatus())
+                    .build();
+        });
+    }
+
+    @Override
+    public void getUserProfile(GetUserProfileRequest request, StreamObserver<UserProfile> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserEntity userEntity = userBusinessService.getUser(request.getUserId(), accessToken(), GetCurrentUserAction.GET_USER_DETAILS);
+            return UserProfile.newBuilder()
+                    .setFirstName(StringUtils.defaultString(userEntity.getFirstName()))
+                    .setLastName(StringUtils.defaultString(userEntity.getLastName()))
+                    .setUserName(StringUtils.defaultString(userEntity.getUserName()))
+                    .setEmailAddress(StringUtils.defaultString(userEntity.getEmail()))
+                    .setCountry(StringUtils.defaultString(userEntity.getCountry()))
+                    .setAboutMe(StringUtils.defaultString(userEntity.getAboutMe()))
+                    .setDob(StringUtils.defaultString(userEntity.getDob()))
+                    .setContactNumber(StringUtils.defaultString(userEntity.getContactNumber()))
+                    .build();
+        });
+    }
+
+    @Override
+    public void deleteUser(DeleteUserRequest request, StreamObserver<DeleteUserResponse> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            String deletedUserId = userBusinessService.deleteUser(request.getUserId(), accessToken());
+            return DeleteUserResponse.newBuilder()
+                    .setId(deletedUserId)
+                    .setStatus(UserStatus.USER_DELETION_SCHEDULED.getStatus())
+                    .build();
+        });
+    }
+
+    @Override
+    public void getUserPurgeStatus(GetUserPurgeStatusRequest request, StreamObserver<UserPurgeStatus> responseObserver) {
+        grpcCalls.unary(responseObserver, () -> {
+            UserPurgeProgress progress = userBusinessService.getUserPurgeProgress(request.getUserId(), accessToken());
+            return UserPurgeStatus.newBuilder()
+                    .setId(progress.getUserUuid())
+                    .setStatus(progress.getState().name())
+                    .setAnswersDeleted(progress.getAnswersDeleted())
+                    .setQuestionsDeleted(progress.getQuestionsDeleted())
+                    .setAccessTokensDeleted(progress.getAuthTokensDeleted())
+                    .build();
+        });
+    }
+
+    /**
+     * Streams the feed page by page, so the newest entries are on their way before the oldest ones are read and a
+     * cancelled call stops reading at the next entry
+     */
+    @Override
+    public void listFeed(ListFeedRequest request, StreamObserver<FeedEntry> responseObserver) {
+        grpcCalls.streaming(responseObserver, next -> {
+            UserEntity userEntity = userBusinessService.getCurrentUser(accessToken(), GetCurrentUserAction.GET_FEED);
+            String cursor = request.getCursor();
+            do {
+                FeedPage feedPage = feedService.getFeed(userEntity, cursor, Integer.MAX_VALUE);
+                feedPage.getEntries().forEach(feedEntry -> next.accept(toFeedEntry(feedEntry)));
+                cursor = feedPage.getNextCursor();
+            } while (cursor != null);
+        });
+    }
+
+    private static FeedEntry toFeedEntry(final FeedEntryEntity feedEntry) {
+        Instant createdAt = feedEntry.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+        FeedEntry.Builder entry = FeedEntry.newBuilder()
+                .setType(feedEntry.getType().name())
+                .setQuestionId(feedEntry.getQuestion().getUuid())
+                .setQuestionContent(feedEntry.getQuestion().getContent())
+                .setCreatedAt(Timestamp.newBuilder().setSeconds(createdAt.getEpochSecond()).setNanos(createdAt.getNano()));
+        if (feedEntry.getAnswer() != null) {
+            entry.setAnswerId(feedEntry.getAnswer().getUuid()).setAnswerContent(feedEntry.getAnswer().getAns());
+        }
+        return entry.build();
+    }
+}
@@ -0,0 +1,284 @@
+package com.upgrad.quora.grpc.service;
+
+import com.upgrad.quora.grpc.AccessTokenInterceptor;
+import com.upgrad.quora.grpc.CallDeadlineInterceptor;
+import com.upgrad.quora.grpc.proto.Answer;
+import com.upgrad.quora.grpc.proto.AnswerServiceGrpc;
+import com.upgrad.quora.grpc.proto.ListAnswersRequest;
+import com.upgrad.quora.service.business.AnswerBusinessService;
+import com.upgrad.quora.service.business.AnswerPage;
+import com.upgrad.quora.service.business.QuestionService;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.cache.QuestionAnswersView;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import com.upgrad.quora.service.deadline.DeadlineProperties;
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import com.upgrad.quora.service.deadline.RequestTimeouts;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.InvalidQuestionException;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.MetadataUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class AnswerGrpcServiceTest {
+
+    private final AnswerBusinessService answerBusinessService = Mockito.mock(AnswerBusinessService.class);
+
+    private final UserBusinessService userBusinessService = Mockito.mock(UserBusinessService.class);
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        AnswerGrpcService service = new AnswerGrpcService();
+        ReflectionTestUtils.setField(service, "answerBusinessService", answerBusinessService);
+        ReflectionTestUtils.setField(service, "questionService", Mockito.mock(QuestionService.class));
+        ReflectionTestUtils.setField(service, "userBusinessService", userBusinessService);
+        ReflectionTestUtils.setField(service, "grpcCalls", new GrpcCalls(500));
+        Mockito.when(userBusinessService.getCurrentUser(anyString(), any())).thenReturn(new UserEntity());
+
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(ServerInterceptors.intercept(service, new AccessTokenInterceptor(),
+                        new CallDeadlineInterceptor(new RequestTimeouts(deadlineProperties()))))
+                .build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @After
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    //This test case passes when the answers of every page are streamed in order, with the access token of the call taken from its "authorization" metadata.
+    @Test
+    public void listAnswersStreamsEveryPage() throws Exception {
+        pages(2, 2);
+        Iterator<Answer> answers = stub("Bearer database_accesstoken").listAnswers(ListAnswersRequest.newBuilder().setQuestionId("database_question_uuid").build());
+        List<String> contents = new ArrayList<>();
+        answers.forEachRemaining(answer -> contents.add(answer.getContent()));
+        assertEquals(4, contents.size());
+        assertEquals("answer_0_0", contents.get(0));
+        assertEquals("answer_1_1", contents.get(3));
+        Mockito.verify(userBusinessService).getCurrentUser("database_accesstoken", GetCurrentUserAction.GET_ALL_ANSWER);
+    }
+
+    //This test case passes when a service exception fails the call with the matching status and the error code in the "error-code" trailer.
+    @Test
+    public void listAnswersOfNonExistingQuestion() throws Exception {
+        Mockito.when(answerBusinessService.getAnswerPage(eq("non_existing_question_uuid"), anyString(), anyInt()))
+                .thenThrow(new InvalidQuestionException("QUES-001", "Entered question uuid does not exist"));
+        assertFailure(Status.Code.NOT_FOUND, "QUES-001", () -> stub("database_accesstoken")
+                .listAnswers(ListAnswersRequest.newBuilder().setQuestionId("non_existing_question_uuid").build()).hasNext());
+    }
+
+    //This test case passes when a call whose access token is rejected fails with PERMISSION_DENIED and the error code of the REST API.
+    @Test
+    public void listAnswersWithSignedOutUser() throws Exception {
+        Mockito.when(userBusinessService.getCurrentUser("database_accesstoken3", GetCurrentUserAction.GET_ALL_ANSWER))
+                .thenThrow(new AuthorizationFailedException("ATHR-002", "User is signed out"));
+        assertFailure(Status.Code.PERMISSION_DENIED, "ATHR-002", () -> stub("database_accesstoken3")
+                .listAnswers(ListAnswersRequest.newBuilder().setQuestionId("database_question_uuid").build()).hasNext());
+    }
+
+    //This test case passes when the answers are only produced as fast as the client requests them.
+    @Test
+    public void listAnswersWaitsForTheClient() throws Exception {
+        AtomicInteger pagesRead = pages(100, 1);
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(1);
+        ClientCallStreamObserver<?>[] call = new ClientCallStreamObserver<?>[1];
+        AnswerServiceGrpc.newStub(channel).listAnswers(ListAnswersRequest.newBuilder().setQuestionId("database_question_uuid").build(),
+                new ClientResponseObserver<ListAnswersRequest, Answer>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ListAnswersRequest> requestStream) {
+                        requestStream.disableAutoInboundFlowControl();
+                        call[0] = requestStream;
+                    }
+
+                    @Override
+                    public void onNext(Answer answer) {
+                        received.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        fail(t.toString());
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        Thread.sleep(300);
+        assertEquals(1, received.get());
+        assertTrue("pages read ahead of the client: " + pagesRead.get(), pagesRead.get() <= 2);
+
+        call[0].request(100);
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals(100, received.get());
+    }
+
+    //This test case passes when a call gets the timeout of its deadline group, shortened but not lengthened by the deadline of its client.
+    @Test
+    public void listAnswersRunsUnderTheDeadlineOfItsGroup() throws Exception {
+        AtomicReference<RequestDeadline> deadline = new AtomicReference<>();
+        Mockito.when(answerBusinessService.getAnswerPage(eq("database_question_uuid"), anyString(), anyInt())).thenAnswer(invocation -> {
+            deadline.set(RequestDeadline.current());
+            AnswerPage answerPage = Mockito.mock(AnswerPage.class);
+            Mockito.when(answerPage.getAnswers()).thenReturn(Collections.emptyList());
+            return answerPage;
+        });
+        ListAnswersRequest request = ListAnswersRequest.newBuilder().setQuestionId("database_question_uuid").build();
+
+        stub("database_accesstoken").listAnswers(request).hasNext();
+        assertEquals(3000, deadline.get().getTimeoutMillis());
+
+        stub("database_accesstoken").withDeadlineAfter(60, TimeUnit.SECONDS).listAnswers(request).hasNext();
+        assertEquals(3000, deadline.get().getTimeoutMillis());
+
+        stub("database_accesstoken").withDeadlineAfter(1, TimeUnit.SECONDS).listAnswers(request).hasNext();
+        assertTrue(deadline.get().getTimeoutMillis() <= 1000);
+        assertEquals(3000, deadline.get().shared().getTimeoutMillis());
+    }
+
+    //This test case passes when a client that stops reading a stream, without a deadline of its own, is given up once it has not been ready for max-not-ready-ms.
+    @Test
+    public void listAnswersGivesUpOnAClientThatStopsReading() throws Exception {
+        AtomicInteger pagesRead = pages(100, 1);
+        AtomicInteger received = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        ClientCallStreamObserver<?>[] call = new ClientCallStreamObserver<?>[1];
+        AnswerServiceGrpc.newStub(channel).listAnswers(ListAnswersRequest.newBuilder().setQuestionId("database_question_uuid").build(),
+                new ClientResponseObserver<ListAnswersRequest, Answer>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ListAnswersRequest> requestStream) {
+                        requestStream.disableAutoInboundFlowControl();
+                        call[0] = requestStream;
+                    }
+
+                    @Override
+                    public void onNext(Answer answer) {
+                        received.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        failure.set(t);
+                        closed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        closed.countDown();
+                    }
+                });
+        Thread.sleep(1000);
+        int pagesBeforeReading = pagesRead.get();
+        call[0].request(100);
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+        assertTrue(received.get() < 100);
+        assertEquals(pagesBeforeReading, pagesRead.get());
+        assertEquals(Status.Code.CANCELLED, Status.fromThrowable(failure.get()).getCode());
+        assertThat(Status.fromThrowable(failure.get()).getDescription(), containsString("not ready"));
+    }
+
+    private AnswerServiceGrpc.AnswerServiceBlockingStub stub(final String authorization) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), authorization);
+        return MetadataUtils.attachHeaders(AnswerServiceGrpc.newBlockingStub(channel), headers);
+    }
+
+    /**
+     * Pages of the answers to database_question_uuid, the cursor of each page being its number
+     *
+     * @return number of pages read so far
+     */
+    private AtomicInteger pages(final int pageCount, final int pageSize) throws Exception {
+        AtomicInteger pagesRead = new AtomicInteger();
+        Mockito.when(answerBusinessService.getAnswerPage(eq("database_question_uuid"), anyString(), anyInt())).thenAnswer(invocation -> {
+            String cursor = invocation.getArgument(1);
+            int page = cursor.isEmpty() ? 0 : Integer.parseInt(cursor);
+            pagesRead.incrementAndGet();
+            List<QuestionAnswersView.Answer> answers = new ArrayList<>();
+            for (int i = 0; i < pageSize; i++) {
+                AnswerEntity answer = new AnswerEntity();
+                answer.setId(page * pageSize + i);
+                answer.setUuid("answer_uuid_" + page + "_" + i);
+                answer.setAns("answer_" + page + "_" + i);
+                answer.setDate(LocalDateTime.now());
+                answers.add(QuestionAnswersView.Answer.of(answer));
+            }
+            AnswerPage answerPage = Mockito.mock(AnswerPage.class);
+            Mockito.when(answerPage.getAnswers()).thenReturn(Collections.unmodifiableList(answers));
+            Mockito.when(answerPage.getNextCursor()).thenReturn(page + 1 < pageCount ? String.valueOf(page + 1) : null);
+            return answerPage;
+        });
+        return pagesRead;
+    }
+
+    private static DeadlineProperties deadlineProperties() {
+        DeadlineProperties.Group listing = new DeadlineProperties.Group();
+        listing.setName("listing");
+        listing.setPaths(Arrays.asList("/answer/all", "/quora.v1.AnswerService/ListAnswers"));
+        listing.setTimeoutMs(3000);
+        DeadlineProperties.Group fallback = new DeadlineProperties.Group();
+        fallback.setName("default");
+        fallback.setPaths(Collections.singletonList("/"));
+        fallback.setTimeoutMs(5000);
+        DeadlineProperties properties = new DeadlineProperties();
+        properties.setGroups(Arrays.asList(listing, fallback));
+        return properties;
+    }
+
+    private static void assertFailure(final Status.Code code, final String errorCode, final Runnable call) {
+        try {
+            call.run();
+            fail("call succeeded");
+        } catch (StatusRuntimeException e) {
+            assertEquals(code, e.getStatus().getCode());
+            assertEquals(errorCode, e.getTrailers().get(GrpcCalls.ERROR_CODE));
+        }
+    }
+}
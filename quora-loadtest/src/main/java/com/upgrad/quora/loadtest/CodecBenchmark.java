@@ -0,0 +1,120 @@
+package com.upgrad.quora.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.upgrad.quora.api.model.AnswerPageItem;
+import com.upgrad.quora.api.model.AnswerPageResponse;
+import com.upgrad.quora.api.model.QuestionDetailsResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Compares JSON, Smile and CBOR on the two largest responses of the API, a page of questions and a page of answers:
+ * encoded size, and encode and decode time per response on one thread. The mappers are configured like the ones of
+ * quora-api, and each decoded response is checked to equal the original. Settings are key=value arguments: items
+ * (entries per response), iterations (measured encodes and decodes per format, after as many warm-up ones).
+ * <p>
+ * mvn -Ploadtest -pl quora-loadtest exec:java -Dexec.mainClass=com.upgrad.quora.loadtest.CodecBenchmark -Dexec.args="items=100 iterations=20000"
+ */
+public class CodecBenchmark {
+
+    private static final String[] WORDS = ("how what why when does should the a of to in for is on with and my can "
+            + "java spring database index query transaction cache page answer question user performance memory "
+            + "thread latency request response server client").split(" ");
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int items = Integer.parseInt(values.getOrDefault("items", "100"));
+        int iterations = Integer.parseInt(values.getOrDefault("iterations", "20000"));
+
+        Random random = new Random(42);
+        List<QuestionDetailsResponse> questions = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            questions.add(new QuestionDetailsResponse().id(UUID.randomUUID().toString()).content(text(random, 15)));
+        }
+        List<AnswerPageItem> answers = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            answers.add(new AnswerPageItem().id(UUID.randomUUID().toString()).answerContent(text(random, 60)));
+        }
+        AnswerPageResponse answerPage = new AnswerPageResponse().questionId(UUID.randomUUID().toString())
+                .questionContent(text(random, 15)).answers(answers).nextCursor("MjAxOC0wOS0xNHwxMjM0NQ");
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("smile", configured(new ObjectMapper(new SmileFactory())));
+        mappers.put("cbor", configured(new ObjectMapper(new CBORFactory())));
+
+        System.out.printf(Locale.ROOT, "%nitems=%d iterations=%d%n%-10s %-8s %10s %12s %12s%n",
+                items, iterations, "response", "format", "bytes", "encode us", "decode us");
+        for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+            measure("questions", mapper.getKey(), mapper.getValue(), questions.toArray(new QuestionDetailsResponse[0]),
+                    QuestionDetailsResponse[].class, iterations);
+        }
+        for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+            measure("answers", mapper.getKey(), mapper.getValue(), answerPage, AnswerPageResponse.class, iterations);
+        }
+    }
+
+    private static ObjectMapper configured(final ObjectMapper objectMapper) {
+        Jackson2ObjectMapperBuilder.json().configure(objectMapper);
+        return objectMapper;
+    }
+
+    private static <T> void measure(final String response, final String format, final ObjectMapper mapper,
+                                    final T value, final Class<T> type, final int iterations) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(value);
+        Object decoded = mapper.readValue(encoded, type);
+        boolean identical = value instanceof Object[] ? Arrays.equals((Object[]) value, (Object[]) decoded) : value.equals(decoded);
+        if (!identical) {
+            throw new IllegalStateException(format + " does not round-trip the " + response + " response");
+        }
+
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+            sink += mapper.readValue(encoded, type).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+        long encodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += mapper.readValue(encoded, type).hashCode();
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        System.out.printf(Locale.ROOT, "%-10s %-8s %10d %12.2f %12.2f%s%n", response, format, encoded.length,
+                encodeNanos / 1000.0 / iterations, decodeNanos / 1000.0 / iterations, sink == 42 ? " " : "");
+    }
+
+    private static String text(final Random random, final int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.append('?').toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.upgrad.quora.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Throw-away PostgreSQL instance holding the quora schema of quora-db.
+ */
+public class EmbeddedDatabase implements AutoCloseable {
+
+    private static final String SCHEMA = "sql/quora.sql";
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(final EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    /**
+     * Starts a new instance and creates the schema in it.
+     *
+     * @return started database
+     */
+    public static EmbeddedDatabase start() throws IOException, SQLException {
+        EmbeddedDatabase database = new EmbeddedDatabase(EmbeddedPostgres.builder().start());
+        database.createSchema();
+        return database;
+    }
+
+    public DataSource getDataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    public String getJdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    private void createSchema() throws IOException, SQLException {
+        String script;
+        try (InputStream in = EmbeddedDatabase.class.getClassLoader().getResourceAsStream(SCHEMA)) {
+            if (in == null) {
+                throw new IllegalStateException(SCHEMA + " not found on the classpath");
+            }
+            script = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+        try (Connection connection = getDataSource().getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(script);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,53 @@
+package com.upgrad.quora.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and error count of one operation. Each worker records into its own instance, the instances are
+ * merged once the run is over.
+ */
+public class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private int errors;
+
+    public void record(final long latencyNanos, final boolean error) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    public void merge(final LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latenciesNanos[i], false);
+        }
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency in milliseconds below which the given percentage of the requests completed
+     */
+    public double percentileMillis(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))] / 1e6;
+    }
+}
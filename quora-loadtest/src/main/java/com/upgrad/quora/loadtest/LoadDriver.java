@@ -0,0 +1,88 @@
+package com.upgrad.quora.loadtest;
+
+import com.upgrad.quora.datagen.DataGenerator;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the traffic mix with a fixed number of closed-loop workers: each worker signs in as a seeded user and
+ * then sends its next request as soon as the previous one has completed. Requests completed during the warm-up
+ * are not recorded.
+ */
+public class LoadDriver {
+
+    private final LoadTestSettings settings;
+    private final QuoraClient client;
+    private final DataGenerator.IndexSampler users;
+    private final DataGenerator.IndexSampler questions;
+
+    public LoadDriver(final LoadTestSettings settings, final String baseUrl) {
+        this.settings = settings;
+        this.client = new QuoraClient(baseUrl);
+        DataGenerator dataGenerator = new DataGenerator(settings.getDataSettings());
+        this.users = dataGenerator.userSampler();
+        this.questions = dataGenerator.questionSampler();
+    }
+
+    /**
+     * @return merged latencies per operation of the measured part of the run
+     */
+    public Map<Operation, LatencyRecorder> run() throws Exception {
+        final long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        final long runUntil = measureFrom + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getWorkers());
+        List<Future<Map<Operation, LatencyRecorder>>> results = new ArrayList<>();
+        for (int worker = 0; worker < settings.getWorkers(); worker++) {
+            final Random random = new Random(settings.getSeed() + worker);
+            results.add(workers.submit(() -> work(random, measureFrom, runUntil)));
+        }
+        workers.shutdown();
+
+        Map<Operation, LatencyRecorder> merged = newRecorders();
+        for (Future<Map<Operation, LatencyRecorder>> result : results) {
+            for (Map.Entry<Operation, LatencyRecorder> entry : result.get().entrySet()) {
+                merged.get(entry.getKey()).merge(entry.getValue());
+            }
+        }
+        return merged;
+    }
+
+    private Map<Operation, LatencyRecorder> work(final Random random, final long measureFrom, final long runUntil) throws Exception {
+        Map<Operation, LatencyRecorder> recorders = newRecorders();
+        Session session = new Session(users.sample(random), users, questions);
+        Operation.SIGNIN.execute(client, session, random);
+        while (true) {
+            Operation operation = Operation.pick(random);
+            long start = System.nanoTime();
+            if (start >= runUntil) {
+                return recorders;
+            }
+            boolean error;
+            try {
+                error = operation.execute(client, session, random) >= 400;
+            } catch (Exception e) {
+                error = true;
+            }
+            if (start >= measureFrom) {
+                recorders.get(operation).record(System.nanoTime() - start, error);
+            }
+        }
+    }
+
+    private static Map<Operation, LatencyRecorder> newRecorders() {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        return recorders;
+    }
+}
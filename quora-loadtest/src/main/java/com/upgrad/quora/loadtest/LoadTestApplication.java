@@ -0,0 +1,93 @@
+package com.upgrad.quora.loadtest;
+
+import com.upgrad.quora.api.QuoraApiApplication;
+import com.upgrad.quora.datagen.DataGenerator;
+import com.upgrad.quora.datagen.DataGeneratorSettings;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs a reproducible load test of quora-api: starts an embedded PostgreSQL, fills it with quora-datagen, starts the API against it,
+ * replays the traffic mix of {@link Operation} and reports throughput and latency percentiles per operation.
+ * Settings are passed as key=value arguments, see {@link LoadTestSettings}. Run it once with virtual=false and
+ * once with virtual=true to compare the thread modes, or with the same settings on two releases to compare them;
+ * report=results.csv collects the runs in one file.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings(args);
+        Map<Operation, LatencyRecorder> results;
+        if (settings.getTarget() != null) {
+            results = new LoadDriver(settings, settings.getTarget()).run();
+        } else {
+            try (EmbeddedDatabase database = EmbeddedDatabase.start()) {
+                DataGeneratorSettings data = settings.getDataSettings();
+                System.out.printf("Seeding %d users, %d questions, %d answers%n",
+                        data.getUsers(), data.getQuestions(), data.getAnswers());
+                try (Connection connection = database.getDataSource().getConnection()) {
+                    new DataGenerator(data).generate(connection);
+                }
+                try (ServletWebServerApplicationContext api = startApi(database, settings)) {
+                    String baseUrl = "http://localhost:" + api.getWebServer().getPort() + api.getServletContext().getContextPath();
+                    results = new LoadDriver(settings, baseUrl).run();
+                }
+            }
+        }
+        report(settings, results);
+    }
+
+    private static ServletWebServerApplicationContext startApi(final EmbeddedDatabase database, final LoadTestSettings settings) {
+        return (ServletWebServerApplicationContext) SpringApplication.run(QuoraApiApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + database.getJdbcUrl(),
+                "--spring.datasource.username=postgres",
+                "--quora.threads.virtual=" + settings.isVirtualThreads(),
+                "--quora.rate-limit.enabled=false",
+                "--quora.grpc.port=0",
+                "--logging.level.root=WARN");
+    }
+
+    private static void report(final LoadTestSettings settings, final Map<Operation, LatencyRecorder> results) throws IOException {
+        LatencyRecorder total = new LatencyRecorder();
+        results.values().forEach(total::merge);
+        double seconds = settings.getDurationSeconds();
+
+        System.out.printf(Locale.ROOT, "%n%-16s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<Operation, LatencyRecorder> entry : results.entrySet()) {
+            print(entry.getKey().name(), entry.getValue(), seconds);
+        }
+        print("TOTAL", total, seconds);
+
+        if (settings.getReportFile() != null) {
+            try (PrintWriter csv = new PrintWriter(new FileWriter(settings.getReportFile(), true))) {
+                String timestamp = ZonedDateTime.now().toString();
+                for (Map.Entry<Operation, LatencyRecorder> entry : results.entrySet()) {
+                    csv.println(csvLine(settings.getLabel(), timestamp, entry.getKey().name(), entry.getValue(), seconds));
+                }
+                csv.println(csvLine(settings.getLabel(), timestamp, "TOTAL", total, seconds));
+            }
+        }
+    }
+
+    private static void print(final String name, final LatencyRecorder recorder, final double seconds) {
+        System.out.printf(Locale.ROOT, "%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, recorder.getCount(), recorder.getErrors(),
+                recorder.getCount() / seconds, recorder.percentileMillis(50), recorder.percentileMillis(95),
+                recorder.percentileMillis(99), recorder.percentileMillis(100));
+    }
+
+    private static String csvLine(final String label, final String timestamp, final String name,
+                                  final LatencyRecorder recorder, final double seconds) {
+        return String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f", label, timestamp, name, recorder.getCount(),
+                recorder.getErrors(), recorder.getCount() / seconds, recorder.percentileMillis(50),
+                recorder.percentileMillis(95), recorder.percentileMillis(99), recorder.percentileMillis(100));
+    }
+}
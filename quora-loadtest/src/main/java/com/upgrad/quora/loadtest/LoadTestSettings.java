@@ -0,0 +1,94 @@
+package com.upgrad.quora.loadtest;
+
+import com.upgrad.quora.datagen.DataGeneratorSettings;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load-test run, given on the command line as key=value pairs. Every run with the same settings
+ * seeds the same data and replays the same sequence of operations per worker.
+ */
+public class LoadTestSettings {
+
+    private final Map<String, String> values = new HashMap<>();
+    private final DataGeneratorSettings dataSettings;
+
+    public LoadTestSettings(final String[] args) {
+        dataSettings = new DataGeneratorSettings(args);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+    }
+
+    /**
+     * @return size and shape of the seeded data, see {@link DataGeneratorSettings}
+     */
+    public DataGeneratorSettings getDataSettings() {
+        return dataSettings;
+    }
+
+    /**
+     * @return number of concurrent client threads
+     */
+    public int getWorkers() {
+        return getInt("workers", 32);
+    }
+
+    /**
+     * @return measured duration of the run in seconds
+     */
+    public int getDurationSeconds() {
+        return getInt("duration", 60);
+    }
+
+    /**
+     * @return duration of the unmeasured warm-up in seconds
+     */
+    public int getWarmupSeconds() {
+        return getInt("warmup", 15);
+    }
+
+    /**
+     * @return seed of the traffic generator, the data generator has its own
+     */
+    public long getSeed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    /**
+     * @return true to run the embedded server with quora.threads.virtual
+     */
+    public boolean isVirtualThreads() {
+        return Boolean.parseBoolean(values.getOrDefault("virtual", "false"));
+    }
+
+    /**
+     * @return base url of an already running server seeded by an earlier run, null to start an embedded one
+     */
+    public String getTarget() {
+        return values.get("target");
+    }
+
+    /**
+     * @return file the results are appended to as CSV, null for the console report only
+     */
+    public String getReportFile() {
+        return values.get("report");
+    }
+
+    /**
+     * @return label of the run in the CSV report, e.g. the release under test
+     */
+    public String getLabel() {
+        return values.getOrDefault("label", isVirtualThreads() ? "virtual" : "platform");
+    }
+
+    private int getInt(final String key, final int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+}
@@ -0,0 +1,93 @@
+package com.upgrad.quora.loadtest;
+
+import com.upgrad.quora.datagen.DataGenerator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Operations of the traffic mix with their relative weights, modelled on a read-heavy Q&A site.
+ */
+public enum Operation {
+
+    SIGNIN(5) {
+        @Override
+        int execute(final QuoraClient client, final Session session, final Random random) throws IOException {
+            String token = client.signin(DataGenerator.userName(session.getUser()), DataGenerator.PASSWORD);
+            if (token == null) {
+                return 401;
+            }
+            session.setAccessToken(token);
+            return 200;
+        }
+    },
+    CREATE_QUESTION(5) {
+        @Override
+        int execute(final QuoraClient client, final Session session, final Random random) throws IOException {
+            return client.send("POST", "/question/create?content=" + QuoraClient.encode("Question " + random.nextLong() + "?"),
+                    session.getAccessToken());
+        }
+    },
+    LIST_QUESTIONS(10) {
+        @Override
+        int execute(final QuoraClient client, final Session session, final Random random) throws IOException {
+            return client.send("GET", "/question/all", session.getAccessToken());
+        }
+    },
+    CREATE_ANSWER(10) {
+        @Override
+        int execute(final QuoraClient client, final Session session, final Random random) throws IOException {
+            return client.send("POST", "/question/" + session.pickQuestion(random) + "/answer/create?answer="
+                    + QuoraClient.encode("Answer " + random.nextLong()), session.getAccessToken());
+        }
+    },
+    LIST_ANSWERS(45) {
+        @Override
+        int execute(final QuoraClient client, final Session session, final Random random) throws IOException {
+            return client.send("GET", "/answer/all/" + session.pickQuestion(random), session.getAccessToken());
+        }
+    },
+    USER_PROFILE(25) {
+        @Override
+        int execute(final QuoraClient client, final Session session, final Random random) throws IOException {
+            return client.send("GET", "/userprofile/" + session.pickUser(random), session.getAccessToken());
+        }
+    };
+
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (Operation operation : values()) {
+            total += operation.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final int weight;
+
+    Operation(final int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Runs the operation as the user of the session.
+     *
+     * @return HTTP status of the response
+     */
+    abstract int execute(QuoraClient client, Session session, Random random) throws IOException;
+
+    /**
+     * @return an operation picked according to the weights of the mix
+     */
+    static Operation pick(final Random random) {
+        int point = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : values()) {
+            point -= operation.weight;
+            if (point < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
@@ -0,0 +1,80 @@
+package com.upgrad.quora.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Minimal blocking HTTP client of the quora API. Connections are kept alive by the JDK between requests of the
+ * same thread, as long as every response body is read to the end.
+ */
+public class QuoraClient {
+
+    private final String baseUrl;
+
+    public QuoraClient(final String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Signs the user in.
+     *
+     * @return access token of the new session, null if the sign-in failed
+     */
+    public String signin(final String userName, final String password) throws IOException {
+        String credentials = Base64.getEncoder().encodeToString((userName + ":" + password).getBytes(StandardCharsets.UTF_8));
+        HttpURLConnection connection = open("POST", "/user/signin", "Basic " + credentials);
+        int status = complete(connection);
+        return status == HttpURLConnection.HTTP_OK ? connection.getHeaderField("access_token") : null;
+    }
+
+    /**
+     * Sends a request without body and reads the response.
+     *
+     * @return HTTP status of the response
+     */
+    public int send(final String method, final String path, final String accessToken) throws IOException {
+        return complete(open(method, path, "Bearer " + accessToken));
+    }
+
+    public static String encode(final String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpURLConnection open(final String method, final String path, final String authorization) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("authorization", authorization);
+        connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+        connection.setRequestProperty("Accept", "application/json");
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(30000);
+        if ("POST".equals(method) || "PUT".equals(method)) {
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(0);
+        }
+        return connection;
+    }
+
+    private static int complete(final HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        InputStream body = status < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream();
+        if (body != null) {
+            try (InputStream in = body) {
+                byte[] buffer = new byte[8192];
+                while (in.read(buffer) >= 0) {
+                    // drain, so that the connection can be reused
+                }
+            }
+        }
+        return status;
+    }
+}
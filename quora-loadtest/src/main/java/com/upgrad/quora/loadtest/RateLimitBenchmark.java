@@ -0,0 +1,121 @@
+package com.upgrad.quora.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.quora.api.ratelimit.RateLimitFilter;
+import com.upgrad.quora.api.ratelimit.RateLimitProperties;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.Filter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost the rate limit filter adds to an admitted request: the same requests are passed through a
+ * filter with no groups and through one whose limits are high enough to admit them all, and the difference per
+ * request is reported. Settings are key=value arguments: threads (concurrent callers), keys (distinct tokens and
+ * addresses, spread over the callers), seconds (measured time per filter, after as long a warm-up).
+ * <p>
+ * mvn -Ploadtest -pl quora-loadtest exec:java -Dexec.mainClass=com.upgrad.quora.loadtest.RateLimitBenchmark -Dexec.args="threads=8 keys=10000 seconds=10"
+ */
+public class RateLimitBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int threads = Integer.parseInt(values.getOrDefault("threads", "8"));
+        int keys = Integer.parseInt(values.getOrDefault("keys", "10000"));
+        int seconds = Integer.parseInt(values.getOrDefault("seconds", "10"));
+
+        double baseline = nanosPerRequest(filter(false), threads, keys, seconds);
+        double limited = nanosPerRequest(filter(true), threads, keys, seconds);
+        System.out.printf(Locale.ROOT, "%nthreads=%d keys=%d%n%-12s %9.1f ns/request%n%-12s %9.1f ns/request%n%-12s %9.1f ns/request%n",
+                threads, keys, "no limits", baseline, "limited", limited, "overhead", limited - baseline);
+    }
+
+    private static Filter filter(final boolean limited) {
+        RateLimitProperties properties = new RateLimitProperties();
+        if (limited) {
+            RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+            limit.setPermitsPerSecond(1e9);
+            limit.setBurst(1000);
+            RateLimitProperties.Group group = new RateLimitProperties.Group();
+            group.setName("benchmark");
+            group.setPaths(Collections.singletonList("/"));
+            group.setPerToken(limit);
+            group.setPerIp(limit);
+            properties.setGroups(Collections.singletonList(group));
+        }
+        return new RateLimitFilter(properties, new ObjectMapper());
+    }
+
+    /**
+     * @return average nanoseconds spent by a caller per request during the measured time
+     */
+    private static double nanosPerRequest(final Filter filter, final int threads, final int keys, final int seconds)
+            throws InterruptedException {
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicLong requests = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int first = t;
+            Thread caller = new Thread(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                MockHttpServletRequest[] pool = new MockHttpServletRequest[Math.max(1, keys / threads)];
+                for (int i = 0; i < pool.length; i++) {
+                    int key = first + i * threads;
+                    pool[i] = new MockHttpServletRequest("GET", "/question/all");
+                    pool[i].addHeader("authorization", "Bearer token-" + key);
+                    pool[i].setRemoteAddr("10." + (key >> 16 & 255) + "." + (key >> 8 & 255) + "." + (key & 255));
+                }
+                long count = 0;
+                boolean counting = false;
+                try {
+                    for (int i = 0; !stopped.get(); i = (i + 1) % pool.length) {
+                        filter.doFilter(pool[i], response, new MockFilterChain());
+                        if (counting) {
+                            count++;
+                        } else if (measuring.get()) {
+                            counting = true;
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    requests.addAndGet(count);
+                    done.countDown();
+                }
+            });
+            callers.add(caller);
+            caller.start();
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        measuring.set(true);
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        stopped.set(true);
+        long elapsed = System.nanoTime() - start;
+        done.await();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        return (double) elapsed * threads / requests.get();
+    }
+}
@@ -0,0 +1,129 @@
+package com.upgrad.quora.loadtest;
+
+import com.upgrad.quora.api.QuoraApiApplication;
+import com.upgrad.quora.service.business.AnswerBusinessService;
+import com.upgrad.quora.service.business.QuestionService;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Compares the heap allocated by loading every answer to a question in a read-only transaction, as
+ * AnswerBusinessService.getAllAnswersToQuestion does, and in a read-write one, as it did before: in a read-write
+ * transaction Hibernate snapshots each loaded answer for dirty checking and checks them all when flushing at commit.
+ * The API runs against an embedded PostgreSQL holding one question with the given number of answers, and the bytes
+ * and time per call are measured on one thread. Settings are key=value arguments: answers (answers to the question),
+ * iterations (measured calls per mode, after as many warm-up ones).
+ * <p>
+ * mvn -Ploadtest -pl quora-loadtest exec:java -Dexec.mainClass=com.upgrad.quora.loadtest.ReadOnlyTransactionBenchmark -Dexec.args="answers=5000 iterations=200"
+ */
+public class ReadOnlyTransactionBenchmark {
+
+    private static final String QUESTION_UUID = "benchmark_question_uuid";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int answers = Integer.parseInt(values.getOrDefault("answers", "5000"));
+        int iterations = Integer.parseInt(values.getOrDefault("iterations", "200"));
+
+        try (EmbeddedDatabase database = EmbeddedDatabase.start()) {
+            seed(database, answers);
+            try (ConfigurableApplicationContext api = startApi(database)) {
+                AnswerBusinessService answerBusinessService = api.getBean(AnswerBusinessService.class);
+                QuestionEntity question = api.getBean(QuestionService.class).getQuestion(QUESTION_UUID);
+                EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(api.getBean(EntityManagerFactory.class));
+                TransactionTemplate readWriteTransaction = new TransactionTemplate(api.getBean(PlatformTransactionManager.class));
+
+                Supplier<List<AnswerEntity>> readOnly = () -> answerBusinessService.getAllAnswersToQuestion(question);
+                Supplier<List<AnswerEntity>> readWrite = () -> readWriteTransaction.execute(status ->
+                        entityManager.createNamedQuery("Answers.fetchAllPerQuestion", AnswerEntity.class)
+                                .setParameter("question", question)
+                                .setHint(QueryHints.READ_ONLY, false)
+                                .getResultList());
+
+                System.out.printf(Locale.ROOT, "%nanswers=%d iterations=%d%n%-12s %14s %12s%n",
+                        answers, iterations, "transaction", "bytes/call", "ms/call");
+                double readWriteBytes = measure("read-write", readWrite, answers, iterations);
+                double readOnlyBytes = measure("read-only", readOnly, answers, iterations);
+                System.out.printf(Locale.ROOT, "%-12s %13.1f%%%n", "saved", 100 * (readWriteBytes - readOnlyBytes) / readWriteBytes);
+            }
+        }
+    }
+
+    private static void seed(final EmbeddedDatabase database, final int answers) throws Exception {
+        try (Connection connection = database.getDataSource().getConnection()) {
+            try (PreparedStatement question = connection.prepareStatement(
+                    "INSERT INTO QUESTION(id, uuid, content, date, user_id) VALUES (1, ?, 'Which transactions are read-only?', now(), 1024)")) {
+                question.setString(1, QUESTION_UUID);
+                question.executeUpdate();
+            }
+            try (PreparedStatement answer = connection.prepareStatement(
+                    "INSERT INTO ANSWER(uuid, ans, date, user_id, question_id) SELECT 'benchmark_answer_uuid_' || i, "
+                            + "'Those that only query, ' || repeat('so Hibernate need not snapshot their entities ', 4), "
+                            + "now() - i * interval '1 second', 1024, 1 FROM generate_series(1, ?) i")) {
+                answer.setInt(1, answers);
+                answer.executeUpdate();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApi(final EmbeddedDatabase database) {
+        return SpringApplication.run(QuoraApiApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + database.getJdbcUrl(),
+                "--spring.datasource.username=postgres",
+                "--quora.scheduler.enabled=false",
+                "--quora.outbox.relay.enabled=false",
+                "--quora.grpc.enabled=false",
+                "--logging.level.root=WARN");
+    }
+
+    /**
+     * @return average bytes allocated by the benchmark thread per call during the measured iterations
+     */
+    private static double measure(final String transaction, final Supplier<List<AnswerEntity>> call, final int answers,
+                                  final int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < iterations; i++) {
+            int loaded = call.get().size();
+            if (loaded != answers) {
+                throw new IllegalStateException(transaction + " call loaded " + loaded + " answers instead of " + answers);
+            }
+        }
+        long sink = 0;
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += call.get().size();
+        }
+        long nanos = System.nanoTime() - start;
+        double bytes = (double) (threads.getThreadAllocatedBytes(threadId) - startBytes) / iterations;
+        System.out.printf(Locale.ROOT, "%-12s %14.0f %12.2f%s%n", transaction, bytes, nanos / 1e6 / iterations,
+                sink == 42 ? " " : "");
+        return bytes;
+    }
+}
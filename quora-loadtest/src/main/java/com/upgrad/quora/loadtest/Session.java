@@ -0,0 +1,49 @@
+package com.upgrad.quora.loadtest;
+
+import com.upgrad.quora.datagen.DataGenerator;
+
+import java.util.Random;
+
+/**
+ * A simulated user of one worker: the seeded user it signs in as and its current access token. Questions and
+ * users are picked with the skew of the generated data, so hot questions also get most of the traffic.
+ */
+public class Session {
+
+    private final int user;
+    private final DataGenerator.IndexSampler users;
+    private final DataGenerator.IndexSampler questions;
+    private String accessToken;
+
+    public Session(final int user, final DataGenerator.IndexSampler users, final DataGenerator.IndexSampler questions) {
+        this.user = user;
+        this.users = users;
+        this.questions = questions;
+    }
+
+    public int getUser() {
+        return user;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(final String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    /**
+     * @return uuid of a seeded question
+     */
+    public String pickQuestion(final Random random) {
+        return DataGenerator.questionUuid(questions.sample(random));
+    }
+
+    /**
+     * @return uuid of a seeded user
+     */
+    public String pickUser(final Random random) {
+        return DataGenerator.userUuid(users.sample(random));
+    }
+}
@@ -0,0 +1,18 @@
+package com.upgrad.quora.reactive;
+
+import com.upgrad.quora.service.ServiceConfiguration;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Launches the reactive read API. It serves the read endpoints of quora-api on WebFlux, on top of the same
+ * service layer.
+ */
+@SpringBootApplication
+@Import(ServiceConfiguration.class)
+public class QuoraReactiveApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(QuoraReactiveApplication.class, args);
+    }
+}
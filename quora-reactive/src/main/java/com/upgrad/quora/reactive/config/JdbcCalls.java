@@ -0,0 +1,45 @@
+package com.upgrad.quora.reactive.config;
+
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs the blocking service calls of a request on the jdbc scheduler, under the {@link RequestDeadline} the request
+ * carries in its subscriber context. A call the scheduler has no room for fails with a RejectedExecutionException,
+ * which is answered with 503.
+ */
+@Component
+public class JdbcCalls {
+
+    private final Scheduler jdbcScheduler;
+
+    @Autowired
+    public JdbcCalls(final Scheduler jdbcScheduler) {
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    /**
+     * Method runs a blocking call on the jdbc scheduler
+     *
+     * @param call blocking call into the service layer
+     * @return Mono of the result of the call
+     */
+    public <T> Mono<T> call(final Callable<T> call) {
+        return Mono.subscriberContext().flatMap(context -> {
+            final RequestDeadline deadline = context.getOrDefault(RequestDeadline.class, null);
+            return Mono.fromCallable(() -> {
+                RequestDeadline.attach(deadline);
+                try {
+                    return call.call();
+                } finally {
+                    RequestDeadline.end();
+                }
+            }).subscribeOn(jdbcScheduler);
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.upgrad.quora.reactive.config;
+
+import com.upgrad.quora.service.cache.StaleReadCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service layer runs on blocking JDBC. Its calls are moved off the event loop onto a fixed pool of threads,
+ * no larger than the connection pool, so that slow clients only cost an open connection on the event loop and
+ * a burst of requests queues for a thread instead of for a database connection. The queue is bounded: a call finding
+ * it full is rejected and its request answered with 503, rather than waiting behind calls that will outlive its
+ * deadline. The staleness the StaleReadCache records for a call is not reported here and is cleared once the call
+ * returns.
+ */
+@Configuration
+public class JdbcSchedulerConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${quora.reactive.jdbc-threads:20}") final int threads,
+                                   @Value("${quora.reactive.jdbc-queue:200}") final int queue) {
+        return Schedulers.fromExecutorService(new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), new CustomizableThreadFactory("quora-jdbc-")) {
+            @Override
+            protected void afterExecute(final Runnable task, final Throwable failure) {
+                StaleReadCache.clearStaleness();
+            }
+        });
+    }
+}
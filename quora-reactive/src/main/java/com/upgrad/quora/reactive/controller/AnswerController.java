@@ -0,0 +1,78 @@
+package com.upgrad.quora.reactive.controller;
+
+import com.upgrad.quora.reactive.config.JdbcCalls;
+import com.upgrad.quora.reactive.model.AnswerPageItem;
+import com.upgrad.quora.reactive.model.AnswerPageResponse;
+import com.upgrad.quora.service.business.AnswerBusinessService;
+import com.upgrad.quora.service.business.AnswerPage;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import com.upgrad.quora.service.exception.InvalidCursorException;
+import com.upgrad.quora.service.exception.InvalidQuestionException;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+import static com.upgrad.quora.service.constants.ErrorConditions.ANS_GET_QUES_NOT_FOUND;
+
+@RestController
+@RequestMapping("/")
+public class AnswerController {
+
+    @Autowired
+    private UserBusinessService userBusinessService;
+
+    @Autowired
+    private AnswerBusinessService answerBusinessService;
+
+    @Autowired
+    private JdbcCalls jdbcCalls;
+
+    /**
+     * This is used to get the answers to a question, one page at a time
+     *
+     * @param authorization Authorization token from request header
+     * @param questionId    uuid of the question whose answers are fetched
+     * @param cursor        nextCursor of the previous page, absent for the first page
+     * @param limit         maximum number of answers in the page
+     * @return Response Entity with the question, the answers of the page and the cursor of the next page
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/answer/all/{questionId}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public Mono<ResponseEntity<AnswerPageResponse>> getAllAnswersToQuestion(@RequestHeader("authorization") final String authorization,
+                                                                            @PathVariable("questionId") final String questionId,
+                                                                            @RequestParam(value = "cursor", required = false) final String cursor,
+                                                                            @RequestParam(value = "limit", defaultValue = "20") final int limit) {
+        String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+        return jdbcCalls.call(() -> {
+            userBusinessService.getCurrentUser(token, GetCurrentUserAction.GET_ALL_ANSWER);
+            final AnswerPage answerPage = getAnswerPage(questionId, cursor, limit);
+            return new AnswerPageResponse()
+                    .questionId(answerPage.getQuestionUuid())
+                    .questionContent(answerPage.getQuestionContent())
+                    .answers(answerPage.getAnswers().stream()
+                            .map(answer -> new AnswerPageItem().id(answer.getUuid()).answerContent(answer.getContent()))
+                            .collect(Collectors.toList()))
+                    .nextCursor(answerPage.getNextCursor());
+        }).map(answerPageResponse -> new ResponseEntity<>(answerPageResponse, HttpStatus.OK));
+    }
+
+    private AnswerPage getAnswerPage(final String questionId, final String cursor, final int limit)
+            throws InvalidQuestionException, InvalidCursorException {
+        try {
+            return answerBusinessService.getAnswerPage(questionId, cursor, limit);
+        } catch (InvalidQuestionException invalidQuestionException) {
+            throw new InvalidQuestionException(ANS_GET_QUES_NOT_FOUND.getCode(), ANS_GET_QUES_NOT_FOUND.getMessage());
+        }
+    }
+}
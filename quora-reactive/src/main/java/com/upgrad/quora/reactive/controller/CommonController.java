@@ -0,0 +1,48 @@
+package com.upgrad.quora.reactive.controller;
+
+import com.upgrad.quora.reactive.config.JdbcCalls;
+import com.upgrad.quora.reactive.model.UserDetailsResponse;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/")
+public class CommonController {
+
+    @Autowired
+    private UserBusinessService userBusinessService;
+
+    @Autowired
+    private JdbcCalls jdbcCalls;
+
+    /**
+     * This is used to get a user in an application. It takes input of user's uuid & authorization token.
+     *
+     * @param authorization Authorization token from request header
+     * @param userId        UUID of an query user
+     * @return Response Entity with user profile and Http Status Code
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/userprofile/{userId}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public Mono<ResponseEntity<UserDetailsResponse>> getUserProfile(@RequestHeader("authorization") final String authorization,
+                                                                    @PathVariable("userId") final String userId) {
+        String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+        return jdbcCalls.call(() -> userBusinessService.getUser(userId, token, GetCurrentUserAction.GET_USER_DETAILS))
+                .map(userEntity -> new UserDetailsResponse()
+                        .firstName(userEntity.getFirstName())
+                        .lastName(userEntity.getLastName())
+                        .userName(userEntity.getUserName())
+                        .emailAddress(userEntity.getEmail())
+                        .country(userEntity.getCountry())
+                        .aboutMe(userEntity.getAboutMe())
+                        .dob(userEntity.getDob())
+                        .contactNumber(userEntity.getContactNumber()))
+                .map(userDetailsResponse -> new ResponseEntity<>(userDetailsResponse, HttpStatus.OK));
+    }
+}
@@ -0,0 +1,54 @@
+package com.upgrad.quora.reactive.controller;
+
+import com.upgrad.quora.reactive.config.JdbcCalls;
+import com.upgrad.quora.reactive.model.QuestionDetailsResponse;
+import com.upgrad.quora.service.business.QuestionService;
+import com.upgrad.quora.service.business.UserBusinessService;
+import com.upgrad.quora.service.constants.GetCurrentUserAction;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/question")
+public class QuestionController {
+
+    @Autowired
+    private UserBusinessService userService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private JdbcCalls jdbcCalls;
+
+    /**
+     * This is used to get all the questions posted by all users. It takes input of authorization token.
+     *
+     * @param authorization Authorization token from request header
+     * @return Response Entity with the list of questions and Http Status Code, 204 if there are no questions
+     */
+    @RequestMapping(path = "/all", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public Mono<ResponseEntity<List<QuestionDetailsResponse>>> getAllQuestions(
+            @RequestHeader("authorization") final String authorization) {
+        String token = (authorization.contains("Bearer ")) ? StringUtils.substringAfter(authorization, "Bearer ") : authorization;
+        return jdbcCalls.call(() -> {
+            userService.getCurrentUser(token, GetCurrentUserAction.GET_ALL_QUESTIONS);
+            return questionService.getAllQuestions();
+        }).map(questions -> questions.stream()
+                        .map(question -> new QuestionDetailsResponse().id(question.getUuid()).content(question.getContent()))
+                        .collect(Collectors.toList()))
+                .map(responseItems -> new ResponseEntity<>(responseItems,
+                        responseItems.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK));
+    }
+}
@@ -0,0 +1,46 @@
+package com.upgrad.quora.reactive.deadline;
+
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import com.upgrad.quora.service.deadline.RequestTimeouts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * This filter gives each request a {@link RequestDeadline} under the same quora.deadline groups as quora-api. A
+ * request here is served across threads, so the deadline travels in the subscriber context rather than in a thread
+ * local, and {@link com.upgrad.quora.reactive.config.JdbcCalls} binds it to the thread running each service call.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class RequestDeadlineWebFilter implements WebFilter {
+
+    private final RequestTimeouts timeouts;
+
+    @Autowired
+    public RequestDeadlineWebFilter(final RequestTimeouts timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+        if (!timeouts.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        final String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        final long groupTimeoutMillis = timeouts.groupTimeoutMillis(path);
+        final long timeoutMillis = timeouts.requestedTimeoutMillis(groupTimeoutMillis,
+                exchange.getRequest().getHeaders().getFirst(timeouts.getHeader()));
+        if (timeoutMillis <= 0) {
+            return chain.filter(exchange);
+        }
+        final RequestDeadline deadline = RequestDeadline.of(timeoutMillis, groupTimeoutMillis);
+        return chain.filter(exchange).subscriberContext(Context.of(RequestDeadline.class, deadline));
+    }
+}
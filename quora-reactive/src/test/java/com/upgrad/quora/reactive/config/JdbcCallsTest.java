@@ -0,0 +1,69 @@
+package com.upgrad.quora.reactive.config;
+
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JdbcCallsTest {
+
+    private Scheduler scheduler;
+
+    private JdbcCalls jdbcCalls;
+
+    @Before
+    public void setUp() {
+        scheduler = new JdbcSchedulerConfiguration().jdbcScheduler(1, 1);
+        jdbcCalls = new JdbcCalls(scheduler);
+    }
+
+    @After
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    //This test case passes when a call runs under the deadline of its request and leaves none bound to the thread.
+    @Test
+    public void callRunsUnderTheDeadlineOfItsRequest() {
+        final RequestDeadline deadline = RequestDeadline.of(2000, 5000);
+        StepVerifier.create(jdbcCalls.call(RequestDeadline::current)
+                .subscriberContext(Context.of(RequestDeadline.class, deadline)))
+                .expectNext(deadline)
+                .verifyComplete();
+        StepVerifier.create(jdbcCalls.call(() -> RequestDeadline.current() == null))
+                .expectNext(true)
+                .verifyComplete();
+        assertNull(RequestDeadline.current());
+    }
+
+    //This test case passes when a call finding the thread busy and the queue full is rejected instead of waiting.
+    @Test
+    public void callOverTheQueueIsRejected() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Mono<Boolean> running = jdbcCalls.call(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        final Mono<Boolean> queued = jdbcCalls.call(() -> true);
+        running.subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queued.subscribe();
+        StepVerifier.create(jdbcCalls.call(() -> true))
+                .expectError(RejectedExecutionException.class)
+                .verify(Duration.ofSeconds(5));
+        release.countDown();
+    }
+}
@@ -0,0 +1,57 @@
+package com.upgrad.quora.reactive.controller;
+
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class ReadControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    //This test case passes when you try to get all the questions but the JWT token entered does not exist in the database.
+    @Test
+    public void getAllQuestionsWithNonExistingAccessToken() {
+        webTestClient.get().uri("/question/all").header("authorization", "non_existing_access_token")
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().jsonPath("code").isEqualTo("ATHR-001");
+    }
+
+    //This test case passes when you try to get all the answers to a question which does not exist in the database.
+    @Test
+    public void getAllAnswersToNonExistingQuestion() {
+        webTestClient.get().uri("/answer/all/non_existing_question_uuid").header("authorization", "database_accesstoken")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("code").isEqualTo("QUES-001");
+    }
+
+    //This test case passes when you try to get the details of the user but the JWT token entered does not exist in the database.
+    @Test
+    public void detailsUsingNonExistingAccessToken() {
+        webTestClient.get().uri("/userprofile/database_uuid1").header("authorization", "non_existing_access_token")
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().jsonPath("code").isEqualTo("ATHR-001");
+    }
+
+    //This test case passes when a request whose client deadline passes before its database calls is answered with 503 and GEN-004.
+    @Test
+    public void detailsPastClientDeadline() {
+        webTestClient.get().uri("/userprofile/database_uuid1").header("authorization", "database_accesstoken")
+                .header("X-Request-Timeout-Ms", "1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody().jsonPath("code").isEqualTo("GEN-004");
+    }
+}
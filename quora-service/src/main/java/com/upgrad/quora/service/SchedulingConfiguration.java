@@ -0,0 +1,31 @@
+package com.upgrad.quora.service;
+
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduling of the background jobs of the service layer, such as the replica lag check, the trending ranking, the
+ * outbox relay, the user purge and the session sweeper. Applications that only read through the service layer, like
+ * quora-reactive, turn it off with quora.scheduler.enabled=false so the jobs run once per deployment of quora-api.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "quora.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfiguration {
+
+    /**
+     * Scheduler of the background jobs, with enough threads that a long running purge does not hold up the others.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${quora.scheduler.pool-size:3}") final int poolSize) {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(poolSize);
+        taskScheduler.setThreadNamePrefix("quora-scheduler-");
+        return taskScheduler;
+    }
+}
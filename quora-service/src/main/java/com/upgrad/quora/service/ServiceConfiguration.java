@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * Enabling the component scan and entity scan of classes in the below mentioned "com.upgrad.quora.service" and "com.upgrad.quora.service.entity" packages respectively.
+ * The background jobs of the service layer are scheduled by {@link SchedulingConfiguration}.
  */
 @Configuration
 @ComponentScan("com.upgrad.quora.service")
@@ -0,0 +1,52 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.entity.UserAuthEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Access tokens resolved once for a unit of work made of several operations, such as a batch request. While a scope is
+ * open on the thread, {@link UserBusinessService#getCurrentUser} reads each token from the database the first time
+ * only; the expiry and sign-out checks still run on every call. Outside a scope every call reads the token.
+ */
+public final class AccessTokenScope {
+
+    private static final ThreadLocal<Map<String, UserAuthEntity>> CURRENT = new ThreadLocal<>();
+
+    private AccessTokenScope() {
+    }
+
+    /**
+     * Opens a scope on the current thread, replacing any left over from a previous unit of work.
+     */
+    public static void open() {
+        CURRENT.set(new HashMap<>());
+    }
+
+    /**
+     * Closes the scope of the current thread.
+     */
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return access token read through the scope if one is open, null tokens are read again on the next call
+     */
+    static UserAuthEntity resolve(final String accessToken, final Function<String, UserAuthEntity> lookup) {
+        Map<String, UserAuthEntity> tokens = CURRENT.get();
+        return tokens == null ? lookup.apply(accessToken) : tokens.computeIfAbsent(accessToken, lookup);
+    }
+
+    /**
+     * Forgets the tokens read in the scope, once a sign-out may have changed them.
+     */
+    static void clear() {
+        Map<String, UserAuthEntity> tokens = CURRENT.get();
+        if (tokens != null) {
+            tokens.clear();
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package com.upgrad.quora.service.business;
 
+import com.upgrad.quora.service.cache.ContentGeneration;
+import com.upgrad.quora.service.cache.HotQuestionCache;
+import com.upgrad.quora.service.cache.QuestionAnswersView;
+import com.upgrad.quora.service.cache.StaleReadCache;
 import com.upgrad.quora.service.constants.ErrorConditions;
 import com.upgrad.quora.service.constants.UserRole;
 import com.upgrad.quora.service.dao.AnswerDao;
 import com.upgrad.quora.service.entity.AnswerEntity;
 import com.upgrad.quora.service.entity.QuestionEntity;
 import com.upgrad.quora.service.entity.UserEntity;
+import com.upgrad.quora.service.event.DomainEventPublisher;
+import com.upgrad.quora.service.event.DomainEventType;
 import com.upgrad.quora.service.exception.AnswerNotFoundException;
 import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.EditConflictException;
+import com.upgrad.quora.service.exception.InvalidCursorException;
 import com.upgrad.quora.service.exception.InvalidQuestionException;
 import org.aspectj.weaver.patterns.TypePatternQuestions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.upgrad.quora.service.constants.ErrorConditions.*;
@@ -31,8 +43,29 @@ public class AnswerBusinessService {
   @Autowired
   QuestionService questionService;
 
+  @Autowired
+  FeedService feedService;
+
+  @Autowired
+  HotQuestionCache hotQuestionCache;
+
+  @Autowired
+  ContentGeneration contentGeneration;
+
+  @Autowired
+  StaleReadCache staleReadCache;
+
+  @Autowired
+  DomainEventPublisher domainEventPublisher;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Value("${quora.answers.max-page-size:100}")
+  int maxPageSize;
+
   /**
-   * Method takes a answerEntity as input
+   * Method takes a answerEntity as input and appends it to the feed of the question owner
    *
    * @param answerEntity
    * @return Answer entity created in the database for this request
@@ -40,7 +73,13 @@ public class AnswerBusinessService {
    */
   @Transactional(propagation = Propagation.REQUIRED)
   public AnswerEntity createAnswer(AnswerEntity answerEntity){
-    return answerDao.createAnswer(answerEntity);
+    AnswerEntity createdAnswer = answerDao.createAnswer(answerEntity);
+    feedService.answerReceived(createdAnswer);
+    hotQuestionCache.invalidateQuestion(answerEntity.getQuestion().getUuid());
+    contentGeneration.advance();
+    domainEventPublisher.publish(DomainEventType.ANSWER_CREATED, createdAnswer.getUuid(),
+        "questionId", createdAnswer.getQuestion().getUuid(), "userId", createdAnswer.getUser().getUuid());
+    return createdAnswer;
   }
 
   /**
@@ -51,7 +90,7 @@ public class AnswerBusinessService {
    * @throws AnswerNotFoundException
    *
    */
-  @Transactional(propagation = Propagation.REQUIRED)
+  @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
   public AnswerEntity getAnswer (String answerId) throws AnswerNotFoundException {
     AnswerEntity answer = answerDao.getAnswer(answerId);
     if(answer==null){
@@ -62,37 +101,60 @@ public class AnswerBusinessService {
   }
 
   /**
-   * Method takes a answerEntity,user as input
+   * Method takes a answerId, content, user and expected version as input and updates the answer with a single
+   * conditional UPDATE. The answer is only read back to report why the update did not match.
    *
-   * @param answerEntity,user
-   * @return Answer entity from the database where uuid=answerId
+   * @param answerId,content,user,expectedVersion expectedVersion may be null to skip the version check
+   * @return uuid of the answer that was updated
+   * @throws AnswerNotFoundException
    * @throws AuthorizationFailedException
+   * @throws EditConflictException
    *
    */
   @Transactional(propagation = Propagation.REQUIRED)
-  public AnswerEntity editAnswer(AnswerEntity answerEntity, UserEntity user) throws AuthorizationFailedException {
-    if (!answerEntity.getUser().getUuid().equals(user.getUuid())) {
-      throw new AuthorizationFailedException(ANS_EDIT_UNAUTHORIZED.getCode(), ANS_EDIT_UNAUTHORIZED.getMessage());
+  public String editAnswer(String answerId, String content, UserEntity user, Integer expectedVersion)
+      throws AnswerNotFoundException, AuthorizationFailedException, EditConflictException {
+    if (answerDao.editAnswer(answerId, content, user, expectedVersion) == 0) {
+      AnswerEntity answer = answerDao.getAnswer(answerId);
+      if (answer == null) {
+        throw new AnswerNotFoundException(ANS_NOT_FOUND.getCode(), ANS_NOT_FOUND.getMessage());
+      } else if (!answer.getUser().getUuid().equals(user.getUuid())) {
+        throw new AuthorizationFailedException(ANS_EDIT_UNAUTHORIZED.getCode(), ANS_EDIT_UNAUTHORIZED.getMessage());
+      } else {
+        throw new EditConflictException(ANS_EDIT_CONFLICT.getCode(), ANS_EDIT_CONFLICT.getMessage());
+      }
     }
-    AnswerEntity editedAnswer = answerDao.editAnswer(answerEntity);
-    return editedAnswer;
+    String questionId = answerDao.getQuestionUuid(answerId);
+    hotQuestionCache.invalidateQuestion(questionId);
+    contentGeneration.advance();
+    domainEventPublisher.publish(DomainEventType.ANSWER_EDITED, answerId, "questionId", questionId, "userId", user.getUuid());
+    return answerId;
   }
 
   /**
-   * Method takes a answerEntity,user as input
+   * Method takes a answerId,user as input and deletes the answer if the user owns it or is an admin.
+   * The ownership check is part of the DELETE statement, the answer is only read back when nothing was deleted.
    *
-   * @param answerEntity,user
+   * @param answerId,user
    * @return uuid of the answer that was deleted
+   * @throws AnswerNotFoundException
    * @throws AuthorizationFailedException
    *
    */
   @Transactional(propagation = Propagation.REQUIRED)
-  public String deleteAnswer(AnswerEntity answerEntity,UserEntity user) throws AuthorizationFailedException {
-    if (!answerEntity.getUser().getUuid().equals(user.getUuid()) && !user.getRole().equals(UserRole.ADMIN.getRole())){
+  public String deleteAnswer(String answerId,UserEntity user) throws AnswerNotFoundException, AuthorizationFailedException {
+    UserEntity owner = user.getRole().equals(UserRole.ADMIN.getRole()) ? null : user;
+    String questionId = answerDao.getQuestionUuid(answerId);
+    if (answerDao.deleteAnswer(answerId, owner) == 0) {
+      if (answerDao.getAnswer(answerId) == null) {
+        throw new AnswerNotFoundException(ANS_NOT_FOUND.getCode(), ANS_NOT_FOUND.getMessage());
+      }
       throw new AuthorizationFailedException(ANS_DELETE_UNAUTHORIZED.getCode(), ANS_DELETE_UNAUTHORIZED.getMessage());
     }
-    answerDao.deleteAnswer(answerEntity);
-    return answerEntity.getUuid();
+    hotQuestionCache.invalidateQuestion(questionId);
+    contentGeneration.advance();
+    domainEventPublisher.publish(DomainEventType.ANSWER_DELETED, answerId, "questionId", questionId, "userId", user.getUuid());
+    return answerId;
   }
 
   /**
@@ -103,10 +165,62 @@ public class AnswerBusinessService {
    *
    *
    */
-  @Transactional(propagation = Propagation.REQUIRED)
+  @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
   public List<AnswerEntity> getAllAnswersToQuestion(QuestionEntity question) {
     List<AnswerEntity> answerList = answerDao.getAllAnswersToQuestion(question);
       return  answerList;
    }
 
+  /**
+   * Method takes a questionId, cursor and page size as input and returns one page of the answers to the question in
+   * (date, id) order. The question and the first page are served from the hot question cache, so concurrent requests
+   * for the same question share one database load; later pages are read by keyset from the database. No transaction
+   * is held while waiting for the cache. The page as last read is returned instead when the database is slow or failing.
+   *
+   * @param questionId,cursor,pageSize cursor is null for the first page, pageSize is capped at quora.answers.max-page-size
+   * @return the question, the page of answers and the cursor of the next page
+   * @throws InvalidQuestionException if no question has the uuid
+   * @throws InvalidCursorException if the cursor was not returned by this method
+   *
+   */
+  public AnswerPage getAnswerPage(String questionId, String cursor, int pageSize)
+      throws InvalidQuestionException, InvalidCursorException {
+    int limit = Math.max(1, Math.min(pageSize, maxPageSize));
+    AnswerCursor after = cursor == null || cursor.isEmpty() ? null : AnswerCursor.decode(cursor);
+    AnswerPage answerPage = staleReadCache.get("answers:" + questionId + ":" + (after == null ? "" : cursor) + ":" + limit,
+        () -> loadAnswerPage(questionId, after, limit));
+    if (answerPage == null) {
+      throw new InvalidQuestionException(QUES_NOT_FOUND.getCode(), QUES_NOT_FOUND.getMessage());
+    }
+    return answerPage;
+  }
+
+  private AnswerPage loadAnswerPage(String questionId, AnswerCursor after, int limit) {
+    QuestionAnswersView view = hotQuestionCache.get(questionId);
+    if (view == null) {
+      return null;
+    }
+
+    List<QuestionAnswersView.Answer> answers;
+    boolean more;
+    if (after == null) {
+      answers = view.getAnswers();
+      more = answers.size() > limit || !view.isComplete();
+    } else {
+      answers = new ArrayList<>();
+      TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+      readOnlyTransaction.setReadOnly(true);
+      List<AnswerEntity> answerEntities = readOnlyTransaction.execute(status ->
+          answerDao.getAnswersPage(view.getQuestionId(), after.getDate(), after.getId(), limit + 1));
+      for (AnswerEntity answer : answerEntities) {
+        answers.add(QuestionAnswersView.Answer.of(answer));
+      }
+      more = answers.size() > limit;
+    }
+
+    List<QuestionAnswersView.Answer> page = answers.size() > limit ? answers.subList(0, limit) : answers;
+    String nextCursor = more && !page.isEmpty() ? AnswerCursor.after(page.get(page.size() - 1)).encode() : null;
+    return new AnswerPage(view.getQuestionUuid(), view.getQuestionContent(), page, nextCursor);
+  }
+
 }
@@ -0,0 +1,66 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.cache.QuestionAnswersView;
+import com.upgrad.quora.service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static com.upgrad.quora.service.constants.ErrorConditions.ANS_INVALID_CURSOR;
+
+/**
+ * Position in the (date, id) order of the answers to a question, exchanged with clients as an opaque cursor. A page
+ * read after a cursor starts with the first answer that follows it.
+ */
+final class AnswerCursor {
+
+    private final LocalDateTime date;
+    private final Integer id;
+
+    private AnswerCursor(final LocalDateTime date, final Integer id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    /**
+     * @param answer last answer of a page
+     * @return position just after the answer
+     */
+    static AnswerCursor after(final QuestionAnswersView.Answer answer) {
+        return new AnswerCursor(answer.getDate(), answer.getId());
+    }
+
+    /**
+     * @param cursor cursor as returned by {@link #encode()}
+     * @return position the cursor stands for
+     * @throws InvalidCursorException if the cursor was not returned by {@link #encode()}
+     */
+    static AnswerCursor decode(final String cursor) throws InvalidCursorException {
+        try {
+            final String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = position.indexOf('|');
+            return new AnswerCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Integer.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException(ANS_INVALID_CURSOR.getCode(), ANS_INVALID_CURSOR.getMessage());
+        }
+    }
+
+    /**
+     * @return the cursor to send to clients
+     */
+    String encode() {
+        final String position = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime getDate() {
+        return date;
+    }
+
+    Integer getId() {
+        return id;
+    }
+}
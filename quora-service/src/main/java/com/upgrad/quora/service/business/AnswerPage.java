@@ -0,0 +1,45 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.cache.QuestionAnswersView;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page of the answers to a question, oldest first, with the question they answer and the cursor to pass to fetch
+ * the page that follows it.
+ */
+public class AnswerPage {
+
+    private final String questionUuid;
+    private final String questionContent;
+    private final List<QuestionAnswersView.Answer> answers;
+    private final String nextCursor;
+
+    AnswerPage(final String questionUuid, final String questionContent, final List<QuestionAnswersView.Answer> answers,
+               final String nextCursor) {
+        this.questionUuid = questionUuid;
+        this.questionContent = questionContent;
+        this.answers = Collections.unmodifiableList(answers);
+        this.nextCursor = nextCursor;
+    }
+
+    public String getQuestionUuid() {
+        return questionUuid;
+    }
+
+    public String getQuestionContent() {
+        return questionContent;
+    }
+
+    public List<QuestionAnswersView.Answer> getAnswers() {
+        return answers;
+    }
+
+    /**
+     * @return cursor of the next page, null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
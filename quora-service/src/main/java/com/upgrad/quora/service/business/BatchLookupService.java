@@ -0,0 +1,138 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.dao.AnswerDao;
+import com.upgrad.quora.service.dao.QuestionDao;
+import com.upgrad.quora.service.dao.UserDao;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks up questions, answers and users for many keys at once, one query per call whatever the number of keys. Callers
+ * resolving a graph of entities (the GraphQL endpoint) collect the keys of a level and resolve them together instead of
+ * one query per entity. Entities are related through their read-only foreign key columns, so no lazy association is
+ * loaded on the way.
+ */
+@Service
+public class BatchLookupService {
+
+    @Autowired
+    private QuestionDao questionDao;
+
+    @Autowired
+    private AnswerDao answerDao;
+
+    @Autowired
+    private UserDao userDao;
+
+    /**
+     * Method fetches the latest questions, newest first
+     *
+     * @param limit maximum number of questions
+     * @return list of questions
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public List<QuestionEntity> getLatestQuestions(final int limit) {
+        return questionDao.getLatestQuestions(limit);
+    }
+
+    /**
+     * Method fetches the questions having the given uuids
+     *
+     * @param questionUuids uuids of the questions
+     * @return questions by uuid, uuids of questions that do not exist are missing
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public Map<String, QuestionEntity> getQuestionsByUuid(final Collection<String> questionUuids) {
+        Map<String, QuestionEntity> questions = new HashMap<>();
+        if (!questionUuids.isEmpty()) {
+            questionDao.getQuestions(questionUuids).forEach(question -> questions.put(question.getUuid(), question));
+        }
+        return questions;
+    }
+
+    /**
+     * Method fetches the questions having the given database ids
+     *
+     * @param questionIds database ids of the questions
+     * @return questions by id, ids of questions that do not exist are missing
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public Map<Integer, QuestionEntity> getQuestionsById(final Collection<Integer> questionIds) {
+        Map<Integer, QuestionEntity> questions = new HashMap<>();
+        if (!questionIds.isEmpty()) {
+            questionDao.getQuestionsByDatabaseIds(questionIds).forEach(question -> questions.put(question.getId(), question));
+        }
+        return questions;
+    }
+
+    /**
+     * Method fetches the latest questions posted by each of the given users
+     *
+     * @param userIds database ids of the users
+     * @param limit   maximum number of questions per user
+     * @return at most limit questions of each user, newest first; users without questions are missing
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public Map<Integer, List<QuestionEntity>> getQuestionsByUserId(final Collection<Integer> userIds, final int limit) {
+        Map<Integer, List<QuestionEntity>> questions = new HashMap<>();
+        if (!userIds.isEmpty() && limit > 0) {
+            questionDao.getLatestQuestionsOfUsers(userIds, limit).forEach(question ->
+                    questions.computeIfAbsent(question.getUserId(), userId -> new ArrayList<>()).add(question));
+        }
+        return questions;
+    }
+
+    /**
+     * Method fetches the first answers to each of the given questions
+     *
+     * @param questionIds database ids of the questions
+     * @param limit       maximum number of answers per question
+     * @return at most limit answers to each question, oldest first; questions without answers are missing
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public Map<Integer, List<AnswerEntity>> getAnswersByQuestionId(final Collection<Integer> questionIds, final int limit) {
+        Map<Integer, List<AnswerEntity>> answers = new HashMap<>();
+        if (!questionIds.isEmpty() && limit > 0) {
+            answerDao.getFirstAnswersToQuestions(questionIds, limit).forEach(answer ->
+                    answers.computeIfAbsent(answer.getQuestionId(), questionId -> new ArrayList<>()).add(answer));
+        }
+        return answers;
+    }
+
+    /**
+     * Method fetches the user having the given uuid
+     *
+     * @param userUuid uuid of the user
+     * @return user, null if no such user exists or it is deleted
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public UserEntity getUser(final String userUuid) {
+        return userDao.getUser(userUuid);
+    }
+
+    /**
+     * Method fetches the users having the given database ids
+     *
+     * @param userIds database ids of the users
+     * @return users by id, ids of users that do not exist or are deleted are missing
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public Map<Integer, UserEntity> getUsersById(final Collection<Integer> userIds) {
+        Map<Integer, UserEntity> users = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            userDao.getUsersByDatabaseIds(userIds).forEach(user -> users.put(user.getId(), user));
+        }
+        return users;
+    }
+}
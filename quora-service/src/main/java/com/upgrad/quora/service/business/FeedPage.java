@@ -0,0 +1,34 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.entity.FeedEntryEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page of the activity feed of a user, with the cursor to pass to fetch the page that follows it.
+ */
+public class FeedPage {
+
+    private final List<FeedEntryEntity> entries;
+    private final String nextCursor;
+
+    FeedPage(final List<FeedEntryEntity> entries, final String nextCursor) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return feed entries with their question and answer loaded, newest first
+     */
+    public List<FeedEntryEntity> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return cursor of the next page, null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
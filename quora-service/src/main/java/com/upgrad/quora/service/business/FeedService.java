@@ -0,0 +1,103 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.constants.FeedEntryType;
+import com.upgrad.quora.service.dao.FeedDao;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.FeedEntryEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import com.upgrad.quora.service.exception.InvalidCursorException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static com.upgrad.quora.service.constants.ErrorConditions.FEED_INVALID_CURSOR;
+
+/**
+ * Maintains the activity feed of each user: the questions the user posted and the answers to them. Entries are
+ * appended on write, in the transaction creating the question or answer, so that reading a feed is a single indexed
+ * query instead of one request per question.
+ */
+@Service
+public class FeedService {
+
+    @Autowired
+    private FeedDao feedDao;
+
+    @Value("${quora.feed.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Method appends the posting of a question to the feed of its owner. It must be called in the transaction
+     * creating the question.
+     *
+     * @param question the created question
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void questionPosted(QuestionEntity question) {
+        append(question.getUser(), FeedEntryType.QUESTION_POSTED, question, null);
+    }
+
+    /**
+     * Method appends an answer to the feed of the owner of the answered question. It must be called in the
+     * transaction creating the answer.
+     *
+     * @param answer the created answer, with its question
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void answerReceived(AnswerEntity answer) {
+        append(answer.getQuestion().getUser(), FeedEntryType.ANSWER_RECEIVED, answer.getQuestion(), answer);
+    }
+
+    /**
+     * Method fetches one page of the feed of a user, newest entries first
+     *
+     * @param user     user whose feed is fetched
+     * @param cursor   cursor returned with the previous page, null for the first page
+     * @param pageSize maximum number of entries in the page, capped at quora.feed.max-page-size
+     * @return the page of entries and the cursor of the next page
+     * @throws InvalidCursorException if the cursor was not returned by this method
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public FeedPage getFeed(UserEntity user, String cursor, int pageSize) throws InvalidCursorException {
+        int limit = Math.max(1, Math.min(pageSize, maxPageSize));
+        List<FeedEntryEntity> entries = feedDao.getFeed(user, decodeCursor(cursor), limit + 1);
+        if (entries.size() <= limit) {
+            return new FeedPage(entries, null);
+        }
+        List<FeedEntryEntity> page = entries.subList(0, limit);
+        return new FeedPage(page, encodeCursor(page.get(limit - 1).getId()));
+    }
+
+    private void append(UserEntity user, FeedEntryType type, QuestionEntity question, AnswerEntity answer) {
+        FeedEntryEntity feedEntry = new FeedEntryEntity();
+        feedEntry.setUser(user);
+        feedEntry.setType(type);
+        feedEntry.setQuestion(question);
+        feedEntry.setAnswer(answer);
+        feedEntry.setCreatedAt(LocalDateTime.now());
+        feedDao.createFeedEntry(feedEntry);
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) throws InvalidCursorException {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(FEED_INVALID_CURSOR.getCode(), FEED_INVALID_CURSOR.getMessage());
+        }
+    }
+}
@@ -13,15 +13,25 @@ import java.util.List;
 import com.upgrad.quora.service.constants.ErrorConditions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.upgrad.quora.service.cache.ContentGeneration;
+import com.upgrad.quora.service.cache.HotQuestionCache;
+import com.upgrad.quora.service.cache.StaleReadCache;
 import com.upgrad.quora.service.constants.UserRole;
 import com.upgrad.quora.service.dao.QuestionDao;
 import com.upgrad.quora.service.entity.QuestionEntity;
 import com.upgrad.quora.service.entity.UserEntity;
+import com.upgrad.quora.service.event.DomainEventPublisher;
+import com.upgrad.quora.service.event.DomainEventType;
 import com.upgrad.quora.service.exception.AuthorizationFailedException;
+import com.upgrad.quora.service.exception.EditConflictException;
 import com.upgrad.quora.service.exception.InvalidQuestionException;
+import com.upgrad.quora.service.ranking.TrendingQuestion;
+import com.upgrad.quora.service.ranking.TrendingQuestionRanking;
 
 import static com.upgrad.quora.service.constants.ErrorConditions.*;
 
@@ -31,15 +41,42 @@ public class QuestionService {
 	@Autowired
 	QuestionDao questionDao;
 
+	@Autowired
+	FeedService feedService;
+
+	@Autowired
+	DomainEventPublisher domainEventPublisher;
+
+	@Autowired
+	HotQuestionCache hotQuestionCache;
+
+	@Autowired
+	ContentGeneration contentGeneration;
+
+	@Autowired
+	StaleReadCache staleReadCache;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	TrendingQuestionRanking trendingQuestionRanking;
+
 	/**
-	 * Method takes a question entity and stores it in the database
+	 * Method takes a question entity and stores it in the database, appending it
+	 * to the feed of its owner
 	 * 
 	 * @param question Question to store in the database
 	 * @return Created question entity
 	 */
 	@Transactional(propagation = Propagation.REQUIRED)
 	public QuestionEntity createQuestion(QuestionEntity question) {
-		return questionDao.createQuestion(question);
+		QuestionEntity createdQuestion = questionDao.createQuestion(question);
+		feedService.questionPosted(createdQuestion);
+		contentGeneration.advance();
+		domainEventPublisher.publish(DomainEventType.QUESTION_CREATED, createdQuestion.getUuid(), "userId",
+				createdQuestion.getUser().getUuid());
+		return createdQuestion;
 	}
 
 	/**
@@ -49,7 +86,7 @@ public class QuestionService {
 	 * @return Question entity from the database table with id = questionId
 	 * @throws InvalidQuestionException
 	 */
-	@Transactional(propagation = Propagation.REQUIRED)
+	@Transactional(propagation = Propagation.REQUIRED, readOnly = true)
 	public QuestionEntity getQuestion(String questionId) throws InvalidQuestionException {
 		QuestionEntity question = questionDao.getQuestion(questionId);
 		if (question == null) {
@@ -60,66 +97,114 @@ public class QuestionService {
 	}
 
 	/**
-	 * Method takes question and user entities as parameters and updates the
-	 * question in the database if the user is the question owner
+	 * Method takes a question id, the new content and the user as parameters and
+	 * updates the question in the database if the user is the question owner. The
+	 * ownership and version checks are part of the UPDATE statement; the question
+	 * is only read back to report why an update did not match.
 	 * 
-	 * @param question Question to to be removed
-	 * @param user     Logged in User
+	 * @param questionId      Id of the question to be updated
+	 * @param content         New content of the question
+	 * @param user            Logged in User
+	 * @param expectedVersion Version the edit was based on, null to skip the
+	 *                        check
 	 * @return Id of the updated question
+	 * @throws InvalidQuestionException     if a question with input questionId
+	 *                                      doesn't exist
 	 * @throws AuthorizationFailedException if logged in user is not the question
 	 *                                      owner
+	 * @throws EditConflictException        if the question is no longer at the
+	 *                                      expected version
 	 */
 	@Transactional(propagation = Propagation.REQUIRED)
-	public String editQuestion(QuestionEntity question, UserEntity user) throws AuthorizationFailedException {
-		if (user.getId().equals(question.getUser().getId())) {
-			questionDao.updateQuestion(question);
-			return question.getUuid();
-		} else {
-			throw new AuthorizationFailedException(QUES_EDIT_UNAUTHORIZED.getCode(),
-					QUES_EDIT_UNAUTHORIZED.getMessage());
+	public String editQuestion(String questionId, String content, UserEntity user, Integer expectedVersion)
+			throws InvalidQuestionException, AuthorizationFailedException, EditConflictException {
+		if (questionDao.updateQuestion(questionId, content, user, expectedVersion) == 0) {
+			QuestionEntity question = questionDao.getQuestion(questionId);
+			if (question == null) {
+				throw new InvalidQuestionException(QUES_NOT_FOUND.getCode(), QUES_NOT_FOUND.getMessage());
+			} else if (!user.getId().equals(question.getUser().getId())) {
+				throw new AuthorizationFailedException(QUES_EDIT_UNAUTHORIZED.getCode(),
+						QUES_EDIT_UNAUTHORIZED.getMessage());
+			} else {
+				throw new EditConflictException(QUES_EDIT_CONFLICT.getCode(), QUES_EDIT_CONFLICT.getMessage());
+			}
 		}
+		hotQuestionCache.invalidateQuestion(questionId);
+		contentGeneration.advance();
+		domainEventPublisher.publish(DomainEventType.QUESTION_EDITED, questionId, "userId", user.getUuid());
+		return questionId;
 	}
 
 	/**
-	 * Method takes question and user entities as parameters and removes the
-	 * question from the database if the user is an admin or the question owner
+	 * Method takes a question id and the user as parameters and removes the
+	 * question from the database if the user is an admin or the question owner.
+	 * The ownership check is part of the DELETE statement; the question is only
+	 * read back to report why a delete did not match.
 	 * 
-	 * @param question Question to to be removed
-	 * @param user     Logged in User
+	 * @param questionId Id of the question to be removed
+	 * @param user       Logged in User
 	 * @return Id of the deleted question
+	 * @throws InvalidQuestionException     if a question with input questionId
+	 *                                      doesn't exist
 	 * @throws AuthorizationFailedException if logged in user is neither an admin
 	 *                                      nor the question owner
 	 */
 	@Transactional(propagation = Propagation.REQUIRED)
-	public String deleteQuestion(QuestionEntity question, UserEntity user) throws AuthorizationFailedException {
-		if (user.getId().equals(question.getUser().getId())
-				|| user.getRole().equalsIgnoreCase(UserRole.ADMIN.getRole())) {
-			questionDao.deleteQuestion(question);
-			return question.getUuid();
-		} else {
-			throw new AuthorizationFailedException(QUES_DELETE_UNAUTHORIZED.getCode(),
-					QUES_DELETE_UNAUTHORIZED.getMessage());
+	public String deleteQuestion(String questionId, UserEntity user)
+			throws InvalidQuestionException, AuthorizationFailedException {
+		UserEntity owner = user.getRole().equalsIgnoreCase(UserRole.ADMIN.getRole()) ? null : user;
+		if (questionDao.deleteQuestion(questionId, owner) == 0) {
+			if (questionDao.getQuestion(questionId) == null) {
+				throw new InvalidQuestionException(QUES_NOT_FOUND.getCode(), QUES_NOT_FOUND.getMessage());
+			} else {
+				throw new AuthorizationFailedException(QUES_DELETE_UNAUTHORIZED.getCode(),
+						QUES_DELETE_UNAUTHORIZED.getMessage());
+			}
 		}
+		hotQuestionCache.invalidateQuestion(questionId);
+		contentGeneration.advance();
+		domainEventPublisher.publish(DomainEventType.QUESTION_DELETED, questionId, "userId", user.getUuid());
+		return questionId;
 	}
 
 	/**
 	 * Method returns a list of all questions available in the database irrespective
-	 * of owner or posted user
+	 * of owner or posted user. The last list read is returned instead when the
+	 * database is slow or failing.
 	 * 
 	 * @return a list of all questions available in the database
 	 */
 	public List<QuestionEntity> getAllQuestions() {
-		return questionDao.getAllQuestions();
+		return staleReadCache.get("questions", () -> readOnly().execute(status -> questionDao.getAllQuestions()));
+	}
+
+	/**
+	 * Method returns the questions that received the most answers recently, as
+	 * ranked on the last refresh of the trending ranking. It does not query the
+	 * database.
+	 * 
+	 * @return trending questions, highest score first
+	 */
+	public List<TrendingQuestion> getTrendingQuestions() {
+		return trendingQuestionRanking.getTrending();
 	}
 
 	/**
 	 * Method returns a list of all questions posted by a specific user
 	 * 
 	 * @param user a user whose questions are to be fetched
-	 * @return a list of questions posted by the input user
+	 * @return a list of questions posted by the input user, possibly as last read
+	 *         if the database is slow or failing
 	 */
 	public List<QuestionEntity> getUserQuestions(UserEntity user) {
-		return questionDao.getUserQuestions(user);
+		return staleReadCache.get("questions-of-user:" + user.getUuid(),
+				() -> readOnly().execute(status -> questionDao.getUserQuestions(user)));
+	}
+
+	private TransactionTemplate readOnly() {
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		return readOnlyTransaction;
 	}
 
 }
@@ -0,0 +1,130 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.dao.UserAuthSweepDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Removes sessions from USER_AUTH once they have been expired or signed out for longer than the retention period.
+ * Until then the rows are kept, so that a stale token is still reported as signed out rather than unknown.
+ * When USER_AUTH is partitioned by EXPIRES_AT the sweeper also creates the upcoming daily partitions and drops the
+ * partitions that only hold sessions past the retention period; the remaining rows are removed in batches, each
+ * in its own transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "quora.user-auth.sweeper", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserAuthSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserAuthSweeper.class);
+
+    @Autowired
+    private UserAuthSweepDao userAuthSweepDao;
+
+    @Value("${quora.user-auth.sweeper.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${quora.user-auth.sweeper.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${quora.user-auth.sweeper.archive:false}")
+    private boolean archive;
+
+    @Value("${quora.user-auth.sweeper.partition-days-ahead:3}")
+    private int partitionDaysAhead;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserAuthSweeper(final PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${quora.user-auth.sweeper.interval-ms:300000}")
+    public void sweep() {
+        final LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        try {
+            if (transactionTemplate.execute(status -> userAuthSweepDao.isPartitioned())) {
+                maintainPartitions(cutoff);
+            }
+            long expired = sweepInBatches(cutoff, true);
+            long loggedOut = sweepInBatches(cutoff, false);
+            if (expired > 0 || loggedOut > 0) {
+                LOGGER.info("{} {} expired and {} signed out sessions older than {}",
+                        archive ? "Archived" : "Deleted", expired, loggedOut, cutoff);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Sweeping USER_AUTH failed, retrying on the next run", e);
+        }
+    }
+
+    private long sweepInBatches(final LocalDateTime cutoff, final boolean expired) {
+        long total = 0;
+        int swept;
+        do {
+            swept = transactionTemplate.execute(status -> expired
+                    ? userAuthSweepDao.sweepExpired(cutoff, batchSize, archive)
+                    : userAuthSweepDao.sweepLoggedOut(cutoff, batchSize, archive));
+            total += swept;
+        } while (swept == batchSize);
+        return total;
+    }
+
+    /**
+     * Method creates the partitions for today and the next days, and drops the daily partitions whose whole range
+     * lies before the cutoff.
+     */
+    private void maintainPartitions(final LocalDateTime cutoff) {
+        final LocalDate today = LocalDate.now();
+        for (int day = 0; day <= partitionDaysAhead; day++) {
+            final LocalDate partitionDay = today.plusDays(day);
+            try {
+                transactionTemplate.execute(status -> {
+                    userAuthSweepDao.createPartition(partitionDay);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                LOGGER.warn("Creating USER_AUTH partition for {} failed", partitionDay, e);
+            }
+        }
+
+        final List<String> partitions = transactionTemplate.execute(status -> userAuthSweepDao.getPartitions());
+        for (String partition : partitions) {
+            final LocalDate partitionDay = parsePartitionDay(partition);
+            if (partitionDay == null || partitionDay.plusDays(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            transactionTemplate.execute(status -> {
+                int archived = archive ? userAuthSweepDao.archivePartition(partition) : 0;
+                userAuthSweepDao.dropPartition(partition);
+                LOGGER.info("Dropped USER_AUTH partition {}{}", partition, archive ? " after archiving " + archived + " sessions" : "");
+                return null;
+            });
+        }
+    }
+
+    /**
+     * @return day of expiry of the sessions held by a daily partition, null for any other partition
+     */
+    private LocalDate parsePartitionDay(final String partition) {
+        if (!partition.startsWith(UserAuthSweepDao.PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(UserAuthSweepDao.PARTITION_PREFIX.length()), UserAuthSweepDao.PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
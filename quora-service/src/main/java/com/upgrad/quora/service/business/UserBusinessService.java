@@ -4,6 +4,8 @@ import com.upgrad.quora.service.constants.GetCurrentUserAction;
 import com.upgrad.quora.service.dao.UserDao;
 import com.upgrad.quora.service.entity.UserAuthEntity;
 import com.upgrad.quora.service.entity.UserEntity;
+import com.upgrad.quora.service.event.DomainEventPublisher;
+import com.upgrad.quora.service.event.DomainEventType;
 import com.upgrad.quora.service.exception.*;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.exception.ConstraintViolationException;
@@ -27,6 +29,12 @@ public class UserBusinessService {
     @Autowired
     private PasswordCryptographyProvider passwordCryptographyProvider;
 
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
     /**
      * Method takes a userUuid as a parameter and fetches the user entity from database
      *
@@ -36,7 +44,7 @@ public class UserBusinessService {
      * @throws AuthorizationFailedException
      * @throws UserNotFoundException
      */
-    @Transactional(propagation = Propagation.REQUIRED)
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public UserEntity getUser(final String userUuid, final String authorizationToken, GetCurrentUserAction action)
             throws AuthorizationFailedException, UserNotFoundException {
         UserEntity currentUser = getCurrentUser(authorizationToken, action);
@@ -59,7 +67,7 @@ public class UserBusinessService {
      * @author Anup Shanbhag (shanbhaganup@gmail.com)
      */
     public UserEntity getCurrentUser(String authorizationToken, GetCurrentUserAction action ) throws AuthorizationFailedException {
-        UserAuthEntity userAuthEntity = userDao.getUserAuthToken(authorizationToken);
+        UserAuthEntity userAuthEntity = AccessTokenScope.resolve(authorizationToken, userDao::getUserAuthToken);
         if (userAuthEntity == null) {
             throw new AuthorizationFailedException(USER_NOT_SIGNED_IN.getCode(), USER_NOT_SIGNED_IN.getMessage());
         } else if ((userAuthEntity.getLogoutAt() != null && userAuthEntity.getLogoutAt().isBefore(LocalDateTime.now()))
@@ -69,12 +77,18 @@ public class UserBusinessService {
                 case EDIT_ANSWER : throw new AuthorizationFailedException(ANS_EDIT_AUTH_FAILURE.getCode(),ANS_EDIT_AUTH_FAILURE.getMessage());
                 case DELETE_ANSWER : throw new AuthorizationFailedException(ANS_DELETE_AUTH_FAILURE.getCode(),ANS_DELETE_AUTH_FAILURE.getMessage());
                 case GET_ALL_ANSWER : throw new AuthorizationFailedException(ANS_GET_AUTH_FAILURE.getCode(),ANS_GET_AUTH_FAILURE.getMessage());
+                case GET_ANSWER : throw new AuthorizationFailedException(ANS_GET_ONE_AUTH_FAILURE.getCode(),ANS_GET_ONE_AUTH_FAILURE.getMessage());
                 case DELETE_USER: throw new AuthorizationFailedException(USER_SIGNED_OUT.getCode(),USER_SIGNED_OUT.getMessage());
                 case CREATE_QUESTION: throw new AuthorizationFailedException(QUES_CREATE_AUTH_FAILURE.getCode(),QUES_CREATE_AUTH_FAILURE.getMessage());
                 case GET_ALL_QUESTIONS: throw new AuthorizationFailedException(QUES_GET_ALL_AUTH_FAILURE.getCode(),QUES_GET_ALL_AUTH_FAILURE.getMessage());
+                case GET_QUESTION: throw new AuthorizationFailedException(QUES_GET_ONE_AUTH_FAILURE.getCode(),QUES_GET_ONE_AUTH_FAILURE.getMessage());
+                case GET_TRENDING_QUESTIONS: throw new AuthorizationFailedException(QUES_GET_TRENDING_AUTH_FAILURE.getCode(),QUES_GET_TRENDING_AUTH_FAILURE.getMessage());
                 case EDIT_QUESTION: throw new AuthorizationFailedException(QUES_EDIT_AUTH_FAILURE.getCode(),QUES_EDIT_AUTH_FAILURE.getMessage());
                 case DELETE_QUESTION: throw new AuthorizationFailedException(QUES_DELETE_AUTH_FAILURE.getCode(),QUES_DELETE_AUTH_FAILURE.getMessage());
                 case GET_ALL_QUESTIONS_BY_USER: throw new AuthorizationFailedException(QUES_GET_AUTH_FAILURE.getCode(),QUES_GET_AUTH_FAILURE.getMessage());
+                case GET_FEED: throw new AuthorizationFailedException(FEED_AUTH_FAILURE.getCode(),FEED_AUTH_FAILURE.getMessage());
+                case GRAPHQL_QUERY: throw new AuthorizationFailedException(GRAPHQL_AUTH_FAILURE.getCode(),GRAPHQL_AUTH_FAILURE.getMessage());
+                case BATCH: throw new AuthorizationFailedException(BATCH_AUTH_FAILURE.getCode(),BATCH_AUTH_FAILURE.getMessage());
                 default: throw new AuthorizationFailedException(USER_GET_AUTH_FAILURE.getCode(),USER_GET_AUTH_FAILURE.getMessage());
             }
         } else {
@@ -88,12 +102,15 @@ public class UserBusinessService {
      * @param newUser User profile to be stored in the database
      * @return Created user entity
      */
+    @Transactional(propagation = Propagation.REQUIRED, rollbackFor = SignUpRestrictedException.class)
     public UserEntity registerUser(UserEntity newUser) throws SignUpRestrictedException {
         try {
             String[] encryptedText = passwordCryptographyProvider.encrypt(newUser.getPassword());
             newUser.setSalt(encryptedText[0]);
             newUser.setPassword(encryptedText[1]);
-            return userDao.registerUser(newUser);
+            UserEntity createdUser = userDao.registerUser(newUser);
+            domainEventPublisher.publish(DomainEventType.USER_CREATED, createdUser.getUuid());
+            return createdUser;
         }catch (DataIntegrityViolationException dataIntegrityViolationException) {
             if (dataIntegrityViolationException.getCause() instanceof ConstraintViolationException) {
                 String constraintName = ((ConstraintViolationException) dataIntegrityViolationException.getCause()).getConstraintName();
@@ -161,12 +178,14 @@ public class UserBusinessService {
         } else {
             userAuthEntity.setLogoutAt(LocalDateTime.now());
             userDao.signoutUser(userAuthEntity);
+            AccessTokenScope.clear();
             return userAuthEntity.getUser();
         }
     }
 
     /**
-     * Method takes userId & access token as input and delete user.
+     * Method takes userId & access token as input and deletes the user. The user is marked as deleted and all its
+     * access tokens are signed out immediately, its questions, answers and tokens are purged in the background.
      *
      * @param token  User's authorization token
      * @param userId uuid of user to be deleted
@@ -175,17 +194,39 @@ public class UserBusinessService {
     @Transactional(propagation = Propagation.REQUIRED)
     public String deleteUser(String userId, String token)
             throws AuthorizationFailedException, UserNotFoundException {
-            UserEntity adminUser = this.getCurrentUser(token,GetCurrentUserAction.DELETE_USER);
-            if (!adminUser.getRole().equals("admin")) {
-                throw new AuthorizationFailedException(USER_DELETE_UNAUTHORIZED.getCode(), USER_DELETE_UNAUTHORIZED.getMessage());
-            } else {
-                UserEntity user = userDao.getUser(userId);
-                if (user == null) {
-                    throw new UserNotFoundException(USER_DELETE_USR_NOT_FOUND.getCode(), USER_DELETE_USR_NOT_FOUND.getMessage());
-                } else {
-                    userDao.deleteUser(user);
-                }
-                return userId;
-            }
+        getAdminUser(token);
+        if (userDao.markUserDeleted(userId, ZonedDateTime.now()) == 0) {
+            throw new UserNotFoundException(USER_DELETE_USR_NOT_FOUND.getCode(), USER_DELETE_USR_NOT_FOUND.getMessage());
+        }
+        userDao.signoutAllUserAuthTokens(userId, LocalDateTime.now());
+        AccessTokenScope.clear();
+        domainEventPublisher.publish(DomainEventType.USER_DELETED, userId);
+        userPurgeService.schedulePurge(userId);
+        return userId;
+    }
+
+    /**
+     * Method takes userId & access token as input and returns the progress of the purge of the deleted user.
+     *
+     * @param token  User's authorization token
+     * @param userId uuid of the deleted user
+     * @return progress of the purge
+     */
+    public UserPurgeProgress getUserPurgeProgress(String userId, String token)
+            throws AuthorizationFailedException, UserNotFoundException {
+        getAdminUser(token);
+        UserPurgeProgress progress = userPurgeService.getProgress(userId);
+        if (progress == null) {
+            throw new UserNotFoundException(USER_PURGE_NOT_FOUND.getCode(), USER_PURGE_NOT_FOUND.getMessage());
+        }
+        return progress;
+    }
+
+    private UserEntity getAdminUser(String token) throws AuthorizationFailedException {
+        UserEntity adminUser = this.getCurrentUser(token, GetCurrentUserAction.DELETE_USER);
+        if (!adminUser.getRole().equals("admin")) {
+            throw new AuthorizationFailedException(USER_DELETE_UNAUTHORIZED.getCode(), USER_DELETE_UNAUTHORIZED.getMessage());
+        }
+        return adminUser;
     }
 }
\ No newline at end of file
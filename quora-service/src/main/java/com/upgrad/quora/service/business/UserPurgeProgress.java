@@ -0,0 +1,71 @@
+package com.upgrad.quora.service.business;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the background purge of one deleted user. Updated by the purge job and read concurrently by
+ * the admin status endpoint.
+ */
+public class UserPurgeProgress {
+
+    public enum State {
+        PENDING, IN_PROGRESS, COMPLETED
+    }
+
+    private final String userUuid;
+    private final AtomicLong answersDeleted = new AtomicLong();
+    private final AtomicLong questionsDeleted = new AtomicLong();
+    private final AtomicLong authTokensDeleted = new AtomicLong();
+    private volatile State state = State.PENDING;
+    private volatile ZonedDateTime completedAt;
+
+    public UserPurgeProgress(final String userUuid) {
+        this.userUuid = userUuid;
+    }
+
+    void addAnswersDeleted(final long count) {
+        answersDeleted.addAndGet(count);
+    }
+
+    void addQuestionsDeleted(final long count) {
+        questionsDeleted.addAndGet(count);
+    }
+
+    void addAuthTokensDeleted(final long count) {
+        authTokensDeleted.addAndGet(count);
+    }
+
+    void started() {
+        state = State.IN_PROGRESS;
+    }
+
+    void completed() {
+        completedAt = ZonedDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    public String getUserUuid() {
+        return userUuid;
+    }
+
+    public long getAnswersDeleted() {
+        return answersDeleted.get();
+    }
+
+    public long getQuestionsDeleted() {
+        return questionsDeleted.get();
+    }
+
+    public long getAuthTokensDeleted() {
+        return authTokensDeleted.get();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public ZonedDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
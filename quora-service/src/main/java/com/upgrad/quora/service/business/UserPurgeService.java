@@ -0,0 +1,175 @@
+package com.upgrad.quora.service.business;
+
+import com.upgrad.quora.service.cache.ContentGeneration;
+import com.upgrad.quora.service.cache.HotQuestionCache;
+import com.upgrad.quora.service.dao.UserDao;
+import com.upgrad.quora.service.dao.UserPurgeDao;
+import com.upgrad.quora.service.entity.UserEntity;
+import com.upgrad.quora.service.event.DomainEventPublisher;
+import com.upgrad.quora.service.event.DomainEventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Removes the questions, answers and access tokens of users marked as deleted, followed by the user itself.
+ * Every batch runs in its own short transaction, so a large account never holds locks on QUESTION and ANSWER
+ * for longer than one batch. The job is restartable: users still marked as deleted are picked up again on the
+ * next run, and running it concurrently on several instances only deletes the same rows once.
+ */
+@Service
+public class UserPurgeService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserPurgeService.class);
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private UserPurgeDao userPurgeDao;
+
+    @Autowired
+    private HotQuestionCache hotQuestionCache;
+
+    @Autowired
+    private ContentGeneration contentGeneration;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Value("${quora.user-purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${quora.user-purge.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    @Value("${quora.user-purge.retain-completed-minutes:60}")
+    private long retainCompletedMinutes;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, UserPurgeProgress> progressByUser = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UserPurgeService(final PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Method registers the purge of a user marked as deleted by the current transaction. The purge is reported
+     * as pending once the transaction has committed.
+     *
+     * @param userUuid uuid of the deleted user
+     */
+    public void schedulePurge(final String userUuid) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    progressByUser.putIfAbsent(userUuid, new UserPurgeProgress(userUuid));
+                }
+            });
+        } else {
+            progressByUser.putIfAbsent(userUuid, new UserPurgeProgress(userUuid));
+        }
+    }
+
+    /**
+     * Method takes the uuid of a deleted user and returns the progress of its purge
+     *
+     * @param userUuid uuid of the deleted user
+     * @return progress of the purge, null if no purge of the user is known to this instance
+     */
+    public UserPurgeProgress getProgress(final String userUuid) {
+        return progressByUser.get(userUuid);
+    }
+
+    @Scheduled(fixedDelayString = "${quora.user-purge.interval-ms:5000}")
+    public void purgeDeletedUsers() {
+        evictCompleted();
+        List<UserEntity> deletedUsers = transactionTemplate.execute(status -> userDao.getDeletedUsers());
+        for (UserEntity user : deletedUsers) {
+            try {
+                purge(user);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Purge of deleted user {} failed, retrying on the next run", user.getUuid(), e);
+            }
+        }
+    }
+
+    private void purge(final UserEntity user) {
+        final Integer userId = user.getId();
+        final UserPurgeProgress progress = progressByUser.computeIfAbsent(user.getUuid(), UserPurgeProgress::new);
+        progress.started();
+        LOGGER.info("Purging deleted user {}", user.getUuid());
+
+        deleteInBatches(user, "answers", userPurgeDao::deleteAnswersByUser, progress::addAnswersDeleted);
+        deleteInBatches(user, "answers to questions", userPurgeDao::deleteAnswersToUserQuestions, progress::addAnswersDeleted);
+        deleteInBatches(user, "questions", userPurgeDao::deleteQuestionsByUser, progress::addQuestionsDeleted);
+        deleteInBatches(user, "access tokens", userPurgeDao::deleteUserAuthTokens, progress::addAuthTokensDeleted);
+        transactionTemplate.execute(status -> {
+            domainEventPublisher.publish(DomainEventType.USER_PURGED, user.getUuid());
+            return userPurgeDao.deleteUser(userId);
+        });
+        hotQuestionCache.invalidateAll();
+        contentGeneration.advance();
+
+        progress.completed();
+        LOGGER.info("Purged deleted user {}: {} answers, {} questions, {} access tokens", user.getUuid(),
+                progress.getAnswersDeleted(), progress.getQuestionsDeleted(), progress.getAuthTokensDeleted());
+    }
+
+    /**
+     * Method runs one kind of batch delete for the user until a batch comes back short, committing each batch
+     * and pausing between batches so that the purge does not crowd out request traffic.
+     */
+    private void deleteInBatches(final UserEntity user, final String description, final BatchDelete batchDelete,
+                                 final LongConsumer progress) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> batchDelete.delete(user.getId(), batchSize));
+            progress.accept(deleted);
+            if (deleted > 0) {
+                LOGGER.debug("Deleted {} {} of user {}", deleted, description, user.getUuid());
+            }
+            if (deleted == batchSize) {
+                pause();
+            }
+        } while (deleted == batchSize);
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User purge interrupted", e);
+        }
+    }
+
+    private void evictCompleted() {
+        final ZonedDateTime evictBefore = ZonedDateTime.now().minusMinutes(retainCompletedMinutes);
+        progressByUser.values().removeIf(progress -> progress.getCompletedAt() != null
+                && progress.getCompletedAt().isBefore(evictBefore));
+    }
+
+    private interface BatchDelete {
+        int delete(Integer userId, int batchSize);
+    }
+}
@@ -0,0 +1,57 @@
+package com.upgrad.quora.service.cache;
+
+import com.upgrad.quora.service.event.DomainEvent;
+import com.upgrad.quora.service.event.DomainEventConsumer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation of the questions and answers, advanced by every write once its transaction has committed. Caches of
+ * content derived from many questions or answers, such as rendered list pages, remember the generation they were
+ * built at and are stale as soon as it has moved on, without tracking which entities they hold. A cache reading the
+ * generation before building its content cannot miss a write committed while it builds.
+ * <p>
+ * Writes on this instance advance the generation at once; writes on other instances advance it when their domain
+ * event reaches this instance from the outbox, so their pages are stale past the relay delay at most.
+ */
+@Component
+public class ContentGeneration implements DomainEventConsumer {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @return current generation
+     */
+    public long current() {
+        return generation.get();
+    }
+
+    /**
+     * Method advances the generation once the current transaction has committed, or at once outside a transaction
+     */
+    public void advance() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Method advances the generation on every change relayed from the outbox, whichever instance made it
+     *
+     * @param event domain event from the outbox
+     */
+    @Override
+    public void accept(final DomainEvent event) {
+        generation.incrementAndGet();
+    }
+}
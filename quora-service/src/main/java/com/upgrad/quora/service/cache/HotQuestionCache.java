@@ -0,0 +1,262 @@
+package com.upgrad.quora.service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.common.ServiceUnavailableException;
+import com.upgrad.quora.service.dao.AnswerDao;
+import com.upgrad.quora.service.dao.QuestionDao;
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import com.upgrad.quora.service.event.DomainEvent;
+import com.upgrad.quora.service.event.DomainEventConsumer;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of questions with the first page of their answers, keyed by question uuid. Concurrent misses for the same
+ * question wait for one shared load, so a viral question costs the database one pair of queries per expiry rather
+ * than one per request. The load runs on a loader thread under the {@link RequestDeadline#shared() shared deadline} of
+ * the request that started it, and each request waits for it no longer than its own deadline, failing with GEN-004 past
+ * it. The cache is bounded by the total number of answers it holds; a view holds at most
+ * max-page-size answers, so that the first page of any request can be served from it.
+ * <p>
+ * Writers invalidate the affected question once their transaction has committed, and every instance invalidates it
+ * again when the change reaches it as a domain event from the outbox, so writes made on other instances are not
+ * served past the relay delay. Events recorded without the question of their answer are mapped back to it through an
+ * index of the cached views; an answer changed while its question was being loaded marks that load as possibly stale,
+ * and it is reloaded once by the first read that finds it.
+ */
+@Component
+public class HotQuestionCache implements DomainEventConsumer {
+
+    @Autowired
+    private QuestionDao questionDao;
+
+    @Autowired
+    private AnswerDao answerDao;
+
+    private final int firstPageSize;
+    private final ExecutorService loaderExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AsyncLoadingCache<String, QuestionAnswersView> cache;
+
+    /**
+     * Cached view of the question of each cached answer, by answer uuid.
+     */
+    private final Map<String, QuestionAnswersView> viewByAnswer = new ConcurrentHashMap<>();
+
+    /**
+     * Number of answer changes that could not be mapped to a cached question.
+     */
+    private final AtomicLong unmappedAnswerChanges = new AtomicLong();
+
+    @Autowired
+    public HotQuestionCache(final PlatformTransactionManager transactionManager,
+                            @Value("${quora.cache.hot-question.max-weight:100000}") final long maxWeight,
+                            @Value("${quora.cache.hot-question.ttl-seconds:60}") final long ttlSeconds,
+                            @Value("${quora.cache.hot-question.loader-threads:8}") final int loaderThreads,
+                            @Value("${quora.answers.max-page-size:100}") final int firstPageSize) {
+        this.firstPageSize = firstPageSize;
+        this.loaderExecutor = Executors.newFixedThreadPool(loaderThreads, new CustomizableThreadFactory("hot-question-loader-"));
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String questionUuid, QuestionAnswersView view) -> view.getWeight())
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .executor(loaderExecutor)
+                .removalListener((String questionUuid, QuestionAnswersView view, RemovalCause cause) -> unindex(view))
+                .buildAsync((String questionUuid, Executor executor) -> {
+                    final RequestDeadline current = RequestDeadline.current();
+                    final RequestDeadline deadline = current == null ? null : current.shared();
+                    return CompletableFuture.supplyAsync(() -> {
+                        RequestDeadline.attach(deadline);
+                        try {
+                            return load(questionUuid);
+                        } finally {
+                            RequestDeadline.end();
+                        }
+                    }, executor);
+                });
+    }
+
+    /**
+     * Method takes a question uuid and returns the question with the first page of its answers, loading it if it
+     * is not cached
+     *
+     * @param questionUuid uuid of the question
+     * @return the question with its first answers, null if no such question exists
+     */
+    public QuestionAnswersView get(final String questionUuid) {
+        final CompletableFuture<QuestionAnswersView> load = cache.get(questionUuid);
+        final QuestionAnswersView view = join(questionUuid, load);
+        if (view == null || !view.isPossiblyStale()) {
+            return view;
+        }
+        // only the first reader of a stale view drops its load; the others join the reload it starts
+        cache.asMap().remove(questionUuid, load);
+        return join(questionUuid, cache.get(questionUuid));
+    }
+
+    /**
+     * Method evicts a question once the current transaction has committed
+     *
+     * @param questionUuid uuid of the changed question
+     */
+    public void invalidateQuestion(final String questionUuid) {
+        afterCommit(() -> cache.synchronous().invalidate(questionUuid));
+    }
+
+    /**
+     * Method evicts every question once the current transaction has committed
+     */
+    public void invalidateAll() {
+        afterCommit(this::evictAll);
+    }
+
+    /**
+     * Method evicts the question changed by a domain event, whichever instance made the change
+     *
+     * @param event domain event from the outbox
+     */
+    @Override
+    public void accept(final DomainEvent event) {
+        switch (event.getType()) {
+            case QUESTION_EDITED:
+            case QUESTION_DELETED:
+                cache.synchronous().invalidate(event.getAggregateId());
+                break;
+            case ANSWER_CREATED:
+            case ANSWER_EDITED:
+            case ANSWER_DELETED:
+                final String questionUuid = event.getPayload().get("questionId");
+                if (questionUuid != null) {
+                    cache.synchronous().invalidate(questionUuid);
+                } else {
+                    evictAnswer(event.getAggregateId());
+                }
+                break;
+            case USER_PURGED:
+                evictAll();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdown();
+    }
+
+    private QuestionAnswersView load(final String questionUuid) {
+        final long changesBefore = unmappedAnswerChanges.get();
+        final QuestionAnswersView loaded = readOnlyTransaction.execute(status -> {
+            QuestionEntity question = questionDao.getQuestion(questionUuid);
+            if (question == null) {
+                return null;
+            }
+            List<QuestionAnswersView.Answer> answers = new ArrayList<>();
+            for (AnswerEntity answer : answerDao.getAnswersPage(question.getId(), null, null, firstPageSize + 1)) {
+                answers.add(QuestionAnswersView.Answer.of(answer));
+            }
+            boolean complete = answers.size() <= firstPageSize;
+            return new QuestionAnswersView(question.getId(), question.getUuid(), question.getContent(),
+                    complete ? answers : new ArrayList<>(answers.subList(0, firstPageSize)), complete, false);
+        });
+        if (loaded == null) {
+            return null;
+        }
+        for (QuestionAnswersView.Answer answer : loaded.getAnswers()) {
+            viewByAnswer.put(answer.getUuid(), loaded);
+        }
+        if (unmappedAnswerChanges.get() != changesBefore) {
+            unindex(loaded);
+            return new QuestionAnswersView(loaded.getQuestionId(), loaded.getQuestionUuid(), loaded.getQuestionContent(),
+                    loaded.getAnswers(), loaded.isComplete(), true);
+        }
+        return loaded;
+    }
+
+    private void evictAnswer(final String answerUuid) {
+        final QuestionAnswersView view = viewByAnswer.get(answerUuid);
+        if (view != null) {
+            cache.synchronous().invalidate(view.getQuestionUuid());
+        } else {
+            unmappedAnswerChanges.incrementAndGet();
+        }
+    }
+
+    private void evictAll() {
+        unmappedAnswerChanges.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    private void unindex(final QuestionAnswersView view) {
+        if (view == null) {
+            return;
+        }
+        for (QuestionAnswersView.Answer answer : view.getAnswers()) {
+            viewByAnswer.remove(answer.getUuid(), view);
+        }
+    }
+
+    private static QuestionAnswersView join(final String questionUuid, final CompletableFuture<QuestionAnswersView> load) {
+        final RequestDeadline deadline = RequestDeadline.current();
+        try {
+            if (deadline == null) {
+                return load.get();
+            }
+            return load.get(Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException(GenericErrorCode.GEN_004, deadline.getTimeoutMillis());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for question " + questionUuid, e);
+        }
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.upgrad.quora.service.cache;
+
+import com.upgrad.quora.service.entity.AnswerEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a question and the first page of its answers, in (date, id) order, as served by the
+ * {@link HotQuestionCache}. Instances are shared between requests, so they hold plain values instead of entities.
+ */
+public final class QuestionAnswersView {
+
+    private final Integer questionId;
+    private final String questionUuid;
+    private final String questionContent;
+    private final List<Answer> answers;
+    private final boolean complete;
+    private final boolean possiblyStale;
+
+    QuestionAnswersView(final Integer questionId, final String questionUuid, final String questionContent,
+                        final List<Answer> answers, final boolean complete, final boolean possiblyStale) {
+        this.questionId = questionId;
+        this.questionUuid = questionUuid;
+        this.questionContent = questionContent;
+        this.answers = Collections.unmodifiableList(answers);
+        this.complete = complete;
+        this.possiblyStale = possiblyStale;
+    }
+
+    /**
+     * @return database id of the question, to page through the answers that follow the first page
+     */
+    public Integer getQuestionId() {
+        return questionId;
+    }
+
+    public String getQuestionUuid() {
+        return questionUuid;
+    }
+
+    public String getQuestionContent() {
+        return questionContent;
+    }
+
+    /**
+     * @return the first answers to the question, oldest first
+     */
+    public List<Answer> getAnswers() {
+        return answers;
+    }
+
+    /**
+     * @return true if the question has no answers beyond {@link #getAnswers()}
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return true if an answer changed while the view was loaded and it may already be out of date
+     */
+    boolean isPossiblyStale() {
+        return possiblyStale;
+    }
+
+    int getWeight() {
+        return 1 + answers.size();
+    }
+
+    public static final class Answer {
+
+        private final Integer id;
+        private final String uuid;
+        private final String content;
+        private final LocalDateTime date;
+
+        private Answer(final Integer id, final String uuid, final String content, final LocalDateTime date) {
+            this.id = id;
+            this.uuid = uuid;
+            this.content = content;
+            this.date = date;
+        }
+
+        /**
+         * @param answer answer entity, read in the current transaction
+         * @return snapshot of the answer
+         */
+        public static Answer of(final AnswerEntity answer) {
+            return new Answer(answer.getId(), answer.getUuid(), answer.getAns(), answer.getDate());
+        }
+
+        /**
+         * @return database id of the answer, the tie breaker of the (date, id) order
+         */
+        public Integer getId() {
+            return id;
+        }
+
+        public String getUuid() {
+            return uuid;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public LocalDateTime getDate() {
+            return date;
+        }
+    }
+}
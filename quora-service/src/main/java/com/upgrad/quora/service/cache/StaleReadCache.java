@@ -0,0 +1,260 @@
+package com.upgrad.quora.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.common.ServiceUnavailableException;
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.PersistenceException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Last known good results of the read endpoints, served stale while the database is slow or failing. Concurrent reads
+ * of the same key share one load, so a slow database sees a single refresh per key instead of one query per request.
+ * A read with a result loaded within the last max-stale-seconds to fall back on waits for the shared load at most
+ * latency-threshold-ms; it then returns that result and the load goes on in the background on a loader thread,
+ * replacing the result once it completes. The loader threads queue at most loader-queue loads; past that a read
+ * returns its stale result without refreshing it, or loads on its own thread without sharing the load if it has none.
+ * <p>
+ * A loader thread runs under the {@link RequestDeadline#shared() shared deadline} of the read that started the load, so
+ * the timeout a client asks for does not fail the load for every read waiting on it. A read without a deadline and
+ * without a result to fall back on loads on its own thread. No read waits past its own deadline: a read with a stale
+ * result then returns it, and one without fails with GEN-004.
+ * <p>
+ * Reads inside a transaction bypass the cache and load on the calling thread, so they see the writes of that
+ * transaction. The age of the oldest stale result returned to the current request is kept for the response headers;
+ * whatever runs the requests clears it with {@link #clearStaleness()} once each request is done.
+ */
+@Component
+public class StaleReadCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaleReadCache.class);
+
+    private static final ThreadLocal<Staleness> STALENESS = new ThreadLocal<>();
+
+    private final long latencyThresholdMillis;
+    private final ExecutorService loaderExecutor;
+    private final Cache<String, Result> results;
+    private final Map<String, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StaleReadCache(@Value("${quora.stale-reads.max-stale-seconds:300}") final long maxStaleSeconds,
+                          @Value("${quora.stale-reads.latency-threshold-ms:500}") final long latencyThresholdMillis,
+                          @Value("${quora.stale-reads.loader-threads:8}") final int loaderThreads,
+                          @Value("${quora.stale-reads.loader-queue:100}") final int loaderQueue,
+                          @Value("${quora.stale-reads.max-entries:10000}") final long maxEntries) {
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.loaderExecutor = new ThreadPoolExecutor(loaderThreads, loaderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(loaderQueue), new CustomizableThreadFactory("stale-read-loader-"));
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(maxStaleSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Method returns the result of a read, loading it, or a stale result of the same read if the load is slow or
+     * fails on the database. Results that are null are returned but not kept.
+     *
+     * @param key    identifies the read and its parameters
+     * @param loader runs the read; it opens its own transaction if it needs one
+     * @return result of the read, possibly stale
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key, final Supplier<T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        final RequestDeadline deadline = RequestDeadline.current();
+        final Result stale = results.getIfPresent(key);
+        final CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> load = loads.putIfAbsent(key, created);
+        if (load == null) {
+            load = created;
+            if (stale == null && deadline == null) {
+                load(key, loader, created);
+            } else {
+                final RequestDeadline loadDeadline = deadline == null ? null : deadline.shared();
+                try {
+                    loaderExecutor.execute(() -> {
+                        RequestDeadline.attach(loadDeadline);
+                        try {
+                            load(key, loader, created);
+                        } finally {
+                            RequestDeadline.end();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    loads.remove(key, created);
+                    created.completeExceptionally(new ServiceUnavailableException(GenericErrorCode.GEN_005, "read"));
+                    return stale == null ? loader.get() : (T) served(stale, false);
+                }
+            }
+        }
+
+        if (stale == null) {
+            return (T) join(load, deadline);
+        }
+        final long waitMillis = deadline == null ? latencyThresholdMillis
+                : Math.min(latencyThresholdMillis, deadline.remainingMillis());
+        try {
+            return (T) load.get(Math.max(0, waitMillis), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return (T) served(stale, false);
+        } catch (ExecutionException e) {
+            if (isDatabaseFailure(e.getCause())) {
+                LOGGER.warn("Read {} failed, serving the result loaded {}s ago", key, stale.ageSeconds(), e.getCause());
+                return (T) served(stale, true);
+            }
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return (T) served(stale, false);
+        }
+    }
+
+    /**
+     * Method returns and forgets the staleness of the results returned to the current request
+     *
+     * @return age in seconds of the oldest stale result, and whether a load failed, null if every result was fresh
+     */
+    public static Staleness takeStaleness() {
+        final Staleness staleness = STALENESS.get();
+        STALENESS.remove();
+        return staleness;
+    }
+
+    /**
+     * Method forgets the staleness of the results returned to the request that ran on the current thread, whether or
+     * not it was reported
+     */
+    public static void clearStaleness() {
+        STALENESS.remove();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdown();
+    }
+
+    private void load(final String key, final Supplier<?> loader, final CompletableFuture<Object> load) {
+        try {
+            final Object value = loader.get();
+            if (value != null) {
+                results.put(key, new Result(value, System.nanoTime()));
+            }
+            loads.remove(key, load);
+            load.complete(value);
+        } catch (Throwable e) {
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+        }
+    }
+
+    private static Object served(final Result stale, final boolean loadFailed) {
+        final long ageSeconds = stale.ageSeconds();
+        final Staleness staleness = STALENESS.get();
+        if (staleness == null) {
+            STALENESS.set(new Staleness(ageSeconds, loadFailed));
+        } else {
+            STALENESS.set(new Staleness(Math.max(ageSeconds, staleness.getAgeSeconds()),
+                    loadFailed || staleness.isLoadFailed()));
+        }
+        return stale.value;
+    }
+
+    private static Object join(final CompletableFuture<Object> load, final RequestDeadline deadline) {
+        try {
+            if (deadline == null) {
+                return load.get();
+            }
+            return load.get(Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException(GenericErrorCode.GEN_004, deadline.getTimeoutMillis());
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a read", e);
+        }
+    }
+
+    private static RuntimeException propagate(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static boolean isDatabaseFailure(final Throwable cause) {
+        return cause instanceof DataAccessException || cause instanceof PersistenceException
+                || cause instanceof TransactionException || cause instanceof ServiceUnavailableException;
+    }
+
+    /**
+     * Staleness of the results returned to a request
+     */
+    public static final class Staleness {
+
+        private final long ageSeconds;
+        private final boolean loadFailed;
+
+        private Staleness(final long ageSeconds, final boolean loadFailed) {
+            this.ageSeconds = ageSeconds;
+            this.loadFailed = loadFailed;
+        }
+
+        /**
+         * @return age in seconds of the oldest stale result
+         */
+        public long getAgeSeconds() {
+            return ageSeconds;
+        }
+
+        /**
+         * @return true if a stale result stood in for a load that failed, false if only for loads that were slow
+         */
+        public boolean isLoadFailed() {
+            return loadFailed;
+        }
+    }
+
+    private static final class Result {
+
+        private final Object value;
+        private final long loadedAtNanos;
+
+        private Result(final Object value, final long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        private long ageSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - loadedAtNanos);
+        }
+    }
+}
@@ -10,7 +10,35 @@ public enum GenericErrorCode implements ErrorCode {
      * <b>Cause:</b> This error could have occurred due to undetermined runtime errors.<br>
      * <b>Action: None</b><br>
      */
-    GEN_001("GEN-001", "An unexpected error occurred. Please contact System Administrator");
+    GEN_001("GEN-001", "An unexpected error occurred. Please contact System Administrator"),
+
+    /**
+     * Error message: <b>SQL statement budget of {0} exceeded, request issued {1} statements</b><br>
+     * <b>Cause:</b> The request issued more SQL statements than quora.sql-trace.max-statements-per-request allows.<br>
+     * <b>Action: Look for N+1 query patterns in the DAO calls made by the request</b><br>
+     */
+    GEN_002("GEN-002", "SQL statement budget of {0} exceeded, request issued {1} statements"),
+
+    /**
+     * Error message: <b>Too many requests, retry after {0} seconds</b><br>
+     * <b>Cause:</b> The access token or client address sent more requests than its endpoint group allows.<br>
+     * <b>Action: Retry after the number of seconds given in the Retry-After header</b><br>
+     */
+    GEN_003("GEN-003", "Too many requests, retry after {0} seconds"),
+
+    /**
+     * Error message: <b>Request deadline of {0} ms exceeded</b><br>
+     * <b>Cause:</b> The request ran out of its time budget before or during a database query.<br>
+     * <b>Action: Retry the request later, or with a larger X-Request-Timeout-Ms</b><br>
+     */
+    GEN_004("GEN-004", "Request deadline of {0} ms exceeded"),
+
+    /**
+     * Error message: <b>Too many concurrent database {0} calls, retry later</b><br>
+     * <b>Cause:</b> The database calls in flight reached the adaptive limit of quora.db-limit.<br>
+     * <b>Action: Retry the request later, with backoff</b><br>
+     */
+    GEN_005("GEN-005", "Too many concurrent database {0} calls, retry later");
 
     private static final Map<String, GenericErrorCode> LOOKUP = new HashMap<String, GenericErrorCode>();
 
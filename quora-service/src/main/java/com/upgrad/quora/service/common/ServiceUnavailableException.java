@@ -0,0 +1,18 @@
+package com.upgrad.quora.service.common;
+
+/**
+ * Raised when a request is given up before or while it uses the database, so it can be retried once the database
+ * has capacity again. The web layer answers it with 503 Service Unavailable.
+ */
+public class ServiceUnavailableException extends UnexpectedException {
+
+    private static final long serialVersionUID = -4811329125467309113L;
+
+    public ServiceUnavailableException(final ErrorCode errorCode, final Object... parameters) {
+        super(errorCode, parameters);
+    }
+
+    public ServiceUnavailableException(final ErrorCode errorCode, final Throwable cause, final Object... parameters) {
+        super(errorCode, cause, parameters);
+    }
+}
@@ -17,14 +17,18 @@ public enum ErrorConditions {
     USER_SIGNED_OUT("ATHR-002","User is signed out"),
     USER_DELETE_UNAUTHORIZED("ATHR-003","Unauthorized Access, Entered user is not an admin"),
     USER_DELETE_USR_NOT_FOUND("USR-001","User with entered uuid to be deleted does not exist"),
+    USER_PURGE_NOT_FOUND("USR-001","User with entered uuid has no deletion in progress"),
 
     QUES_CREATE_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to post a question"),
 
     QUES_GET_ALL_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to get all questions"),
+    QUES_GET_ONE_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to get the question"),
+    QUES_GET_TRENDING_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to get the trending questions"),
 
     QUES_EDIT_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to edit the question"),
     QUES_EDIT_UNAUTHORIZED("ATHR-003","Only the question owner can edit the question"),
     QUES_NOT_FOUND("QUES-001","Entered question uuid does not exist"),
+    QUES_EDIT_CONFLICT("QUES-002","The question has been modified since it was fetched, fetch it again to edit"),
 
     QUES_DELETE_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to delete a question"),
     QUES_DELETE_UNAUTHORIZED("ATHR-003","Only the question owner or admin can delete the question"),
@@ -38,12 +42,25 @@ public enum ErrorConditions {
     ANS_EDIT_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to edit an answer"),
     ANS_EDIT_UNAUTHORIZED("ATHR-003","Only the answer owner can edit the answer"),
     ANS_NOT_FOUND("ANS-001","Entered answer uuid does not exist"),
+    ANS_EDIT_CONFLICT("ANS-002","The answer has been modified since it was fetched, fetch it again to edit"),
 
     ANS_DELETE_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to delete an answer"),
     ANS_DELETE_UNAUTHORIZED("ATHR-003","Only the answer owner or admin can delete the answer"),
 
     ANS_GET_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to get the answers"),
-    ANS_GET_QUES_NOT_FOUND("QUES-001","The question with entered uuid whose details are to be seen does not exist");
+    ANS_GET_ONE_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to get the answer"),
+    ANS_GET_QUES_NOT_FOUND("QUES-001","The question with entered uuid whose details are to be seen does not exist"),
+    ANS_INVALID_CURSOR("ANS-003","The entered cursor is not a valid position in the answers"),
+
+    FEED_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to get the feed"),
+    FEED_INVALID_CURSOR("FEED-001","The entered cursor is not a valid position in the feed"),
+
+    GRAPHQL_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to run a query"),
+
+    BATCH_AUTH_FAILURE("ATHR-002","User is signed out.Sign in first to run a batch"),
+    BATCH_EMPTY("BAT-001","The batch has no operations"),
+    BATCH_TOO_LARGE("BAT-002","The batch has more operations than allowed"),
+    BATCH_INVALID_OPERATION("BAT-003","Batch operations must be a GET, POST, PUT or DELETE of an API path other than /batch");
 
     private String errorCode;
     private String errorMessage;
@@ -0,0 +1,8 @@
+package com.upgrad.quora.service.constants;
+
+public enum FeedEntryType {
+
+    QUESTION_POSTED,
+    ANSWER_RECEIVED;
+
+}
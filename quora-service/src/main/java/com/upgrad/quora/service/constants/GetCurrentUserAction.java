@@ -6,14 +6,21 @@ public enum GetCurrentUserAction {
     EDIT_ANSWER,
     DELETE_ANSWER,
     GET_ALL_ANSWER,
+    GET_ANSWER,
 
     GET_USER_DETAILS,
+    GET_FEED,
     DELETE_USER,
 
     CREATE_QUESTION,
     GET_ALL_QUESTIONS,
+    GET_QUESTION,
+    GET_TRENDING_QUESTIONS,
     EDIT_QUESTION,
     DELETE_QUESTION,
-    GET_ALL_QUESTIONS_BY_USER;
+    GET_ALL_QUESTIONS_BY_USER,
+
+    GRAPHQL_QUERY,
+    BATCH;
 
 }
@@ -4,7 +4,8 @@ public enum UserStatus {
     USER_REGISTERED("USER SUCCESSFULLY REGISTERED"),
     SIGNIN_SUCCESSFUL("SIGNED IN SUCCESSFULLY"),
     SIGNOUT_SUCCESSFUL("SIGNED OUT SUCCESSFULLY"),
-    USER_DELETED("USER SUCCESSFULLY DELETED");
+    USER_DELETED("USER SUCCESSFULLY DELETED"),
+    USER_DELETION_SCHEDULED("USER DELETION SCHEDULED");
 
     String textStatus;
 
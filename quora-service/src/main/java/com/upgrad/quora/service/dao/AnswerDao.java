@@ -2,6 +2,7 @@ package com.upgrad.quora.service.dao;
 
 import com.upgrad.quora.service.entity.AnswerEntity;
 import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.entity.UserEntity;
 import com.upgrad.quora.service.exception.AnswerNotFoundException;
 import com.upgrad.quora.service.exception.AuthorizationFailedException;
 import org.springframework.stereotype.Repository;
@@ -9,6 +10,10 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -46,29 +51,48 @@ public class AnswerDao {
     }
 
     /**
-     * Method takes a answerEntity as input
+     * Method takes a answerId as input
      *
-     * @param answerEntity
-     * @return Answer entity that has been updated.
+     * @param answerId
+     * @return uuid of the question the answer was given to, null if no answer with given id is found
+     *
+     */
+    public String getQuestionUuid(String answerId){
+        try{
+            return entityManager.createNamedQuery("Answers.fetchQuestionUuid",String.class).setParameter("answerId",answerId).getSingleResult();
+        }catch(NoResultException nre){
+            return null;
+        }
+    }
+
+    /**
+     * Method takes a answerId, content, user and expected version as input and updates the answer with a single
+     * conditional UPDATE, which only matches if the user owns the answer and, when a version is given, if the answer
+     * is still at that version
      *
+     * @param answerId,content,user,version
+     * @return number of answers updated, 0 if no answer matched
      *
      */
-    public AnswerEntity editAnswer(AnswerEntity answerEntity){
-        entityManager.merge(answerEntity);
-        return answerEntity;
+    public int editAnswer(String answerId, String content, UserEntity user, Integer version){
+        Query query = version == null ? entityManager.createNamedQuery("Answers.updateContent")
+            : entityManager.createNamedQuery("Answers.updateContentIfVersion").setParameter("version", version);
+        return query.setParameter("answerId", answerId).setParameter("ans", content).setParameter("user", user).executeUpdate();
     }
 
 
     /**
-     * Method takes a answerEntity as input
-     *
-     * @param answerEntity
-     * @return uuid of the answer that was deleted
+     * Method takes a answerId and owner as input and removes the answer with a single DELETE statement,
+     * restricted to answers of the owner unless no owner is given
      *
+     * @param answerId,owner owner may be null to skip the ownership check
+     * @return number of answers removed, 0 if no answer matched
      *
      */
-    public void deleteAnswer(AnswerEntity answerEntity){
-        entityManager.remove(answerEntity);
+    public int deleteAnswer(String answerId, UserEntity owner){
+        Query query = owner == null ? entityManager.createNamedQuery("Answers.deleteById")
+            : entityManager.createNamedQuery("Answers.deleteByIdAndUser").setParameter("user", owner);
+        return query.setParameter("answerId", answerId).executeUpdate();
     }
 
     /**
@@ -83,4 +107,35 @@ public class AnswerDao {
         return entityManager.createNamedQuery("Answers.fetchAllPerQuestion",AnswerEntity.class).setParameter("question",question).getResultList();
     }
 
+    /**
+     * Method fetches the first answers to each of several questions with a single query. Each question reads at most
+     * limit rows of the (question_id, date, id) index, however many answers it has.
+     *
+     * @param questionIds database ids of the questions, must not be empty
+     * @param limit       maximum number of answers per question
+     * @return at most limit answers to each of the questions, oldest first
+     */
+    @SuppressWarnings("unchecked")
+    public List<AnswerEntity> getFirstAnswersToQuestions(Collection<Integer> questionIds, int limit){
+        return entityManager.createNamedQuery("Answers.fetchFirstPerQuestionIds").setParameter("questionIds", questionIds).setParameter("limit", limit).getResultList();
+    }
+
+    /**
+     * Method fetches one page of the answers to a question in (date, id) order, starting after the given answer.
+     * The query is served by the (question_id, date, id) index, so a page costs the same wherever it starts.
+     *
+     * @param questionId database id of the question
+     * @param afterDate  date and time of the last answer of the previous page, null for the first page
+     * @param afterId    id of the last answer of the previous page, null for the first page
+     * @param limit      maximum number of answers to fetch
+     * @return answers to the question with their user, oldest first
+     */
+    public List<AnswerEntity> getAnswersPage(Integer questionId, LocalDateTime afterDate, Integer afterId, int limit){
+        TypedQuery<AnswerEntity> query = afterDate == null
+            ? entityManager.createNamedQuery("Answers.fetchPagePerQuestion", AnswerEntity.class)
+            : entityManager.createNamedQuery("Answers.fetchPagePerQuestionAfter", AnswerEntity.class)
+                .setParameter("date", afterDate).setParameter("id", afterId);
+        return query.setParameter("questionId", questionId).setMaxResults(limit).getResultList();
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.upgrad.quora.service.dao;
+
+import com.upgrad.quora.service.entity.FeedEntryEntity;
+import com.upgrad.quora.service.entity.UserEntity;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+@Repository
+public class FeedDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Method takes a feed entry and stores it in the database
+     *
+     * @param feedEntry entry to append to the feed of its user
+     * @return the stored feed entry
+     */
+    public FeedEntryEntity createFeedEntry(FeedEntryEntity feedEntry) {
+        entityManager.persist(feedEntry);
+        return feedEntry;
+    }
+
+    /**
+     * Method fetches the newest entries of the feed of a user, with their question and answer, in a single query
+     * served by the (user_id, id) index
+     *
+     * @param user   user whose feed is fetched
+     * @param before only entries with a lower id are fetched, null to start from the newest entry
+     * @param limit  maximum number of entries to fetch
+     * @return feed entries, newest first
+     */
+    public List<FeedEntryEntity> getFeed(UserEntity user, Long before, int limit) {
+        TypedQuery<FeedEntryEntity> query = before == null
+                ? entityManager.createNamedQuery("FeedEntries.fetchByUser", FeedEntryEntity.class)
+                : entityManager.createNamedQuery("FeedEntries.fetchByUserBefore", FeedEntryEntity.class).setParameter("before", before);
+        return query.setParameter("user", user).setMaxResults(limit).getResultList();
+    }
+}
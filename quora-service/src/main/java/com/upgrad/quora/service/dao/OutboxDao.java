@@ -0,0 +1,104 @@
+package com.upgrad.quora.service.dao;
+
+import com.upgrad.quora.service.entity.OutboxEventEntity;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class OutboxDao {
+
+    private static final String DELETE_BEFORE = "DELETE FROM OUTBOX_EVENT WHERE id IN "
+            + "(SELECT id FROM OUTBOX_EVENT WHERE created_at < :cutoff LIMIT :batchSize)";
+
+    private static final String PARK = "INSERT INTO OUTBOX_DEAD_LETTER(event_id, event_type, aggregate_id, payload, created_at, attempts, error) "
+            + "VALUES (:eventId, :eventType, :aggregateId, :payload, :createdAt, :attempts, :error) ON CONFLICT (event_id) DO NOTHING";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Method takes an outbox event and stores it in the database
+     *
+     * @param event event to record
+     * @return the recorded event
+     */
+    public OutboxEventEntity createEvent(OutboxEventEntity event) {
+        entityManager.persist(event);
+        return event;
+    }
+
+    /**
+     * Method fetches the events recorded after a position in the outbox
+     *
+     * @param after id of the last event already relayed
+     * @param limit maximum number of events to fetch
+     * @return events with an id greater than after, in id order
+     */
+    public List<OutboxEventEntity> getEventsAfter(long after, int limit) {
+        return entityManager.createNamedQuery("OutboxEvents.fetchAfter", OutboxEventEntity.class)
+                .setParameter("after", after).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Method fetches the events among a set of ids that are visible, i.e. whose transactions have committed
+     *
+     * @param ids ids of the events to fetch
+     * @return events found, in id order
+     */
+    public List<OutboxEventEntity> getEventsByIds(Collection<Long> ids) {
+        return entityManager.createNamedQuery("OutboxEvents.fetchByIds", OutboxEventEntity.class)
+                .setParameter("ids", ids).getResultList();
+    }
+
+    /**
+     * Method returns the position in the outbox just before the events recorded since a given time
+     *
+     * @param createdAt time from which events are to be relayed
+     * @return id of the last event recorded before createdAt, 0 if there is none
+     */
+    public long getLastEventIdBefore(LocalDateTime createdAt) {
+        return entityManager.createNamedQuery("OutboxEvents.lastIdBefore", Long.class)
+                .setParameter("createdAt", createdAt).getSingleResult();
+    }
+
+    /**
+     * Method keeps a copy of an event the relay gives up on in the dead letter table. An event already parked, by
+     * this instance or another, is kept as first parked.
+     *
+     * @param event    event given up on
+     * @param attempts number of times its delivery was attempted
+     * @param error    description of the last failure, truncated to fit
+     */
+    public void parkEvent(OutboxEventEntity event, int attempts, String error) {
+        entityManager.createNativeQuery(PARK)
+                .setParameter("eventId", event.getId())
+                .setParameter("eventType", event.getEventType())
+                .setParameter("aggregateId", event.getAggregateId())
+                .setParameter("payload", event.getPayload())
+                .setParameter("createdAt", event.getCreatedAt())
+                .setParameter("attempts", attempts)
+                .setParameter("error", error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+                .executeUpdate();
+    }
+
+    /**
+     * Method removes at most batchSize events recorded before the cutoff
+     *
+     * @param cutoff    events recorded before this time are removed
+     * @param batchSize maximum number of events to remove
+     * @return number of events removed
+     */
+    public int deleteEventsBefore(LocalDateTime cutoff, int batchSize) {
+        return entityManager.createNativeQuery(DELETE_BEFORE)
+                .setParameter("cutoff", cutoff)
+                .setParameter("batchSize", batchSize)
+                .executeUpdate();
+    }
+}
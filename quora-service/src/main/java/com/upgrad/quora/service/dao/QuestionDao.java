@@ -1,10 +1,12 @@
 package com.upgrad.quora.service.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
 
 import org.springframework.stereotype.Repository;
 
@@ -29,6 +31,56 @@ public class QuestionDao {
 		return question;
 	}
 
+	/**
+	 * Method takes a collection of question ids as a parameter, and fetches the
+	 * questions having these ids with a single query
+	 * 
+	 * @param questionIds Ids of the questions to fetch, must not be empty
+	 * @return questions having one of the ids, in no particular order; ids of
+	 *         questions that do not exist are skipped
+	 */
+	public List<QuestionEntity> getQuestions(Collection<String> questionIds) {
+		return entityManager.createNamedQuery("Questions.fetchByIds", QuestionEntity.class)
+				.setParameter("questionIds", questionIds).getResultList();
+	}
+
+	/**
+	 * Method takes a collection of database ids as a parameter, and fetches the
+	 * questions having these ids with a single query
+	 * 
+	 * @param ids Database ids of the questions to fetch, must not be empty
+	 * @return questions having one of the ids, in no particular order
+	 */
+	public List<QuestionEntity> getQuestionsByDatabaseIds(Collection<Integer> ids) {
+		return entityManager.createNamedQuery("Questions.fetchByDatabaseIds", QuestionEntity.class)
+				.setParameter("ids", ids).getResultList();
+	}
+
+	/**
+	 * Method takes a collection of user database ids as a parameter, and fetches
+	 * the latest questions posted by each of these users with a single query
+	 * 
+	 * @param userIds Database ids of the users, must not be empty
+	 * @param limit   Maximum number of questions per user
+	 * @return at most limit questions of each of the users, newest first
+	 */
+	@SuppressWarnings("unchecked")
+	public List<QuestionEntity> getLatestQuestionsOfUsers(Collection<Integer> userIds, int limit) {
+		return entityManager.createNamedQuery("Questions.fetchFirstPerUserIds").setParameter("userIds", userIds)
+				.setParameter("limit", limit).getResultList();
+	}
+
+	/**
+	 * Method fetches the latest questions, newest first
+	 * 
+	 * @param limit Maximum number of questions to fetch
+	 * @return at most limit questions in (date, id) descending order
+	 */
+	public List<QuestionEntity> getLatestQuestions(int limit) {
+		return entityManager.createNamedQuery("Questions.fetchLatest", QuestionEntity.class).setMaxResults(limit)
+				.getResultList();
+	}
+
 	/**
 	 * Method takes question id as a parameter, and fetches a question from the
 	 * database having the same id.
@@ -47,23 +99,36 @@ public class QuestionDao {
 	}
 
 	/**
-	 * Method takes a question entity as a parameter and removes it from the
-	 * database (merge)
+	 * Method removes a question from the database with a single DELETE statement,
+	 * restricted to questions owned by the given user unless no owner is given.
+	 * Answers to the question are removed by the ON DELETE CASCADE foreign key.
 	 * 
-	 * @param question Question to be removed
+	 * @param questionId Id of the question to be removed
+	 * @param owner      User who must own the question, null to skip the check
+	 * @return number of questions removed, 0 if no question matched
 	 */
-	public void deleteQuestion(QuestionEntity question) {
-		entityManager.remove(question);
+	public int deleteQuestion(String questionId, UserEntity owner) {
+		Query query = owner == null ? entityManager.createNamedQuery("Questions.deleteById")
+				: entityManager.createNamedQuery("Questions.deleteByIdAndUser").setParameter("user", owner);
+		return query.setParameter("questionId", questionId).executeUpdate();
 	}
 
 	/**
-	 * Method takes a question entity as a parameter and updates it in the database
-	 * (merge)
+	 * Method updates the content of a question with a single conditional UPDATE
+	 * statement, which only matches if the user owns the question and, when a
+	 * version is given, if the question is still at that version
 	 * 
-	 * @param question Question to be updated
+	 * @param questionId Id of the question to be updated
+	 * @param content    New content of the question
+	 * @param user       User who must own the question
+	 * @param version    Expected version of the question, null to skip the check
+	 * @return number of questions updated, 0 if no question matched
 	 */
-	public void updateQuestion(QuestionEntity question) {
-		entityManager.merge(question);
+	public int updateQuestion(String questionId, String content, UserEntity user, Integer version) {
+		Query query = version == null ? entityManager.createNamedQuery("Questions.updateContent")
+				: entityManager.createNamedQuery("Questions.updateContentIfVersion").setParameter("version", version);
+		return query.setParameter("questionId", questionId).setParameter("content", content)
+				.setParameter("user", user).executeUpdate();
 	}
 
 	/**
@@ -0,0 +1,131 @@
+package com.upgrad.quora.service.dao;
+
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Removes expired and signed out sessions from USER_AUTH, in bounded batches of rows or, when the table is
+ * partitioned by EXPIRES_AT, by dropping whole daily partitions.
+ */
+@Repository
+public class UserAuthSweepDao {
+
+    private static final String COLUMNS = "ID, uuid, USER_ID, ACCESS_TOKEN, EXPIRES_AT, LOGIN_AT, LOGOUT_AT";
+
+    private static final String SELECT_BATCH = "SELECT ID, EXPIRES_AT FROM USER_AUTH WHERE %s < :cutoff LIMIT :batchSize";
+
+    private static final String DELETE_BATCH = "DELETE FROM USER_AUTH WHERE (ID, EXPIRES_AT) IN (" + SELECT_BATCH + ")";
+
+    private static final String ARCHIVE_BATCH = "WITH swept AS (" + DELETE_BATCH + " RETURNING " + COLUMNS + ") "
+            + "INSERT INTO USER_AUTH_ARCHIVE (" + COLUMNS + ") SELECT " + COLUMNS + " FROM swept";
+
+    private static final String IS_PARTITIONED = "SELECT COUNT(*) FROM pg_class WHERE oid = to_regclass('user_auth') AND relkind = 'p'";
+
+    private static final String LIST_PARTITIONS = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = to_regclass('user_auth')";
+
+    private static final String PARTITION_EXISTS = "SELECT COUNT(*) FROM pg_class WHERE oid = to_regclass(:partition)";
+
+    private static final String DEFAULT_PARTITION = "USER_AUTH_DEFAULT";
+
+    public static final String PARTITION_PREFIX = "user_auth_p";
+
+    public static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Method removes at most batchSize sessions that expired before the cutoff
+     *
+     * @param cutoff,    sessions expired before this time are removed
+     * @param batchSize, maximum number of rows to remove
+     * @param archive,   true to move the rows to USER_AUTH_ARCHIVE instead of deleting them
+     * @return number of sessions removed
+     */
+    public int sweepExpired(final LocalDateTime cutoff, final int batchSize, final boolean archive) {
+        return sweep("EXPIRES_AT", cutoff, batchSize, archive);
+    }
+
+    /**
+     * Method removes at most batchSize sessions that were signed out before the cutoff
+     *
+     * @param cutoff,    sessions signed out before this time are removed
+     * @param batchSize, maximum number of rows to remove
+     * @param archive,   true to move the rows to USER_AUTH_ARCHIVE instead of deleting them
+     * @return number of sessions removed
+     */
+    public int sweepLoggedOut(final LocalDateTime cutoff, final int batchSize, final boolean archive) {
+        return sweep("LOGOUT_AT", cutoff, batchSize, archive);
+    }
+
+    /**
+     * @return true if USER_AUTH is a partitioned table
+     */
+    public boolean isPartitioned() {
+        return ((BigInteger) entityManager.createNativeQuery(IS_PARTITIONED).getSingleResult()).signum() > 0;
+    }
+
+    /**
+     * @return names of the partitions of USER_AUTH
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getPartitions() {
+        return entityManager.createNativeQuery(LIST_PARTITIONS).getResultList();
+    }
+
+    /**
+     * Method creates the partition holding the sessions expiring on the given day, if it does not exist yet. Sessions
+     * of that day already stored in the DEFAULT partition, which would keep the partition from being created, are
+     * moved into it; the caller runs this in one transaction.
+     *
+     * @param day, day of expiry of the sessions in the partition
+     */
+    public void createPartition(final LocalDate day) {
+        final String partition = PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+        if (((BigInteger) entityManager.createNativeQuery(PARTITION_EXISTS).setParameter("partition", partition)
+                .getSingleResult()).signum() > 0) {
+            return;
+        }
+        entityManager.createNativeQuery("CREATE TABLE " + partition + " (LIKE USER_AUTH INCLUDING DEFAULTS)").executeUpdate();
+        entityManager.createNativeQuery("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE EXPIRES_AT >= '" + day
+                + "' AND EXPIRES_AT < '" + day.plusDays(1) + "' RETURNING " + COLUMNS + ") INSERT INTO " + partition
+                + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved").executeUpdate();
+        entityManager.createNativeQuery("ALTER TABLE USER_AUTH ATTACH PARTITION " + partition + " FOR VALUES FROM ('"
+                + day + "') TO ('" + day.plusDays(1) + "')").executeUpdate();
+    }
+
+    /**
+     * Method copies all sessions of a partition to USER_AUTH_ARCHIVE
+     *
+     * @param partition, name of the partition as returned by {@link #getPartitions()}
+     * @return number of sessions archived
+     */
+    public int archivePartition(final String partition) {
+        return entityManager.createNativeQuery("INSERT INTO USER_AUTH_ARCHIVE (" + COLUMNS + ") SELECT " + COLUMNS
+                + " FROM " + partition).executeUpdate();
+    }
+
+    /**
+     * Method drops a partition with all of its sessions
+     *
+     * @param partition, name of the partition as returned by {@link #getPartitions()}
+     */
+    public void dropPartition(final String partition) {
+        entityManager.createNativeQuery("DROP TABLE IF EXISTS " + partition).executeUpdate();
+    }
+
+    private int sweep(final String column, final LocalDateTime cutoff, final int batchSize, final boolean archive) {
+        return entityManager.createNativeQuery(String.format(archive ? ARCHIVE_BATCH : DELETE_BATCH, column))
+                .setParameter("cutoff", cutoff)
+                .setParameter("batchSize", batchSize)
+                .executeUpdate();
+    }
+}
@@ -9,6 +9,10 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public class UserDao {
@@ -32,6 +36,18 @@ public class UserDao {
         }
     }
 
+    /**
+     * Method takes a collection of database ids as a parameter, and fetches the users having these ids with a single query
+     *
+     * @param ids Database ids of the users to fetch, must not be empty
+     * @return users having one of the ids, in no particular order; deleted users are skipped
+     */
+    public List<UserEntity> getUsersByDatabaseIds(final Collection<Integer> ids) {
+        return entityManager.createNamedQuery("usersByIds", UserEntity.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
     /**
      * Method takes user username as a parameter, and fetches a user entiry from the database having the same username.
      *
@@ -99,12 +115,40 @@ public class UserDao {
     }
 
     /**
-     * Method takes user profile of user to be deleted and delete the user profile
+     * Method takes uuid of user to be deleted and marks the user profile as deleted. The user's data is removed
+     * later by the background purge.
+     *
+     * @param userUuid,  uuid of user to be deleted
+     * @param deletedAt, time of the deletion
+     * @return number of users marked, 0 if no user with the uuid exists or it is already deleted
+     */
+    public int markUserDeleted(final String userUuid, final ZonedDateTime deletedAt) {
+        return entityManager.createNamedQuery("markUserDeleted")
+                .setParameter("uuid", userUuid)
+                .setParameter("deletedAt", deletedAt)
+                .executeUpdate();
+    }
+
+    /**
+     * Method takes uuid of a user and signs out all the access tokens of the user that are still signed in
+     *
+     * @param userUuid, uuid of the user
+     * @param logoutAt, sign-out time recorded on the tokens
+     * @return number of access tokens signed out
+     */
+    public int signoutAllUserAuthTokens(final String userUuid, final LocalDateTime logoutAt) {
+        return entityManager.createNamedQuery("signoutAllUserAuthTokens")
+                .setParameter("uuid", userUuid)
+                .setParameter("logoutAt", logoutAt)
+                .executeUpdate();
+    }
+
+    /**
+     * Method fetches the users marked as deleted whose data still has to be purged, oldest deletion first
      *
-     * @param user, user profile of user to be deleted
-     * @return deletedUser of deleted user
+     * @return list of users marked as deleted
      */
-    public void deleteUser(UserEntity user) {
-        entityManager.remove(user);
+    public List<UserEntity> getDeletedUsers() {
+        return entityManager.createNamedQuery("deletedUsers", UserEntity.class).getResultList();
     }
 }
@@ -0,0 +1,94 @@
+package com.upgrad.quora.service.dao;
+
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * Deletes the data of a user marked as deleted in bounded batches, so that every statement only locks a limited
+ * number of rows and can run in its own short transaction.
+ */
+@Repository
+public class UserPurgeDao {
+
+    private static final String DELETE_ANSWERS_BY_USER = "DELETE FROM ANSWER WHERE id IN "
+            + "(SELECT id FROM ANSWER WHERE user_id = :userId LIMIT :batchSize)";
+
+    private static final String DELETE_ANSWERS_TO_USER_QUESTIONS = "DELETE FROM ANSWER WHERE id IN "
+            + "(SELECT a.id FROM ANSWER a JOIN QUESTION q ON a.question_id = q.id WHERE q.user_id = :userId LIMIT :batchSize)";
+
+    private static final String DELETE_QUESTIONS_BY_USER = "DELETE FROM QUESTION WHERE id IN "
+            + "(SELECT id FROM QUESTION WHERE user_id = :userId LIMIT :batchSize)";
+
+    private static final String DELETE_USER_AUTH_BY_USER = "DELETE FROM USER_AUTH WHERE ID IN "
+            + "(SELECT ID FROM USER_AUTH WHERE USER_ID = :userId LIMIT :batchSize)";
+
+    private static final String DELETE_USER = "DELETE FROM USERS WHERE id = :userId AND deleted_at IS NOT NULL";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Method deletes at most batchSize answers posted by the user
+     *
+     * @param userId,    id of the deleted user
+     * @param batchSize, maximum number of rows to delete
+     * @return number of answers deleted
+     */
+    public int deleteAnswersByUser(final Integer userId, final int batchSize) {
+        return deleteBatch(DELETE_ANSWERS_BY_USER, userId, batchSize);
+    }
+
+    /**
+     * Method deletes at most batchSize answers posted by any user to the questions of the user
+     *
+     * @param userId,    id of the deleted user
+     * @param batchSize, maximum number of rows to delete
+     * @return number of answers deleted
+     */
+    public int deleteAnswersToUserQuestions(final Integer userId, final int batchSize) {
+        return deleteBatch(DELETE_ANSWERS_TO_USER_QUESTIONS, userId, batchSize);
+    }
+
+    /**
+     * Method deletes at most batchSize questions posted by the user
+     *
+     * @param userId,    id of the deleted user
+     * @param batchSize, maximum number of rows to delete
+     * @return number of questions deleted
+     */
+    public int deleteQuestionsByUser(final Integer userId, final int batchSize) {
+        return deleteBatch(DELETE_QUESTIONS_BY_USER, userId, batchSize);
+    }
+
+    /**
+     * Method deletes at most batchSize access tokens of the user
+     *
+     * @param userId,    id of the deleted user
+     * @param batchSize, maximum number of rows to delete
+     * @return number of access tokens deleted
+     */
+    public int deleteUserAuthTokens(final Integer userId, final int batchSize) {
+        return deleteBatch(DELETE_USER_AUTH_BY_USER, userId, batchSize);
+    }
+
+    /**
+     * Method deletes the profile of a user marked as deleted, once all its dependent rows are gone
+     *
+     * @param userId, id of the deleted user
+     * @return number of users deleted
+     */
+    public int deleteUser(final Integer userId) {
+        return entityManager.createNativeQuery(DELETE_USER)
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+
+    private int deleteBatch(final String sql, final Integer userId, final int batchSize) {
+        return entityManager.createNativeQuery(sql)
+                .setParameter("userId", userId)
+                .setParameter("batchSize", batchSize)
+                .executeUpdate();
+    }
+}
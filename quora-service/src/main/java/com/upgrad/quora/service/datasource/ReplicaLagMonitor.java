@@ -0,0 +1,56 @@
+package com.upgrad.quora.service.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Periodically measures the replication lag of the replica. While the lag is above the configured maximum, or the
+ * replica cannot be reached, read-only transactions fall back to the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * Lag in seconds of the last replayed transaction, zero when the replica has replayed everything it received.
+     */
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final double maxLagSeconds;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(final DataSource replicaDataSource, final double maxLagSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${quora.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Double lagSeconds = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            usable = lagSeconds != null && lagSeconds <= maxLagSeconds;
+            if (!usable) {
+                LOGGER.warn("Replica lag of {} s exceeds {} s, routing reads to the primary", lagSeconds, maxLagSeconds);
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            LOGGER.warn("Replica lag check failed, routing reads to the primary", e);
+        }
+        if (usable && !replicaUsable) {
+            LOGGER.info("Replica is within {} s of the primary, routing reads to the replica", maxLagSeconds);
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,54 @@
+package com.upgrad.quora.service.deadline;
+
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.common.ServiceUnavailableException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.QueryTimeoutException;
+
+/**
+ * Bounds every call into the DAO layer by the {@link RequestDeadline} of the current request. A call made once the
+ * deadline has passed fails at once, without taking a connection; otherwise the time left becomes the query timeout
+ * of the transaction's entity manager, which Hibernate applies to each query it creates. JDBC timeouts are in whole
+ * seconds, so the time left is rounded up to the next second. A query cancelled on its timeout fails the request
+ * like an exhausted deadline. It is ordered outside the other aspects of the DAO layer, so that a call past the
+ * deadline fails before being admitted or timed.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class QueryDeadlineAspect {
+
+    static final String QUERY_TIMEOUT_HINT = "javax.persistence.query.timeout";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Around("within(com.upgrad.quora.service.dao..*)")
+    public Object bound(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return joinPoint.proceed();
+        }
+        final long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            throw new ServiceUnavailableException(GenericErrorCode.GEN_004, deadline.getTimeoutMillis());
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.setProperty(QUERY_TIMEOUT_HINT, (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000 * 1000));
+        }
+        try {
+            return joinPoint.proceed();
+        } catch (QueryTimeoutException | org.hibernate.QueryTimeoutException | org.springframework.dao.QueryTimeoutException e) {
+            throw new ServiceUnavailableException(GenericErrorCode.GEN_004, e, deadline.getTimeoutMillis());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.upgrad.quora.service.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the current request. A request thread opens it with {@link #begin(long)} and the DAO layer bounds every
+ * query by the time left, failing the request once none is left. A thread loading on behalf of a request attaches
+ * a deadline with {@link #attach(RequestDeadline)}: a load shared with other requests takes the {@link #shared()}
+ * deadline, which the timeout the client asked for does not shorten. Work executed outside a request (scheduled jobs,
+ * startup) has no deadline bound and its queries run without a timeout.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long timeoutMillis;
+    private final long configuredTimeoutMillis;
+    private final long deadlineNanos;
+
+    private RequestDeadline(final long timeoutMillis, final long configuredTimeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.configuredTimeoutMillis = configuredTimeoutMillis;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Binds a deadline timeoutMillis from now to the current thread, replacing any left over from a previous request.
+     *
+     * @param timeoutMillis time budget of the request, as configured for it
+     * @return deadline bound to the current thread
+     */
+    public static RequestDeadline begin(final long timeoutMillis) {
+        return begin(timeoutMillis, timeoutMillis);
+    }
+
+    /**
+     * Binds a deadline timeoutMillis from now to the current thread, replacing any left over from a previous request.
+     *
+     * @param timeoutMillis           time budget of the request, possibly shortened by its client
+     * @param configuredTimeoutMillis time budget configured for the request, 0 if none is
+     * @return deadline bound to the current thread
+     */
+    public static RequestDeadline begin(final long timeoutMillis, final long configuredTimeoutMillis) {
+        RequestDeadline deadline = of(timeoutMillis, configuredTimeoutMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * Creates a deadline timeoutMillis from now without binding it, for a request served across threads; each thread
+     * working on the request binds it with {@link #attach(RequestDeadline)}.
+     *
+     * @param timeoutMillis           time budget of the request, possibly shortened by its client
+     * @param configuredTimeoutMillis time budget configured for the request, 0 if none is
+     * @return deadline of the request
+     */
+    public static RequestDeadline of(final long timeoutMillis, final long configuredTimeoutMillis) {
+        return new RequestDeadline(timeoutMillis, configuredTimeoutMillis);
+    }
+
+    /**
+     * Binds the deadline of a request to the current thread, which does work on behalf of that request; it is
+     * unbound with {@link #end()} once the work is done.
+     *
+     * @param deadline deadline taken from the thread of the request, null if it has none
+     */
+    public static void attach(final RequestDeadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    /**
+     * @return deadline bound to the current thread, null if the thread is not serving a request with a deadline
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Unbinds the deadline from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return time budget the request started with, in milliseconds
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @return deadline of work shared with other requests, such as a cache load they all wait for: the configured time
+     * budget of the request from now, null if none is configured
+     */
+    public RequestDeadline shared() {
+        return configuredTimeoutMillis > 0 ? new RequestDeadline(configuredTimeoutMillis, configuredTimeoutMillis) : null;
+    }
+
+    /**
+     * @return milliseconds left until the deadline, zero or less once it has passed
+     */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+}
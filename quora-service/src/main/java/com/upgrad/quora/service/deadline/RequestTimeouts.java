@@ -0,0 +1,98 @@
+package com.upgrad.quora.service.deadline;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timeouts of the requests as configured under quora.deadline, shared by every transport serving the service layer.
+ * A request gets the timeout of the first group with a path prefix matching it, or the shorter timeout its client
+ * asks for; a client cannot lengthen the timeout of its group, and a malformed or non-positive request is ignored.
+ */
+@Component
+public class RequestTimeouts {
+
+    private final boolean enabled;
+
+    private final String header;
+
+    private final Group[] groups;
+
+    @Autowired
+    public RequestTimeouts(final DeadlineProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.header = properties.getHeader();
+        this.groups = properties.getGroups().stream().map(Group::new).toArray(Group[]::new);
+    }
+
+    /**
+     * @return false if requests are to run without a deadline
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return request header in which a client gives its own timeout in milliseconds
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Method returns the timeout configured for a request
+     *
+     * @param path path of the request within the context path
+     * @return timeout of the first group matching the path in milliseconds, 0 if no group matches
+     */
+    public long groupTimeoutMillis(final String path) {
+        for (Group group : groups) {
+            if (group.matches(path)) {
+                return group.timeoutMillis;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Method returns the timeout of a request, shortened to the one its client asks for
+     *
+     * @param groupTimeoutMillis timeout configured for the request, 0 if none is
+     * @param requested          timeout the client asks for in milliseconds, null if it asks for none
+     * @return timeout of the request in milliseconds, 0 if it has none
+     */
+    public long requestedTimeoutMillis(final long groupTimeoutMillis, final String requested) {
+        long timeoutMillis = groupTimeoutMillis;
+        if (requested != null) {
+            try {
+                final long requestedMillis = Long.parseLong(requested.trim());
+                if (requestedMillis > 0 && (timeoutMillis <= 0 || requestedMillis < timeoutMillis)) {
+                    timeoutMillis = requestedMillis;
+                }
+            } catch (NumberFormatException e) {
+                // a malformed timeout leaves the one of the group
+            }
+        }
+        return timeoutMillis;
+    }
+
+    private static final class Group {
+
+        private final String[] prefixes;
+        private final long timeoutMillis;
+
+        private Group(final DeadlineProperties.Group group) {
+            this.prefixes = group.getPaths().toArray(new String[0]);
+            this.timeoutMillis = group.getTimeoutMs();
+        }
+
+        private boolean matches(final String path) {
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix) && (path.length() == prefix.length() || prefix.endsWith("/")
+                        || path.charAt(prefix.length()) == '/')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
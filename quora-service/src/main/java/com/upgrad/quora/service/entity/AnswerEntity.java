@@ -2,20 +2,29 @@ package com.upgrad.quora.service.entity;
 
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.QueryHints;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 
 @Entity
 @Table(name = "answer")
 @NamedQueries({
-    @NamedQuery(name="Answer.getById",query = "SELECT a FROM AnswerEntity a WHERE a.uuid=:answerId"),
-    @NamedQuery(name = "Answers.fetchAllPerQuestion", query = "SELECT a FROM AnswerEntity a WHERE a.question=:question")
+    @NamedQuery(name="Answer.getById",query = "SELECT a FROM AnswerEntity a WHERE a.uuid=:answerId", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+    @NamedQuery(name = "Answers.fetchQuestionUuid", query = "SELECT a.question.uuid FROM AnswerEntity a WHERE a.uuid=:answerId"),
+    @NamedQuery(name = "Answers.fetchAllPerQuestion", query = "SELECT a FROM AnswerEntity a WHERE a.question=:question", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+    @NamedQuery(name = "Answers.fetchPagePerQuestion", query = "SELECT a FROM AnswerEntity a WHERE a.question.id=:questionId ORDER BY a.date, a.id", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+    @NamedQuery(name = "Answers.fetchPagePerQuestionAfter", query = "SELECT a FROM AnswerEntity a WHERE a.question.id=:questionId AND a.date>=:date AND (a.date>:date OR a.id>:id) ORDER BY a.date, a.id", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+    @NamedQuery(name = "Answers.updateContent", query = "UPDATE AnswerEntity a SET a.ans=:ans, a.version=a.version+1 WHERE a.uuid=:answerId AND a.user=:user"),
+    @NamedQuery(name = "Answers.updateContentIfVersion", query = "UPDATE AnswerEntity a SET a.ans=:ans, a.version=a.version+1 WHERE a.uuid=:answerId AND a.user=:user AND a.version=:version"),
+    @NamedQuery(name = "Answers.deleteById", query = "DELETE FROM AnswerEntity a WHERE a.uuid=:answerId"),
+    @NamedQuery(name = "Answers.deleteByIdAndUser", query = "DELETE FROM AnswerEntity a WHERE a.uuid=:answerId AND a.user=:user")
 })
+@NamedNativeQuery(name = "Answers.fetchFirstPerQuestionIds", query = "SELECT pa.* FROM QUESTION q CROSS JOIN LATERAL (SELECT a.* FROM ANSWER a WHERE a.question_id = q.id ORDER BY a.date, a.id LIMIT :limit) pa WHERE q.id IN (:questionIds) ORDER BY pa.date, pa.id", resultClass = AnswerEntity.class, hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true"))
 public class AnswerEntity implements Serializable {
 
     @Id
@@ -36,9 +45,9 @@ public class AnswerEntity implements Serializable {
 
     @Column(name = "date")
     @NotNull
-    private LocalDate date;
+    private LocalDateTime date;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
     private UserEntity user;
@@ -48,6 +57,18 @@ public class AnswerEntity implements Serializable {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private QuestionEntity question;
 
+    /**
+     * Read-only copies of the foreign keys, readable without loading the user or the question
+     */
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Integer userId;
+
+    @Column(name = "question_id", insertable = false, updatable = false)
+    private Integer questionId;
+
+    @Version
+    @Column(name = "version")
+    private Integer version;
 
     public Integer getId() {
         return id;
@@ -73,11 +94,11 @@ public class AnswerEntity implements Serializable {
         this.ans = ans;
     }
 
-    public LocalDate getDate() {
+    public LocalDateTime getDate() {
         return date;
     }
 
-    public void setDate(LocalDate date) {
+    public void setDate(LocalDateTime date) {
         this.date = date;
     }
 
@@ -96,4 +117,20 @@ public class AnswerEntity implements Serializable {
     public void setQuestion(QuestionEntity question) {
         this.question = question;
     }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public Integer getQuestionId() {
+        return questionId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
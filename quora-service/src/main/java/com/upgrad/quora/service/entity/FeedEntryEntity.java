@@ -0,0 +1,103 @@
+package com.upgrad.quora.service.entity;
+
+import com.upgrad.quora.service.constants.FeedEntryType;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.QueryHints;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entry of the activity feed of a user. Entries are written together with the question or answer they refer to and
+ * are never updated; they disappear with it through the ON DELETE CASCADE foreign keys.
+ */
+@Entity
+@Table(name = "feed_entry")
+@NamedQueries({
+    @NamedQuery(name = "FeedEntries.fetchByUser", query = "SELECT f FROM FeedEntryEntity f JOIN FETCH f.question LEFT JOIN FETCH f.answer WHERE f.user=:user ORDER BY f.id DESC", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+    @NamedQuery(name = "FeedEntries.fetchByUserBefore", query = "SELECT f FROM FeedEntryEntity f JOIN FETCH f.question LEFT JOIN FETCH f.answer WHERE f.user=:user AND f.id<:before ORDER BY f.id DESC", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true"))
+})
+public class FeedEntryEntity implements Serializable {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @NotNull
+    private UserEntity user;
+
+    @Column(name = "type")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private FeedEntryType type;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @NotNull
+    private QuestionEntity question;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "answer_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private AnswerEntity answer;
+
+    @Column(name = "created_at")
+    @NotNull
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UserEntity getUser() {
+        return user;
+    }
+
+    public void setUser(UserEntity user) {
+        this.user = user;
+    }
+
+    public FeedEntryType getType() {
+        return type;
+    }
+
+    public void setType(FeedEntryType type) {
+        this.type = type;
+    }
+
+    public QuestionEntity getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(QuestionEntity question) {
+        this.question = question;
+    }
+
+    public AnswerEntity getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(AnswerEntity answer) {
+        this.answer = answer;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
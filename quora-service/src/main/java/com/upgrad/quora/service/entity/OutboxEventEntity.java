@@ -0,0 +1,85 @@
+package com.upgrad.quora.service.entity;
+
+import org.hibernate.annotations.QueryHints;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Domain event recorded in the outbox, in the transaction making the change it describes.
+ */
+@Entity
+@Table(name = "outbox_event")
+@NamedQueries({
+    @NamedQuery(name = "OutboxEvents.fetchAfter", query = "SELECT e FROM OutboxEventEntity e WHERE e.id>:after ORDER BY e.id", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+    @NamedQuery(name = "OutboxEvents.fetchByIds", query = "SELECT e FROM OutboxEventEntity e WHERE e.id IN :ids ORDER BY e.id", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+    @NamedQuery(name = "OutboxEvents.lastIdBefore", query = "SELECT COALESCE(MAX(e.id), 0) FROM OutboxEventEntity e WHERE e.createdAt<:createdAt")
+})
+public class OutboxEventEntity implements Serializable {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type")
+    @Size(max = 50)
+    @NotNull
+    private String eventType;
+
+    @Column(name = "aggregate_id")
+    @Size(max = 200)
+    @NotNull
+    private String aggregateId;
+
+    @Column(name = "payload")
+    @NotNull
+    private String payload;
+
+    @Column(name = "created_at")
+    @NotNull
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -13,14 +13,18 @@ import java.time.LocalDate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedNativeQuery;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
@@ -33,13 +37,22 @@ import org.apache.commons.lang3.builder.HashCodeExclude;
 import org.apache.commons.lang3.builder.EqualsExclude;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.QueryHints;
 
 @Entity
 @Table(name = "question")
 @NamedQueries({
-		@NamedQuery(name = "Questions.getById", query = "SELECT q FROM QuestionEntity q WHERE q.uuid=:questionId"),
-		@NamedQuery(name = "Questions.fetchByUserId", query = "SELECT q FROM QuestionEntity q WHERE q.user=:user"),
-		@NamedQuery(name = "Questions.fetchAll", query = "SELECT q FROM QuestionEntity q") })
+		@NamedQuery(name = "Questions.getById", query = "SELECT q FROM QuestionEntity q WHERE q.uuid=:questionId", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+		@NamedQuery(name = "Questions.fetchByUserId", query = "SELECT q FROM QuestionEntity q WHERE q.user=:user", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+		@NamedQuery(name = "Questions.fetchAll", query = "SELECT q FROM QuestionEntity q", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+		@NamedQuery(name = "Questions.fetchByIds", query = "SELECT q FROM QuestionEntity q WHERE q.uuid IN :questionIds", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+		@NamedQuery(name = "Questions.fetchByDatabaseIds", query = "SELECT q FROM QuestionEntity q WHERE q.id IN :ids", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+		@NamedQuery(name = "Questions.fetchLatest", query = "SELECT q FROM QuestionEntity q ORDER BY q.date DESC, q.id DESC", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+		@NamedQuery(name = "Questions.updateContent", query = "UPDATE QuestionEntity q SET q.content=:content, q.version=q.version+1 WHERE q.uuid=:questionId AND q.user=:user"),
+		@NamedQuery(name = "Questions.updateContentIfVersion", query = "UPDATE QuestionEntity q SET q.content=:content, q.version=q.version+1 WHERE q.uuid=:questionId AND q.user=:user AND q.version=:version"),
+		@NamedQuery(name = "Questions.deleteById", query = "DELETE FROM QuestionEntity q WHERE q.uuid=:questionId"),
+		@NamedQuery(name = "Questions.deleteByIdAndUser", query = "DELETE FROM QuestionEntity q WHERE q.uuid=:questionId AND q.user=:user") })
+@NamedNativeQuery(name = "Questions.fetchFirstPerUserIds", query = "SELECT pq.* FROM USERS u CROSS JOIN LATERAL (SELECT q.* FROM QUESTION q WHERE q.user_id = u.id ORDER BY q.date DESC, q.id DESC LIMIT :limit) pq WHERE u.id IN (:userIds) ORDER BY pq.date DESC, pq.id DESC", resultClass = QuestionEntity.class, hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true"))
 public class QuestionEntity implements Serializable {
 	@Id
 	@Column(name = "id")
@@ -60,7 +73,7 @@ public class QuestionEntity implements Serializable {
 	@NotNull
 	private LocalDate date;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
 	@OnDelete(action = OnDeleteAction.CASCADE)
 	@NotNull
@@ -69,6 +82,17 @@ public class QuestionEntity implements Serializable {
 	@EqualsExclude
 	private UserEntity user;
 
+	/**
+	 * Read-only copy of the user_id foreign key, readable without loading the
+	 * user
+	 */
+	@Column(name = "user_id", insertable = false, updatable = false)
+	private Integer userId;
+
+	@Version
+	@Column(name = "version")
+	private Integer version;
+
 	public Integer getId() {
 		return id;
 	}
@@ -109,6 +133,18 @@ public class QuestionEntity implements Serializable {
 		this.user = user;
 	}
 
+	public Integer getUserId() {
+		return userId;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		return EqualsBuilder.reflectionEquals(this, obj, Boolean.FALSE);
@@ -14,7 +14,8 @@ import java.time.ZonedDateTime;
 @Entity
 @Table(name = "user_auth")
 @NamedQueries({
-        @NamedQuery(name = "userAuthTokenByAccessToken", query = "select ut from UserAuthEntity ut where ut.accessToken=:accessToken")
+        @NamedQuery(name = "userAuthTokenByAccessToken", query = "select ut from UserAuthEntity ut where ut.accessToken=:accessToken"),
+        @NamedQuery(name = "signoutAllUserAuthTokens", query = "update UserAuthEntity ut set ut.logoutAt=:logoutAt where ut.logoutAt is null and ut.user in (select u from UserEntity u where u.uuid=:uuid)")
 
 })
 public class UserAuthEntity implements Serializable {
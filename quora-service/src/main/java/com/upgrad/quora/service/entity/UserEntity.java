@@ -1,17 +1,22 @@
 package com.upgrad.quora.service.entity;
 
 import org.apache.commons.lang3.builder.*;
+import org.hibernate.annotations.QueryHints;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 
 @Entity
 @Table(name = "users")
 @NamedQueries({
-        @NamedQuery(name = "userByUuid", query = "select u from UserEntity u where u.uuid = :uuid"),
-        @NamedQuery(name = "userByUserName", query = "select u from UserEntity u where u.userName = :userName")
+        @NamedQuery(name = "userByUuid", query = "select u from UserEntity u where u.uuid = :uuid and u.deletedAt is null", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+        @NamedQuery(name = "usersByIds", query = "select u from UserEntity u where u.id in :ids and u.deletedAt is null", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true")),
+        @NamedQuery(name = "userByUserName", query = "select u from UserEntity u where u.userName = :userName and u.deletedAt is null"),
+        @NamedQuery(name = "markUserDeleted", query = "update UserEntity u set u.deletedAt = :deletedAt where u.uuid = :uuid and u.deletedAt is null"),
+        @NamedQuery(name = "deletedUsers", query = "select u from UserEntity u where u.deletedAt is not null order by u.deletedAt", hints = @QueryHint(name = QueryHints.READ_ONLY, value = "true"))
 })
 public class UserEntity implements Serializable {
     @Id
@@ -75,6 +80,9 @@ public class UserEntity implements Serializable {
     @Size(max = 30)
     private String contactNumber;
 
+    @Column(name = "deleted_at")
+    private ZonedDateTime deletedAt;
+
     public Integer getId() {
         return id;
     }
@@ -179,6 +187,14 @@ public class UserEntity implements Serializable {
         this.contactNumber = contactNumber;
     }
 
+    public ZonedDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(ZonedDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     @Override
     public boolean equals(Object obj) {
         return EqualsBuilder.reflectionEquals(this,obj,Boolean.FALSE);
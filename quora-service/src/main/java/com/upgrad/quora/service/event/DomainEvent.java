@@ -0,0 +1,53 @@
+package com.upgrad.quora.service.event;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Change to a user, question or answer, as recorded in the outbox. The aggregate id is the uuid of the changed
+ * user, question or answer; the payload holds the uuids of related entities.
+ */
+public final class DomainEvent {
+
+    private final long id;
+    private final DomainEventType type;
+    private final String aggregateId;
+    private final Map<String, String> payload;
+    private final LocalDateTime createdAt;
+
+    DomainEvent(final long id, final DomainEventType type, final String aggregateId, final Map<String, String> payload,
+                final LocalDateTime createdAt) {
+        this.id = id;
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.payload = Collections.unmodifiableMap(payload);
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return position of the event in the outbox, increasing with the time the event was recorded
+     */
+    public long getId() {
+        return id;
+    }
+
+    public DomainEventType getType() {
+        return type;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public Map<String, String> getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return time the change was made
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.upgrad.quora.service.event;
+
+/**
+ * Receives the domain events relayed from the outbox by the {@link OutboxRelay}. Every bean implementing this
+ * interface receives every committed event, in the order the events were recorded, on every instance. Delivery is at
+ * least once: an event is delivered again to all consumers if any consumer fails on it, until it has failed
+ * max-attempts times and is parked, and the events of the replay window are delivered again after a restart, so
+ * consumers must be idempotent or tolerate duplicates.
+ * <p>
+ * Consumers are called one event at a time from the relay thread and hold up the delivery of later events, so they
+ * should only update derived state and hand slow work off to their own executor.
+ */
+public interface DomainEventConsumer {
+
+    /**
+     * @param event event to process
+     * @throws RuntimeException to have the event delivered again on the next run of the relay, or parked once it has
+     *                          failed max-attempts times
+     */
+    void accept(DomainEvent event);
+}
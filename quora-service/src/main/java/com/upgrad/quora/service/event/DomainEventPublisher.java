@@ -0,0 +1,56 @@
+package com.upgrad.quora.service.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.quora.service.dao.OutboxDao;
+import com.upgrad.quora.service.entity.OutboxEventEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox. Events are written in the transaction making the change, so an event exists
+ * if and only if its change was committed; the {@link OutboxRelay} delivers them to the consumers afterwards.
+ */
+@Component
+public class DomainEventPublisher {
+
+    static final ObjectMapper PAYLOAD_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private OutboxDao outboxDao;
+
+    /**
+     * Method records an event in the outbox. It must be called in the transaction making the change.
+     *
+     * @param type        type of the change
+     * @param aggregateId uuid of the changed user, question or answer
+     * @param payload     alternating keys and values naming related entities, e.g. "questionId", questionUuid
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(final DomainEventType type, final String aggregateId, final String... payload) {
+        if (payload.length % 2 != 0) {
+            throw new IllegalArgumentException("Payload of " + type + " must be key value pairs");
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < payload.length; i += 2) {
+            values.put(payload[i], payload[i + 1]);
+        }
+
+        final OutboxEventEntity event = new OutboxEventEntity();
+        event.setEventType(type.name());
+        event.setAggregateId(aggregateId);
+        try {
+            event.setPayload(PAYLOAD_MAPPER.writeValueAsString(values));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload of " + type + " cannot be serialized", e);
+        }
+        event.setCreatedAt(LocalDateTime.now());
+        outboxDao.createEvent(event);
+    }
+}
@@ -0,0 +1,17 @@
+package com.upgrad.quora.service.event;
+
+public enum DomainEventType {
+
+    USER_CREATED,
+    USER_DELETED,
+    USER_PURGED,
+
+    QUESTION_CREATED,
+    QUESTION_EDITED,
+    QUESTION_DELETED,
+
+    ANSWER_CREATED,
+    ANSWER_EDITED,
+    ANSWER_DELETED;
+
+}
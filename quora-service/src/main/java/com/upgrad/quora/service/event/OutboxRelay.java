@@ -0,0 +1,254 @@
+package com.upgrad.quora.service.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.upgrad.quora.service.dao.OutboxDao;
+import com.upgrad.quora.service.entity.OutboxEventEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Delivers the events recorded in the outbox to every {@link DomainEventConsumer} of this instance, in id order and
+ * at least once. Each instance keeps its own position in the outbox, so every instance sees every event; on startup
+ * the relay replays the events of the last replay-hours, which lets consumers rebuild their in-memory state.
+ * <p>
+ * Ids are assigned when an event is inserted but become visible when its transaction commits, so a missing id may
+ * belong to a transaction still in flight. The relay waits up to gap-timeout-ms for a missing id before skipping it,
+ * which keeps events in order without stalling on ids that will never appear. A skipped id is looked up again on every
+ * run for skipped-recheck-ms, so the event of a transaction that commits after the gap timeout is still delivered,
+ * late and out of order; an id that does not appear by then is taken as rolled back.
+ * <p>
+ * An event that cannot be read is parked at once in the dead letter table; one that a consumer fails on is delivered
+ * again on the following runs, and parked once max-attempts deliveries have failed. Either way the relay moves on, so
+ * a single bad event does not hold up the events after it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "quora.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final TypeReference<Map<String, String>> PAYLOAD_TYPE = new TypeReference<Map<String, String>>() {
+    };
+
+    @Autowired
+    private OutboxDao outboxDao;
+
+    @Autowired(required = false)
+    private List<DomainEventConsumer> consumers = Collections.emptyList();
+
+    @Value("${quora.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${quora.outbox.relay.gap-timeout-ms:2000}")
+    private long gapTimeoutMs;
+
+    @Value("${quora.outbox.relay.skipped-recheck-ms:60000}")
+    private long skippedRecheckMs;
+
+    @Value("${quora.outbox.relay.max-skipped:10000}")
+    private int maxSkipped;
+
+    @Value("${quora.outbox.relay.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${quora.outbox.relay.replay-hours:6}")
+    private long replayHours;
+
+    @Value("${quora.outbox.relay.retention-hours:24}")
+    private long retentionHours;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Id of the last event delivered, -1 until the start position has been read. Only accessed by the scheduled run.
+     */
+    private long position = -1;
+
+    /**
+     * Time at which the relay first waited for the id following the position, 0 if it is not waiting.
+     */
+    private long gapSinceMillis;
+
+    /**
+     * Time at which each id was skipped, by id, while it is rechecked. Only accessed by the scheduled run.
+     */
+    private final TreeMap<Long, Long> skipped = new TreeMap<>();
+
+    /**
+     * Number of failed deliveries of each event that is still retried, by id. Only accessed by the scheduled run.
+     */
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+
+    @Autowired
+    public OutboxRelay(final PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(fixedDelayString = "${quora.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        try {
+            if (position < 0) {
+                final LocalDateTime replayFrom = LocalDateTime.now().minusHours(replayHours);
+                position = readOnlyTransaction.execute(status -> outboxDao.getLastEventIdBefore(replayFrom));
+            }
+            boolean more;
+            do {
+                final List<OutboxEventEntity> events = readOnlyTransaction.execute(status -> outboxDao.getEventsAfter(position, batchSize));
+                more = deliver(events) && events.size() == batchSize;
+            } while (more);
+            deliverSkipped();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Relaying the outbox failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Method removes the events recorded longer ago than the retention period, one batch per transaction
+     */
+    @Scheduled(fixedDelayString = "${quora.outbox.relay.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        final LocalDateTime cutoff = LocalDateTime.now().minusHours(Math.max(retentionHours, replayHours));
+        try {
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> outboxDao.deleteEventsBefore(cutoff, batchSize));
+            } while (deleted == batchSize);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Deleting expired outbox events failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Method delivers events in order, advancing the position past each delivered event
+     *
+     * @return true if all events were delivered or parked, false if the relay stopped at a gap or a failing consumer
+     */
+    private boolean deliver(final List<OutboxEventEntity> events) {
+        for (OutboxEventEntity event : events) {
+            if (event.getId() != position + 1) {
+                if (!gapTimedOut()) {
+                    return false;
+                }
+                skip(position + 1, event.getId());
+            }
+            if (!deliver(event)) {
+                return false;
+            }
+            position = event.getId();
+            gapSinceMillis = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Method delivers the skipped events whose transactions have committed since, and forgets the ids skipped longer
+     * than skipped-recheck-ms ago
+     */
+    private void deliverSkipped() {
+        final long expiredBefore = System.currentTimeMillis() - skippedRecheckMs;
+        skipped.values().removeIf(skippedAt -> skippedAt < expiredBefore);
+        final List<Long> ids = new ArrayList<>(skipped.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            final List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            final List<OutboxEventEntity> events = readOnlyTransaction.execute(status -> outboxDao.getEventsByIds(batch));
+            for (OutboxEventEntity event : events) {
+                if (!deliver(event)) {
+                    return;
+                }
+                skipped.remove(event.getId());
+            }
+        }
+    }
+
+    /**
+     * Method delivers an event to every consumer, or parks it once it cannot be delivered
+     *
+     * @return true if the event was delivered or parked, false if it is to be delivered again on the next run
+     */
+    private boolean deliver(final OutboxEventEntity event) {
+        final DomainEvent domainEvent;
+        try {
+            domainEvent = toDomainEvent(event);
+        } catch (RuntimeException e) {
+            return park(event, 1, e);
+        }
+        try {
+            for (DomainEventConsumer consumer : consumers) {
+                consumer.accept(domainEvent);
+            }
+            failedAttempts.remove(event.getId());
+            return true;
+        } catch (RuntimeException e) {
+            final int attempts = failedAttempts.merge(event.getId(), 1, Integer::sum);
+            if (attempts >= maxAttempts) {
+                return park(event, attempts, e);
+            }
+            LOGGER.warn("Delivering outbox event {} ({}) failed {} times, retrying on the next run", event.getId(),
+                    event.getEventType(), attempts, e);
+            return false;
+        }
+    }
+
+    private boolean park(final OutboxEventEntity event, final int attempts, final RuntimeException failure) {
+        try {
+            transactionTemplate.execute(status -> {
+                outboxDao.parkEvent(event, attempts, failure.toString());
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Parking outbox event {} ({}) failed, retrying on the next run", event.getId(), event.getEventType(), e);
+            return false;
+        }
+        failedAttempts.remove(event.getId());
+        LOGGER.error("Outbox event {} ({}) parked in OUTBOX_DEAD_LETTER after {} failed attempts", event.getId(),
+                event.getEventType(), attempts, failure);
+        return true;
+    }
+
+    private void skip(final long fromId, final long toId) {
+        final long now = System.currentTimeMillis();
+        for (long id = fromId; id < toId; id++) {
+            if (skipped.size() >= maxSkipped) {
+                LOGGER.warn("Outbox ids {} to {} skipped without recheck, {} skipped ids are already rechecked", id, toId - 1, skipped.size());
+                return;
+            }
+            skipped.putIfAbsent(id, now);
+        }
+    }
+
+    private boolean gapTimedOut() {
+        final long now = System.currentTimeMillis();
+        if (gapSinceMillis == 0) {
+            gapSinceMillis = now;
+        }
+        return now - gapSinceMillis >= gapTimeoutMs;
+    }
+
+    private static DomainEvent toDomainEvent(final OutboxEventEntity event) {
+        try {
+            return new DomainEvent(event.getId(), DomainEventType.valueOf(event.getEventType()), event.getAggregateId(),
+                    DomainEventPublisher.PAYLOAD_MAPPER.readValue(event.getPayload(), PAYLOAD_TYPE), event.getCreatedAt());
+        } catch (IOException e) {
+            throw new IllegalStateException("Payload of outbox event " + event.getId() + " cannot be read", e);
+        }
+    }
+}
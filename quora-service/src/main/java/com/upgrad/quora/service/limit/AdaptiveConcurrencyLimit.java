@@ -0,0 +1,111 @@
+package com.upgrad.quora.service.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that follows the latency of the calls it admits, in the manner of a gradient limiter. A long-term
+ * average of the call latency stands for the latency of an unloaded database; while calls take no longer than
+ * tolerance times that average the limit grows by about its square root, and as they take longer it shrinks in
+ * proportion, down to half per sample. A call that timed out on the database multiplies the limit by backoff-ratio.
+ * Samples taken while fewer than half the permits are in use tell nothing about the limit and only feed the average.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double longWindowWeight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    AdaptiveConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit, final double tolerance,
+                             final double smoothing, final double backoffRatio, final int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.longWindowWeight = 2.0 / (longWindow + 1);
+        this.estimatedLimit = clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @return true if the call may proceed, in which case it must be released, false if the limit is reached
+     */
+    boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Method releases the permit of a call that completed or failed, and adapts the limit to its latency
+     *
+     * @param rttNanos duration of the call
+     * @param dropped  true if the call timed out on the database
+     */
+    void release(final long rttNanos, final boolean dropped) {
+        update(inFlight.getAndDecrement(), rttNanos, dropped);
+    }
+
+    /**
+     * Method releases the permit of a call that tells nothing about the database, such as one given up before it
+     * started
+     */
+    void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getRejected() {
+        return rejected.get();
+    }
+
+    private synchronized void update(final int inFlightBefore, final long rttNanos, final boolean dropped) {
+        if (dropped) {
+            estimatedLimit = clamp(estimatedLimit * backoffRatio, minLimit, maxLimit);
+            limit = (int) estimatedLimit;
+            return;
+        }
+        final double rtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + longWindowWeight * (rtt - longRttNanos);
+        if (longRttNanos / rtt > 2) {
+            // the database has recovered from a period of high latency; let the average catch up with it
+            longRttNanos *= 0.95;
+        }
+        if (inFlightBefore < estimatedLimit / 2) {
+            return;
+        }
+        final double gradient = clamp(tolerance * longRttNanos / rtt, 0.5, 1.0);
+        final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    private static double clamp(final double value, final double min, final double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,21 @@
+package com.upgrad.quora.service.limit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Replaces the auto-configured JPA transaction manager with one admitting transactions through the
+ * {@link DaoConcurrencyLimiter}.
+ */
+@Configuration
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    public PlatformTransactionManager transactionManager(final EntityManagerFactory entityManagerFactory,
+                                                         final DaoConcurrencyLimiter limiter) {
+        return new ConcurrencyLimitedTransactionManager(entityManagerFactory, limiter);
+    }
+}
@@ -0,0 +1,42 @@
+package com.upgrad.quora.service.limit;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * JPA transaction manager that admits every new transaction through the {@link DaoConcurrencyLimiter} before it takes
+ * a connection, and releases it once the transaction completed. Transactions that join an existing one hold no
+ * connection of their own and are not counted.
+ */
+public class ConcurrencyLimitedTransactionManager extends JpaTransactionManager {
+
+    private final DaoConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedTransactionManager(final EntityManagerFactory entityManagerFactory,
+                                                final DaoConcurrencyLimiter limiter) {
+        super(entityManagerFactory);
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doBegin(final Object transaction, final TransactionDefinition definition) {
+        limiter.admit(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            limiter.abandon();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(final Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            limiter.release();
+        }
+    }
+}
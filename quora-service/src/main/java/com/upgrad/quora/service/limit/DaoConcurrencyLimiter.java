@@ -0,0 +1,215 @@
+package com.upgrad.quora.service.limit;
+
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.common.ServiceUnavailableException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.QueryTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bounds the number of concurrent database transactions, with an {@link AdaptiveConcurrencyLimit} for read-only
+ * transactions and one for the others. A transaction is admitted by {@link ConcurrencyLimitedTransactionManager} before
+ * it takes a pool connection, and releases its permit when it completes; a transaction over the limit fails at once
+ * with GEN-005 instead of queueing for a connection, so the database keeps serving the transactions it admitted at its
+ * usual latency. The time a transaction held its connection is the latency sample of its limit.
+ * <p>
+ * The maximums are capped at the pools in use, so that every admitted transaction finds a connection: with a replica,
+ * read-only transactions at the replica pool and the others at the primary pool; without one, both together at the
+ * primary pool, shared in proportion to their configured maximums.
+ * <p>
+ * As an aspect around the DAO layer it admits the calls made outside any transaction the same way, one call at a
+ * time, and marks the transaction of a query that timed out on the database so that its limit backs off. It is
+ * ordered inside the {@link com.upgrad.quora.service.deadline.QueryDeadlineAspect}, which would otherwise turn the
+ * timeouts into deadline failures. The limits are exported over JMX as quora:type=DaoConcurrencyLimiter.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ManagedResource(objectName = "quora:type=DaoConcurrencyLimiter", description = "Adaptive concurrency limits of the database transactions")
+public class DaoConcurrencyLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DaoConcurrencyLimiter.class);
+
+    private static final ThreadLocal<Deque<Admission>> ADMISSIONS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+
+    @Autowired
+    public DaoConcurrencyLimiter(@Value("${quora.db-limit.enabled:true}") final boolean enabled,
+                                 @Value("${quora.db-limit.read.initial:20}") final int readInitial,
+                                 @Value("${quora.db-limit.read.min:5}") final int readMin,
+                                 @Value("${quora.db-limit.read.max:30}") final int readMax,
+                                 @Value("${quora.db-limit.write.initial:10}") final int writeInitial,
+                                 @Value("${quora.db-limit.write.min:2}") final int writeMin,
+                                 @Value("${quora.db-limit.write.max:20}") final int writeMax,
+                                 @Value("${quora.db-limit.tolerance:2.0}") final double tolerance,
+                                 @Value("${quora.db-limit.smoothing:0.2}") final double smoothing,
+                                 @Value("${quora.db-limit.backoff-ratio:0.9}") final double backoffRatio,
+                                 @Value("${quora.db-limit.long-window:600}") final int longWindow,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") final int primaryPoolSize,
+                                 @Value("${quora.datasource.replica.url:}") final String replicaUrl,
+                                 @Value("${quora.datasource.replica.hikari.maximum-pool-size:10}") final int replicaPoolSize) {
+        this.enabled = enabled;
+        final int readCap;
+        final int writeCap;
+        if (replicaUrl.isEmpty()) {
+            readCap = Math.max(1, (int) ((long) primaryPoolSize * readMax / (readMax + writeMax)));
+            writeCap = Math.max(1, primaryPoolSize - readCap);
+        } else {
+            readCap = replicaPoolSize;
+            writeCap = primaryPoolSize;
+        }
+        if (enabled && (readMax > readCap || writeMax > writeCap)) {
+            LOGGER.info("Capping the concurrent read-only and read-write transactions at {} and {} to fit the connection pools",
+                    Math.min(readMax, readCap), Math.min(writeMax, writeCap));
+        }
+        this.readLimit = limit(readInitial, readMin, Math.min(readMax, readCap), tolerance, smoothing, backoffRatio, longWindow);
+        this.writeLimit = limit(writeInitial, writeMin, Math.min(writeMax, writeCap), tolerance, smoothing, backoffRatio, longWindow);
+    }
+
+    private static AdaptiveConcurrencyLimit limit(final int initial, final int min, final int max, final double tolerance,
+                                                  final double smoothing, final double backoffRatio, final int longWindow) {
+        return new AdaptiveConcurrencyLimit(Math.min(initial, max), Math.min(min, max), max, tolerance, smoothing,
+                backoffRatio, longWindow);
+    }
+
+    /**
+     * Method admits a transaction, or a call outside of any, on the current thread. Every admission is closed by
+     * {@link #release()} or, if the work never started, {@link #abandon()}, innermost first.
+     *
+     * @param readOnly true for a read-only transaction
+     * @throws ServiceUnavailableException with GEN-005 if the limit is reached
+     */
+    void admit(final boolean readOnly) {
+        if (!enabled) {
+            return;
+        }
+        final AdaptiveConcurrencyLimit limit = readOnly ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            throw new ServiceUnavailableException(GenericErrorCode.GEN_005, readOnly ? "read" : "write");
+        }
+        ADMISSIONS.get().push(new Admission(limit, System.nanoTime()));
+    }
+
+    /**
+     * Method releases the innermost admission of the current thread once its work completed, and adapts its limit to
+     * the time the work took
+     */
+    void release() {
+        if (!enabled) {
+            return;
+        }
+        final Admission admission = ADMISSIONS.get().pop();
+        if (admission.unsampled) {
+            admission.limit.releaseWithoutSample();
+        } else {
+            admission.limit.release(System.nanoTime() - admission.startNanos, admission.dropped);
+        }
+    }
+
+    /**
+     * Method releases the innermost admission of the current thread without adapting its limit, as its work never
+     * started
+     */
+    void abandon() {
+        if (!enabled) {
+            return;
+        }
+        ADMISSIONS.get().pop().limit.releaseWithoutSample();
+    }
+
+    @Around("within(com.upgrad.quora.service.dao..*)")
+    public Object limit(final ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        final boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+        if (!transactional) {
+            admit(true);
+        }
+        try {
+            final Object result = joinPoint.proceed();
+            if (!transactional) {
+                release();
+            }
+            return result;
+        } catch (Throwable e) {
+            final Admission admission = ADMISSIONS.get().peek();
+            if (admission != null) {
+                if (isQueryTimeout(e) || isQueryTimeout(e.getCause())) {
+                    admission.dropped = true;
+                } else if (e instanceof ServiceUnavailableException) {
+                    admission.unsampled = true;
+                }
+            }
+            if (!transactional) {
+                release();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isQueryTimeout(final Throwable e) {
+        return e instanceof QueryTimeoutException || e instanceof org.hibernate.QueryTimeoutException
+                || e instanceof org.springframework.dao.QueryTimeoutException;
+    }
+
+    @ManagedAttribute(description = "Concurrent read-only transactions admitted")
+    public int getReadLimit() {
+        return readLimit.getLimit();
+    }
+
+    @ManagedAttribute(description = "Read-only transactions in flight")
+    public int getReadInFlight() {
+        return readLimit.getInFlight();
+    }
+
+    @ManagedAttribute(description = "Read-only transactions rejected since startup")
+    public long getReadRejected() {
+        return readLimit.getRejected();
+    }
+
+    @ManagedAttribute(description = "Concurrent read-write transactions admitted")
+    public int getWriteLimit() {
+        return writeLimit.getLimit();
+    }
+
+    @ManagedAttribute(description = "Read-write transactions in flight")
+    public int getWriteInFlight() {
+        return writeLimit.getInFlight();
+    }
+
+    @ManagedAttribute(description = "Read-write transactions rejected since startup")
+    public long getWriteRejected() {
+        return writeLimit.getRejected();
+    }
+
+    private static final class Admission {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long startNanos;
+        private boolean dropped;
+        private boolean unsampled;
+
+        private Admission(final AdaptiveConcurrencyLimit limit, final long startNanos) {
+            this.limit = limit;
+            this.startNanos = startNanos;
+        }
+    }
+}
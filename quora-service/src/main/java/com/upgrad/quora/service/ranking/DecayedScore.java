@@ -0,0 +1,37 @@
+package com.upgrad.quora.service.ranking;
+
+/**
+ * Exponentially decayed event count. Each event adds one to the score, and the score halves every half-life, so it
+ * tracks the recent rate of events while older events fade out. Instances are immutable and replaced on update.
+ */
+final class DecayedScore {
+
+    private final double value;
+    private final long atMillis;
+
+    DecayedScore(final double value, final long atMillis) {
+        this.value = value;
+        this.atMillis = atMillis;
+    }
+
+    /**
+     * @return value of the score at the given time
+     */
+    double valueAt(final long nowMillis, final double halfLifeMillis) {
+        if (nowMillis <= atMillis) {
+            return value;
+        }
+        return value * Math.pow(0.5, (nowMillis - atMillis) / halfLifeMillis);
+    }
+
+    /**
+     * @return score after one more event at the given time; an event older than the last update counts with the
+     * weight it has decayed to since
+     */
+    DecayedScore increment(final long eventMillis, final double halfLifeMillis) {
+        if (eventMillis < atMillis) {
+            return new DecayedScore(value + Math.pow(0.5, (atMillis - eventMillis) / halfLifeMillis), atMillis);
+        }
+        return new DecayedScore(valueAt(eventMillis, halfLifeMillis) + 1, eventMillis);
+    }
+}
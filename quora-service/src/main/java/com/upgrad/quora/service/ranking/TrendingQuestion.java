@@ -0,0 +1,32 @@
+package com.upgrad.quora.service.ranking;
+
+/**
+ * Immutable entry of the trending question ranking, as served by {@link TrendingQuestionRanking}.
+ */
+public final class TrendingQuestion {
+
+    private final String questionUuid;
+    private final String questionContent;
+    private final double score;
+
+    TrendingQuestion(final String questionUuid, final String questionContent, final double score) {
+        this.questionUuid = questionUuid;
+        this.questionContent = questionContent;
+        this.score = score;
+    }
+
+    public String getQuestionUuid() {
+        return questionUuid;
+    }
+
+    public String getQuestionContent() {
+        return questionContent;
+    }
+
+    /**
+     * @return number of answers to the question, each weighted down by its age, when the ranking was refreshed
+     */
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,152 @@
+package com.upgrad.quora.service.ranking;
+
+import com.upgrad.quora.service.dao.QuestionDao;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.event.DomainEvent;
+import com.upgrad.quora.service.event.DomainEventConsumer;
+import com.upgrad.quora.service.event.DomainEventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranking of the questions receiving the most answers recently. Every answer created event from the outbox increments
+ * an exponentially decayed score of its question, so the score reflects answer velocity and fades once a question stops receiving
+ * answers. The top questions are recomputed on a schedule into an immutable snapshot, which is what requests read;
+ * serving the ranking never touches the scores or the database.
+ * <p>
+ * Scores are held in memory by each instance and start empty after a restart. A redelivered event counts twice,
+ * which the ranking tolerates.
+ */
+@Component
+public class TrendingQuestionRanking implements DomainEventConsumer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrendingQuestionRanking.class);
+
+    private static final Comparator<Map.Entry<String, Double>> BY_SCORE = Map.Entry.comparingByValue();
+
+    @Autowired
+    private QuestionDao questionDao;
+
+    @Value("${quora.trending.size:20}")
+    private int size;
+
+    @Value("${quora.trending.half-life-minutes:360}")
+    private long halfLifeMinutes;
+
+    @Value("${quora.trending.min-score:0.05}")
+    private double minScore;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, DecayedScore> scores = new ConcurrentHashMap<>();
+
+    private volatile List<TrendingQuestion> snapshot = Collections.emptyList();
+
+    @Autowired
+    public TrendingQuestionRanking(final PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Method counts each created answer towards the score of its question, as of the time the answer was created
+     *
+     * @param event domain event from the outbox
+     */
+    @Override
+    public void accept(final DomainEvent event) {
+        if (event.getType() == DomainEventType.ANSWER_CREATED) {
+            increment(event.getPayload().get("questionId"),
+                    event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    /**
+     * @return the trending questions as of the last refresh, highest score first
+     */
+    public List<TrendingQuestion> getTrending() {
+        return snapshot;
+    }
+
+    /**
+     * Method recomputes the snapshot of trending questions from the current scores. Scores that decayed below the
+     * minimum are dropped, as are the scores of questions that no longer exist.
+     */
+    @Scheduled(fixedDelayString = "${quora.trending.refresh-ms:10000}")
+    public void refresh() {
+        final long now = System.currentTimeMillis();
+        final double halfLifeMillis = halfLifeMillis();
+        final PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(size + 1, BY_SCORE);
+        for (Map.Entry<String, DecayedScore> entry : scores.entrySet()) {
+            final double score = entry.getValue().valueAt(now, halfLifeMillis);
+            if (score < minScore) {
+                scores.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            top.offer(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), score));
+            if (top.size() > size) {
+                top.poll();
+            }
+        }
+
+        final List<Map.Entry<String, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(BY_SCORE.reversed());
+        try {
+            snapshot = Collections.unmodifiableList(toTrendingQuestions(ranked));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Refreshing the trending questions failed, serving the previous ranking", e);
+        }
+    }
+
+    private List<TrendingQuestion> toTrendingQuestions(final List<Map.Entry<String, Double>> ranked) {
+        if (ranked.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> questionUuids = new ArrayList<>(ranked.size());
+        ranked.forEach(entry -> questionUuids.add(entry.getKey()));
+        final Map<String, QuestionEntity> questions = new HashMap<>();
+        readOnlyTransaction.execute(status -> {
+            questionDao.getQuestions(questionUuids).forEach(question -> questions.put(question.getUuid(), question));
+            return null;
+        });
+
+        final List<TrendingQuestion> trending = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Double> entry : ranked) {
+            final QuestionEntity question = questions.get(entry.getKey());
+            if (question == null) {
+                scores.remove(entry.getKey());
+            } else {
+                trending.add(new TrendingQuestion(question.getUuid(), question.getContent(), entry.getValue()));
+            }
+        }
+        return trending;
+    }
+
+    private void increment(final String questionUuid, final long answeredAtMillis) {
+        final double halfLifeMillis = halfLifeMillis();
+        scores.compute(questionUuid, (uuid, score) -> score == null
+                ? new DecayedScore(1, answeredAtMillis)
+                : score.increment(answeredAtMillis, halfLifeMillis));
+    }
+
+    private double halfLifeMillis() {
+        return halfLifeMinutes * 60_000d;
+    }
+}
@@ -0,0 +1,76 @@
+package com.upgrad.quora.service.trace;
+
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.common.UnexpectedException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call into the DAO layer, records it against the current request's {@link QueryStatistics},
+ * logs slow calls and enforces the per-request SQL statement budget.
+ */
+@Aspect
+@Component
+public class DaoTimingAspect {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DaoTimingAspect.class);
+
+    @Value("${quora.sql-trace.slow-query-threshold-ms:200}")
+    private long slowQueryThresholdMs;
+
+    @Value("${quora.sql-trace.max-statements-per-request:0}")
+    private int maxStatementsPerRequest;
+
+    @Value("${quora.sql-trace.fail-on-budget-exceeded:false}")
+    private boolean failOnBudgetExceeded;
+
+    @Around("within(com.upgrad.quora.service.dao..*)")
+    public Object time(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final QueryStatistics statistics = QueryStatistics.current();
+        final long start = System.nanoTime();
+        final Object result;
+        try {
+            result = joinPoint.proceed();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            final String operation = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                    + joinPoint.getSignature().getName();
+            if (TimeUnit.NANOSECONDS.toMillis(elapsed) >= slowQueryThresholdMs) {
+                LOGGER.warn("Slow DAO call {} took {} ms", operation, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+            if (statistics != null) {
+                statistics.recordOperation(operation, elapsed);
+            }
+        }
+        if (statistics != null) {
+            checkBudget(statistics);
+        }
+        return result;
+    }
+
+    /**
+     * Method reports a request that has gone over its statement budget, either by logging it once or, when
+     * configured to fail (typically in tests), by aborting the request.
+     *
+     * @param statistics statistics of the current request
+     */
+    private void checkBudget(final QueryStatistics statistics) {
+        if (maxStatementsPerRequest <= 0 || statistics.getStatementCount() <= maxStatementsPerRequest) {
+            return;
+        }
+        if (failOnBudgetExceeded) {
+            throw new UnexpectedException(GenericErrorCode.GEN_002, maxStatementsPerRequest, statistics.getStatementCount());
+        }
+        if (statistics.markBudgetExceeded()) {
+            LOGGER.warn("SQL statement budget of {} exceeded, slowest DAO call was {}",
+                    maxStatementsPerRequest, statistics.getSlowestOperation());
+        }
+    }
+}
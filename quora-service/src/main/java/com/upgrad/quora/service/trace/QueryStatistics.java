@@ -0,0 +1,79 @@
+package com.upgrad.quora.service.trace;
+
+/**
+ * Per-request SQL statistics. A request thread opens the statistics with {@link #begin()}, the DAO layer and the
+ * Hibernate statement inspector record into it, and the web layer reads it back to report the totals.
+ * Work executed outside a request (scheduled jobs, startup) has no statistics bound and is not recorded.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long totalNanos;
+    private long slowestNanos;
+    private String slowestOperation;
+    private boolean budgetExceeded;
+
+    private QueryStatistics() {
+    }
+
+    /**
+     * Binds fresh statistics to the current thread, replacing any left over from a previous request.
+     *
+     * @return statistics bound to the current thread
+     */
+    public static QueryStatistics begin() {
+        QueryStatistics statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return statistics bound to the current thread, null if the thread is not serving a request
+     */
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Unbinds the statistics from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement() {
+        statementCount++;
+    }
+
+    void recordOperation(final String operation, final long nanos) {
+        totalNanos += nanos;
+        if (nanos > slowestNanos) {
+            slowestNanos = nanos;
+            slowestOperation = operation;
+        }
+    }
+
+    boolean markBudgetExceeded() {
+        boolean firstTime = !budgetExceeded;
+        budgetExceeded = true;
+        return firstTime;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getSlowestNanos() {
+        return slowestNanos;
+    }
+
+    public String getSlowestOperation() {
+        return slowestOperation;
+    }
+}
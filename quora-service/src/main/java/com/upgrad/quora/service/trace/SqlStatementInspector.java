@@ -0,0 +1,20 @@
+package com.upgrad.quora.service.trace;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting every SQL statement prepared on behalf of the current request.
+ * Registered through the "hibernate.session_factory.statement_inspector" JPA property, so Hibernate
+ * instantiates it itself and it must stay stateless.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(final String sql) {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            statistics.recordStatement();
+        }
+        return sql;
+    }
+}
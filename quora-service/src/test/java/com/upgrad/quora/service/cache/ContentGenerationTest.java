@@ -0,0 +1,58 @@
+package com.upgrad.quora.service.cache;
+
+import com.upgrad.quora.service.event.DomainEvent;
+import com.upgrad.quora.service.event.DomainEventType;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Constructor;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ContentGenerationTest {
+
+    private final ContentGeneration contentGeneration = new ContentGeneration();
+
+    @After
+    public void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    //This test case passes when a write in a transaction advances the generation once the transaction has committed, not before.
+    @Test
+    public void advancesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        contentGeneration.advance();
+        assertEquals(0, contentGeneration.current());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(1, contentGeneration.current());
+    }
+
+    //This test case passes when a change relayed from the outbox, made on this instance or another, advances the generation.
+    @Test
+    public void advancesOnRelayedChanges() {
+        contentGeneration.accept(event(DomainEventType.ANSWER_CREATED, Collections.singletonMap("questionId", "q1")));
+        contentGeneration.accept(event(DomainEventType.QUESTION_DELETED, Collections.singletonMap("userId", "u1")));
+        assertEquals(2, contentGeneration.current());
+    }
+
+    private static DomainEvent event(final DomainEventType type, final Map<String, String> payload) {
+        try {
+            Constructor<DomainEvent> constructor = DomainEvent.class.getDeclaredConstructor(long.class, DomainEventType.class,
+                    String.class, Map.class, LocalDateTime.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(1L, type, "aggregate_uuid", payload, LocalDateTime.now());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
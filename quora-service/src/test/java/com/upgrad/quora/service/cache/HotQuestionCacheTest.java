@@ -0,0 +1,243 @@
+package com.upgrad.quora.service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.upgrad.quora.service.dao.AnswerDao;
+import com.upgrad.quora.service.dao.QuestionDao;
+import com.upgrad.quora.service.entity.AnswerEntity;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import com.upgrad.quora.service.event.DomainEvent;
+import com.upgrad.quora.service.event.DomainEventType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Constructor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+
+public class HotQuestionCacheTest {
+
+    /**
+     * Number of loads of each question
+     */
+    private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+    /**
+     * Number of answers of each question, 2 if not set
+     */
+    private final Map<String, Integer> answerCounts = new HashMap<>();
+
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private volatile CountDownLatch started = new CountDownLatch(0);
+
+    private HotQuestionCache cache;
+
+    @Before
+    public void setUp() {
+        cache = cache(100);
+    }
+
+    @After
+    public void shutdown() {
+        cache.shutdown();
+    }
+
+    //This test case passes when concurrent reads of a question that is not cached share a single load.
+    @Test
+    public void concurrentMissesShareOneLoad() throws Exception {
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+        CompletableFuture<QuestionAnswersView> first = CompletableFuture.supplyAsync(() -> cache.get("q1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<QuestionAnswersView> second = CompletableFuture.supplyAsync(() -> cache.get("q1"));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        release.countDown();
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, first.get().getAnswers().size());
+        assertEquals(1, loads("q1"));
+    }
+
+    //This test case passes when a question that does not exist is returned as null and loaded again on the next read.
+    @Test
+    public void missingQuestionIsNotCached() {
+        assertNull(cache.get("missing"));
+        assertNull(cache.get("missing"));
+        assertEquals(2, loads("missing"));
+    }
+
+    //This test case passes when a view loaded while an answer of unknown question changed is reloaded once, by the first read that finds it.
+    @Test
+    public void viewLoadedDuringAnUnmappedChangeIsReloadedOnce() throws Exception {
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+        CompletableFuture<QuestionAnswersView> read = CompletableFuture.supplyAsync(() -> cache.get("q1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        cache.accept(event(DomainEventType.ANSWER_EDITED, "unknown_answer", Collections.emptyMap()));
+        release.countDown();
+        assertFalse(read.get(5, TimeUnit.SECONDS).isPossiblyStale());
+        assertEquals(2, loads("q1"));
+        cache.get("q1");
+        assertEquals(2, loads("q1"));
+    }
+
+    //This test case passes when an answer event evicts the question named in its payload.
+    @Test
+    public void answerEventEvictsItsQuestion() {
+        QuestionAnswersView view = cache.get("q1");
+        cache.get("q2");
+        cache.accept(event(DomainEventType.ANSWER_DELETED, "q1_answer_0", Collections.singletonMap("questionId", "q1")));
+        QuestionAnswersView reloaded = cache.get("q1");
+        cache.get("q2");
+        assertEquals(2, loads("q1"));
+        assertEquals(1, loads("q2"));
+        assertNotSame(view, reloaded);
+    }
+
+    //This test case passes when an answer event recorded without its question evicts the cached question holding the answer.
+    @Test
+    public void answerEventWithoutQuestionEvictsTheQuestionHoldingTheAnswer() {
+        cache.get("q1");
+        cache.get("q2");
+        cache.accept(event(DomainEventType.ANSWER_EDITED, "q2_answer_1", Collections.emptyMap()));
+        cache.get("q1");
+        cache.get("q2");
+        assertEquals(1, loads("q1"));
+        assertEquals(2, loads("q2"));
+    }
+
+    //This test case passes when question events evict their question and a purged user evicts every question.
+    @Test
+    public void questionAndPurgeEventsEvict() {
+        cache.get("q1");
+        cache.get("q2");
+        cache.accept(event(DomainEventType.QUESTION_EDITED, "q1", Collections.singletonMap("userId", "u1")));
+        cache.accept(event(DomainEventType.QUESTION_CREATED, "q2", Collections.singletonMap("userId", "u1")));
+        cache.get("q1");
+        cache.get("q2");
+        assertEquals(2, loads("q1"));
+        assertEquals(1, loads("q2"));
+        cache.accept(event(DomainEventType.USER_PURGED, "u1", Collections.emptyMap()));
+        cache.get("q1");
+        cache.get("q2");
+        assertEquals(3, loads("q1"));
+        assertEquals(2, loads("q2"));
+    }
+
+    //This test case passes when the cache is bounded by the number of answers it holds rather than by the number of questions.
+    @Test
+    public void weighsViewsByTheirAnswers() throws Exception {
+        cache.shutdown();
+        cache = cache(20);
+        answerCounts.put("heavy", 15);
+        for (String question : new String[]{"q1", "q2", "q3", "q4", "q5"}) {
+            cache.get(question);
+        }
+        assertEquals(15, weightedSize());
+        cache.get("heavy");
+        assertTrue(awaitWeightedSizeAtMost(20));
+        assertTrue(views().synchronous().estimatedSize() < 6);
+    }
+
+    private HotQuestionCache cache(final long maxWeight) {
+        final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        Mockito.when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        final HotQuestionCache cache = new HotQuestionCache(transactionManager, maxWeight, 60, 2, 100);
+
+        final QuestionDao questionDao = Mockito.mock(QuestionDao.class);
+        Mockito.when(questionDao.getQuestion(anyString())).thenAnswer(invocation -> {
+            String uuid = invocation.getArgument(0);
+            loads.computeIfAbsent(uuid, key -> new AtomicInteger()).incrementAndGet();
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            if (uuid.equals("missing")) {
+                return null;
+            }
+            QuestionEntity question = new QuestionEntity();
+            question.setId(uuid.hashCode());
+            question.setUuid(uuid);
+            question.setContent("content of " + uuid);
+            return question;
+        });
+        final AnswerDao answerDao = Mockito.mock(AnswerDao.class);
+        Mockito.when(answerDao.getAnswersPage(Mockito.anyInt(), isNull(), isNull(), anyInt())).thenAnswer(invocation -> {
+            int questionId = invocation.getArgument(0);
+            String uuid = loads.keySet().stream().filter(key -> key.hashCode() == questionId).findFirst().get();
+            List<AnswerEntity> answers = new ArrayList<>();
+            for (int i = 0; i < answerCounts.getOrDefault(uuid, 2); i++) {
+                AnswerEntity answer = new AnswerEntity();
+                answer.setId(i);
+                answer.setUuid(uuid + "_answer_" + i);
+                answer.setAns("answer " + i + " to " + uuid);
+                answer.setDate(LocalDateTime.now());
+                answers.add(answer);
+            }
+            return answers;
+        });
+        ReflectionTestUtils.setField(cache, "questionDao", questionDao);
+        ReflectionTestUtils.setField(cache, "answerDao", answerDao);
+        return cache;
+    }
+
+    private int loads(final String questionUuid) {
+        AtomicInteger count = loads.get(questionUuid);
+        return count == null ? 0 : count.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private AsyncLoadingCache<String, QuestionAnswersView> views() {
+        return (AsyncLoadingCache<String, QuestionAnswersView>) ReflectionTestUtils.getField(cache, "cache");
+    }
+
+    private long weightedSize() {
+        views().synchronous().cleanUp();
+        return views().synchronous().policy().eviction().get().weightedSize().getAsLong();
+    }
+
+    private boolean awaitWeightedSizeAtMost(final long weight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (weightedSize() > weight) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static DomainEvent event(final DomainEventType type, final String aggregateId, final Map<String, String> payload) {
+        try {
+            Constructor<DomainEvent> constructor = DomainEvent.class.getDeclaredConstructor(long.class, DomainEventType.class,
+                    String.class, Map.class, LocalDateTime.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(1L, type, aggregateId, payload, LocalDateTime.now());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.upgrad.quora.service.cache;
+
+import com.upgrad.quora.service.common.GenericErrorCode;
+import com.upgrad.quora.service.common.ServiceUnavailableException;
+import com.upgrad.quora.service.deadline.RequestDeadline;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StaleReadCacheTest {
+
+    private StaleReadCache cache;
+
+    @After
+    public void shutdown() {
+        StaleReadCache.clearStaleness();
+        RequestDeadline.end();
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    //This test case passes when a read without a result to fall back on is loaded on the calling thread and is not stale.
+    @Test
+    public void loadsOnTheCallerWithoutStaleResult() {
+        cache = new StaleReadCache(300, 50, 1, 1, 100);
+        Thread caller = Thread.currentThread();
+        assertEquals("v1", cache.get("key", () -> {
+            assertSame(caller, Thread.currentThread());
+            return "v1";
+        }));
+        assertNull(StaleReadCache.takeStaleness());
+    }
+
+    //This test case passes when a load slower than the latency threshold is answered with the stale result, which the load then replaces.
+    @Test
+    public void servesStaleResultWhileTheLoadIsSlow() throws Exception {
+        cache = new StaleReadCache(300, 50, 1, 1, 100);
+        cache.get("key", () -> "v1");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+        assertEquals("v1", cache.get("key", () -> {
+            await(release);
+            loaded.countDown();
+            return "v2";
+        }));
+        StaleReadCache.Staleness staleness = StaleReadCache.takeStaleness();
+        assertFalse(staleness.isLoadFailed());
+        release.countDown();
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals("v2", cache.get("key", () -> {
+            throw new QueryTimeoutException("database down");
+        }));
+    }
+
+    //This test case passes when a read joining an in-flight load waits for it instead of returning the stale result at once, and the load runs once.
+    @Test
+    public void concurrentReadsShareTheInFlightLoad() throws Exception {
+        cache = new StaleReadCache(300, 5000, 1, 1, 100);
+        cache.get("key", () -> "v1");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> cache.get("key", () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "v2";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "v3";
+        }));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        release.countDown();
+        assertEquals("v2", first.get(5, TimeUnit.SECONDS));
+        assertEquals("v2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    //This test case passes when a load failing on the database is answered with the stale result, marked as a failed revalidation.
+    @Test
+    public void servesStaleResultWhenTheLoadFails() {
+        cache = new StaleReadCache(300, 1000, 1, 1, 100);
+        cache.get("key", () -> "v1");
+        assertEquals("v1", cache.get("key", () -> {
+            throw new QueryTimeoutException("database down");
+        }));
+        assertTrue(StaleReadCache.takeStaleness().isLoadFailed());
+    }
+
+    //This test case passes when a read whose refresh does not fit in the loader queue is answered with its stale result at once.
+    @Test
+    public void servesStaleResultWhenTheLoaderQueueIsFull() throws Exception {
+        cache = new StaleReadCache(300, 5000, 1, 1, 100);
+        cache.get("a", () -> "a1");
+        cache.get("b", () -> "b1");
+        cache.get("c", () -> "c1");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.supplyAsync(() -> cache.get("a", () -> {
+            started.countDown();
+            await(release);
+            return "a2";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.supplyAsync(() -> cache.get("b", () -> "b2"));
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        assertEquals("c1", cache.get("c", () -> "c2"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertFalse(StaleReadCache.takeStaleness().isLoadFailed());
+        release.countDown();
+    }
+
+    //This test case passes when a refresh running on a loader thread is bounded by the configured timeout of the read that started it, not by the timeout its client asked for.
+    @Test
+    public void loaderRunsUnderTheSharedDeadlineOfTheRead() throws Exception {
+        cache = new StaleReadCache(300, 5000, 1, 1, 100);
+        cache.get("key", () -> "v1");
+        RequestDeadline.begin(2000, 5000);
+        AtomicReference<RequestDeadline> loaderDeadline = new AtomicReference<>();
+        AtomicReference<Thread> loaderThread = new AtomicReference<>();
+        assertEquals("v2", cache.get("key", () -> {
+            loaderDeadline.set(RequestDeadline.current());
+            loaderThread.set(Thread.currentThread());
+            return "v2";
+        }));
+        assertNotSame(Thread.currentThread(), loaderThread.get());
+        assertEquals(5000, loaderDeadline.get().getTimeoutMillis());
+    }
+
+    //This test case passes when a read starting a load fails at its own short deadline while a read joining the same load still gets the result.
+    @Test
+    public void shortDeadlineDoesNotFailTheSharedLoad() throws Exception {
+        cache = new StaleReadCache(300, 5000, 1, 1, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        RequestDeadline.begin(1, 5000);
+        Thread.sleep(5);
+        try {
+            cache.get("key", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return RequestDeadline.current().remainingMillis() > 0 ? "v1" : null;
+            });
+            fail("expected the read to fail at its deadline");
+        } catch (ServiceUnavailableException e) {
+            assertEquals(GenericErrorCode.GEN_004, e.getErrorCode());
+        }
+        RequestDeadline.end();
+        CompletableFuture<Object> other = CompletableFuture.supplyAsync(() -> cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "v2";
+        }));
+        Thread.sleep(100);
+        assertFalse(other.isDone());
+        release.countDown();
+        assertEquals("v1", other.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    //This test case passes when a read without a result to fall back on stops waiting for the load of another read at its own deadline and fails with GEN-004.
+    @Test
+    public void readWithoutStaleResultFailsAtItsDeadline() throws Exception {
+        cache = new StaleReadCache(300, 5000, 1, 1, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> cache.get("key", () -> {
+            started.countDown();
+            await(release);
+            return "v1";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        RequestDeadline.begin(100);
+        long start = System.nanoTime();
+        try {
+            cache.get("key", () -> "v2");
+            fail("expected the read to fail at its deadline");
+        } catch (ServiceUnavailableException e) {
+            assertEquals(GenericErrorCode.GEN_004, e.getErrorCode());
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        release.countDown();
+        assertEquals("v1", first.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
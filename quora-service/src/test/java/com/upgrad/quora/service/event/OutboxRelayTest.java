@@ -0,0 +1,178 @@
+package com.upgrad.quora.service.event;
+
+import com.upgrad.quora.service.dao.OutboxDao;
+import com.upgrad.quora.service.entity.OutboxEventEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class OutboxRelayTest {
+
+    /**
+     * Events whose transactions have committed, by id.
+     */
+    private final TreeMap<Long, OutboxEventEntity> committed = new TreeMap<>();
+
+    private final List<Long> delivered = new ArrayList<>();
+
+    private final OutboxDao outboxDao = Mockito.mock(OutboxDao.class);
+
+    private OutboxRelay relay;
+
+    @Before
+    public void setUp() {
+        Mockito.when(outboxDao.getLastEventIdBefore(any())).thenReturn(0L);
+        Mockito.when(outboxDao.getEventsAfter(anyLong(), anyInt())).thenAnswer(invocation ->
+                committed.tailMap(invocation.<Long>getArgument(0), false).values().stream()
+                        .limit(invocation.<Integer>getArgument(1)).collect(Collectors.toList()));
+        Mockito.when(outboxDao.getEventsByIds(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().sorted().filter(committed::containsKey)
+                        .map(committed::get).collect(Collectors.toList()));
+        final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        Mockito.when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        relay = new OutboxRelay(transactionManager);
+        ReflectionTestUtils.setField(relay, "outboxDao", outboxDao);
+        ReflectionTestUtils.setField(relay, "consumers", Collections.<DomainEventConsumer>singletonList(event -> delivered.add(event.getId())));
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "gapTimeoutMs", 0L);
+        ReflectionTestUtils.setField(relay, "skippedRecheckMs", 60000L);
+        ReflectionTestUtils.setField(relay, "maxSkipped", 10000);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "replayHours", 6L);
+    }
+
+    //This test case passes when the relay delivers events in id order and stops at a missing id until the gap timeout has passed.
+    @Test
+    public void waitsForAMissingIdBeforeSkippingIt() {
+        ReflectionTestUtils.setField(relay, "gapTimeoutMs", 60000L);
+        commit(1, 2, 4);
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 2L), delivered);
+        commit(3);
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), delivered);
+    }
+
+    //This test case passes when an event committing after its id was skipped is still delivered, once, on a later run.
+    @Test
+    public void deliversAnEventCommittedAfterItsIdWasSkipped() {
+        commit(1, 3);
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 3L), delivered);
+        commit(2);
+        relay.relay();
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 3L, 2L), delivered);
+    }
+
+    //This test case passes when an id still missing after skipped-recheck-ms is taken as rolled back and no longer looked up.
+    @Test
+    public void forgetsASkippedIdAfterTheRecheckPeriod() throws Exception {
+        ReflectionTestUtils.setField(relay, "skippedRecheckMs", 1L);
+        commit(1, 3);
+        relay.relay();
+        Thread.sleep(10);
+        relay.relay();
+        commit(2);
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 3L), delivered);
+    }
+
+    //This test case passes when a skipped event whose consumer fails is delivered again on the next run.
+    @Test
+    public void retriesASkippedEventWhoseConsumerFails() {
+        final List<Long> failing = new ArrayList<>(Collections.singletonList(2L));
+        ReflectionTestUtils.setField(relay, "consumers", Collections.<DomainEventConsumer>singletonList(event -> {
+            if (failing.remove(event.getId())) {
+                throw new IllegalStateException("consumer down");
+            }
+            delivered.add(event.getId());
+        }));
+        commit(1, 3);
+        relay.relay();
+        commit(2);
+        relay.relay();
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 3L, 2L), delivered);
+    }
+
+    //This test case passes when an event a consumer keeps failing on is parked after max-attempts deliveries and the events after it are delivered.
+    @Test
+    public void parksAnEventThatKeepsFailing() {
+        ReflectionTestUtils.setField(relay, "consumers", Collections.<DomainEventConsumer>singletonList(event -> {
+            if (event.getId() == 2L) {
+                throw new IllegalStateException("consumer down");
+            }
+            delivered.add(event.getId());
+        }));
+        commit(1, 2, 3);
+        relay.relay();
+        relay.relay();
+        assertEquals(Collections.singletonList(1L), delivered);
+        Mockito.verify(outboxDao, Mockito.never()).parkEvent(any(), anyInt(), anyString());
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 3L), delivered);
+        Mockito.verify(outboxDao).parkEvent(Mockito.same(committed.get(2L)), eq(3), contains("consumer down"));
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 3L), delivered);
+    }
+
+    //This test case passes when events of an unknown type or with an unreadable payload are parked at once and the relay moves on.
+    @Test
+    public void parksAnUnreadableEventAtOnce() {
+        commit(1, 2, 3, 4);
+        committed.get(2L).setEventType("ANSWER_UPVOTED");
+        committed.get(3L).setPayload("not json");
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 4L), delivered);
+        Mockito.verify(outboxDao).parkEvent(Mockito.same(committed.get(2L)), eq(1), anyString());
+        Mockito.verify(outboxDao).parkEvent(Mockito.same(committed.get(3L)), eq(1), anyString());
+    }
+
+    //This test case passes when an event that cannot be parked, the database being down, holds the relay until it is parked.
+    @Test
+    public void retriesAnEventThatCannotBeParked() {
+        Mockito.doThrow(new IllegalStateException("database down")).doNothing()
+                .when(outboxDao).parkEvent(any(), anyInt(), anyString());
+        commit(1, 2, 3);
+        committed.get(2L).setEventType("ANSWER_UPVOTED");
+        relay.relay();
+        assertEquals(Collections.singletonList(1L), delivered);
+        relay.relay();
+        assertEquals(Arrays.asList(1L, 3L), delivered);
+    }
+
+    private void commit(final long... ids) {
+        for (long id : ids) {
+            final OutboxEventEntity event = new OutboxEventEntity();
+            event.setId(id);
+            event.setEventType(DomainEventType.ANSWER_CREATED.name());
+            event.setAggregateId("answer-" + id);
+            event.setPayload("{}");
+            event.setCreatedAt(LocalDateTime.now());
+            committed.put(id, event);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.upgrad.quora.service.limit;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+    //This test case passes when the limit grows while the calls take no longer than tolerance times their average.
+    @Test
+    public void growsWithinTolerance() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 1.0, 0.9, 10);
+        acquire(limit, 10);
+        limit.release(FAST, false);
+        assertEquals(13, limit.getLimit());
+    }
+
+    //This test case passes when the limit shrinks as the calls take longer than tolerance times their average.
+    @Test
+    public void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 1.0, 0.9, 10);
+        for (int i = 0; i < 20; i++) {
+            acquire(limit, 1);
+            limit.release(FAST, false);
+        }
+        assertEquals(10, limit.getLimit());
+        acquire(limit, 10);
+        limit.release(SLOW, false);
+        assertTrue(limit.getLimit() < 10);
+    }
+
+    //This test case passes when samples taken with fewer than half the permits in use leave the limit as it is.
+    @Test
+    public void ignoresSamplesOfAnIdleDatabase() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 1.0, 0.9, 10);
+        acquire(limit, 2);
+        limit.release(FAST, false);
+        limit.release(SLOW, false);
+        assertEquals(10, limit.getLimit());
+    }
+
+    //This test case passes when a call that timed out on the database multiplies the limit by the backoff ratio.
+    @Test
+    public void backsOffOnTimeout() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 1.0, 0.5, 10);
+        acquire(limit, 1);
+        limit.release(SLOW, true);
+        assertEquals(5, limit.getLimit());
+    }
+
+    //This test case passes when the limit stays between its minimum and maximum whatever the samples.
+    @Test
+    public void staysWithinMinAndMax() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(200, 4, 12, 2.0, 1.0, 0.5, 10);
+        assertEquals(12, limit.getLimit());
+        for (int i = 0; i < 10; i++) {
+            acquire(limit, limit.getLimit() - limit.getInFlight());
+            limit.release(FAST, false);
+        }
+        assertEquals(12, limit.getLimit());
+        while (limit.getInFlight() > 0) {
+            limit.releaseWithoutSample();
+        }
+        for (int i = 0; i < 10; i++) {
+            acquire(limit, 1);
+            limit.release(SLOW, true);
+        }
+        assertEquals(4, limit.getLimit());
+    }
+
+    //This test case passes when calls over the limit are rejected and counted, and a released permit admits the next call.
+    @Test
+    public void rejectsOverTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 100, 2.0, 1.0, 0.9, 10);
+        acquire(limit, 2);
+        assertFalse(limit.tryAcquire());
+        assertEquals(1, limit.getRejected());
+        limit.releaseWithoutSample();
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    private static void acquire(final AdaptiveConcurrencyLimit limit, final int permits) {
+        for (int i = 0; i < permits; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+    }
+}
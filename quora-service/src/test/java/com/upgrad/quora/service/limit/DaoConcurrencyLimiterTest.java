@@ -0,0 +1,38 @@
+package com.upgrad.quora.service.limit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DaoConcurrencyLimiterTest {
+
+    //This test case passes when, without a replica, the read-only and read-write limits together fit the primary pool, shared in proportion to their maximums.
+    @Test
+    public void sharesThePrimaryPoolWithoutReplica() {
+        DaoConcurrencyLimiter limiter = limiter(30, 20, 20, "", 30);
+        assertEquals(12, limiter.getReadLimit());
+        assertEquals(8, limiter.getWriteLimit());
+    }
+
+    //This test case passes when, with a replica, the read-only limit is capped at the replica pool and the read-write limit at the primary pool.
+    @Test
+    public void capsEachLimitAtItsPoolWithReplica() {
+        DaoConcurrencyLimiter limiter = limiter(40, 30, 20, "jdbc:postgresql://replica/quora", 30);
+        assertEquals(30, limiter.getReadLimit());
+        assertEquals(20, limiter.getWriteLimit());
+    }
+
+    //This test case passes when maximums that fit the pools are kept as configured.
+    @Test
+    public void keepsMaximumsThatFit() {
+        DaoConcurrencyLimiter limiter = limiter(8, 6, 20, "", 30);
+        assertEquals(8, limiter.getReadLimit());
+        assertEquals(6, limiter.getWriteLimit());
+    }
+
+    private static DaoConcurrencyLimiter limiter(final int readMax, final int writeMax, final int primaryPoolSize,
+                                                 final String replicaUrl, final int replicaPoolSize) {
+        return new DaoConcurrencyLimiter(true, readMax, 1, readMax, writeMax, 1, writeMax, 2.0, 0.2, 0.9, 600,
+                primaryPoolSize, replicaUrl, replicaPoolSize);
+    }
+}
@@ -0,0 +1,51 @@
+package com.upgrad.quora.service.ranking;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DecayedScoreTest {
+
+    private static final double HALF_LIFE = 1000;
+
+    private static final double DELTA = 1e-9;
+
+    //This test case passes when the score halves with every half-life elapsed.
+    @Test
+    public void halvesEveryHalfLife() {
+        DecayedScore score = new DecayedScore(8, 0);
+        assertEquals(8, score.valueAt(0, HALF_LIFE), DELTA);
+        assertEquals(4, score.valueAt(1000, HALF_LIFE), DELTA);
+        assertEquals(1, score.valueAt(3000, HALF_LIFE), DELTA);
+        assertEquals(8 * Math.sqrt(0.5), score.valueAt(500, HALF_LIFE), DELTA);
+    }
+
+    //This test case passes when the score read at a time before its last update is not grown back.
+    @Test
+    public void doesNotGrowBeforeItsLastUpdate() {
+        assertEquals(2, new DecayedScore(2, 1000).valueAt(0, HALF_LIFE), DELTA);
+    }
+
+    //This test case passes when an event decays the score to its time and then adds one.
+    @Test
+    public void incrementDecaysThenAddsOne() {
+        DecayedScore score = new DecayedScore(4, 0).increment(2000, HALF_LIFE);
+        assertEquals(2, score.valueAt(2000, HALF_LIFE), DELTA);
+        assertEquals(1, score.valueAt(3000, HALF_LIFE), DELTA);
+    }
+
+    //This test case passes when an event older than the last update counts with the weight it has decayed to since.
+    @Test
+    public void olderEventCountsWithItsDecayedWeight() {
+        DecayedScore score = new DecayedScore(1, 2000).increment(1000, HALF_LIFE);
+        assertEquals(1.5, score.valueAt(2000, HALF_LIFE), DELTA);
+    }
+
+    //This test case passes when the score does not depend on the order its events are counted in.
+    @Test
+    public void eventOrderDoesNotMatter() {
+        DecayedScore inOrder = new DecayedScore(1, 0).increment(500, HALF_LIFE).increment(1500, HALF_LIFE);
+        DecayedScore outOfOrder = new DecayedScore(1, 1500).increment(0, HALF_LIFE).increment(500, HALF_LIFE);
+        assertEquals(inOrder.valueAt(4000, HALF_LIFE), outOfOrder.valueAt(4000, HALF_LIFE), DELTA);
+    }
+}
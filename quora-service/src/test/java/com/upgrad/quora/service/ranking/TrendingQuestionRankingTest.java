@@ -0,0 +1,112 @@
+package com.upgrad.quora.service.ranking;
+
+import com.upgrad.quora.service.dao.QuestionDao;
+import com.upgrad.quora.service.entity.QuestionEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+public class TrendingQuestionRankingTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Uuids of the questions that exist
+     */
+    private final Set<String> questions = new HashSet<>();
+
+    private TrendingQuestionRanking ranking;
+
+    @Before
+    public void setUp() {
+        final QuestionDao questionDao = Mockito.mock(QuestionDao.class);
+        Mockito.when(questionDao.getQuestions(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).stream().filter(questions::contains).map(uuid -> {
+                    QuestionEntity question = new QuestionEntity();
+                    question.setUuid(uuid);
+                    question.setContent("content of " + uuid);
+                    return question;
+                }).collect(Collectors.toList()));
+        final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        Mockito.when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ranking = new TrendingQuestionRanking(transactionManager);
+        ReflectionTestUtils.setField(ranking, "questionDao", questionDao);
+        ReflectionTestUtils.setField(ranking, "size", 3);
+        ReflectionTestUtils.setField(ranking, "halfLifeMinutes", 60L);
+        ReflectionTestUtils.setField(ranking, "minScore", 0.05);
+    }
+
+    //This test case passes when the snapshot holds the size questions with the highest scores, highest first.
+    @Test
+    public void keepsTheTopQuestionsHighestFirst() {
+        final long now = System.currentTimeMillis();
+        answer("q1", now, 1);
+        answer("q2", now, 4);
+        answer("q3", now, 2);
+        answer("q4", now, 5);
+        answer("q5", now, 3);
+        ranking.refresh();
+        assertEquals(Arrays.asList("q4", "q2", "q5"), uuids(ranking.getTrending()));
+        assertEquals(5, ranking.getTrending().get(0).getScore(), 0.01);
+        assertEquals("content of q4", ranking.getTrending().get(0).getQuestionContent());
+    }
+
+    //This test case passes when recent answers outrank a larger number of answers given several half-lives ago.
+    @Test
+    public void recentAnswersOutrankOlderOnes() {
+        final long now = System.currentTimeMillis();
+        answer("old", now - 3 * HOUR, 6);
+        answer("recent", now, 2);
+        ranking.refresh();
+        assertEquals(Arrays.asList("recent", "old"), uuids(ranking.getTrending()));
+        assertEquals(0.75, ranking.getTrending().get(1).getScore(), 0.01);
+    }
+
+    //This test case passes when questions whose score decayed below the minimum, or that no longer exist, are dropped.
+    @Test
+    public void dropsFadedAndDeletedQuestions() {
+        final long now = System.currentTimeMillis();
+        answer("faded", now - 10 * HOUR, 1);
+        answer("kept", now, 1);
+        answer("deleted", now, 2);
+        questions.remove("deleted");
+        ranking.refresh();
+        assertEquals(Collections.singletonList("kept"), uuids(ranking.getTrending()));
+    }
+
+    //This test case passes when refreshing without any answer counted gives an empty ranking.
+    @Test
+    public void emptyRanking() {
+        ranking.refresh();
+        assertTrue(ranking.getTrending().isEmpty());
+    }
+
+    private void answer(final String questionUuid, final long answeredAtMillis, final int count) {
+        questions.add(questionUuid);
+        for (int i = 0; i < count; i++) {
+            ReflectionTestUtils.invokeMethod(ranking, "increment", questionUuid, answeredAtMillis);
+        }
+    }
+
+    private static List<String> uuids(final List<TrendingQuestion> trending) {
+        return trending.stream().map(TrendingQuestion::getQuestionUuid).collect(Collectors.toList());
+    }
+}